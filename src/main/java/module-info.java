@@ -1,5 +1,7 @@
 module org.danekja.jdk.serializable.functional
 {
+	exports org.danekja.java.codec;
+
 	exports org.danekja.java.misc.serializable;
 
 	exports org.danekja.java.util.function.serializable;
@@ -0,0 +1,87 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+
+/**
+ * {@link CodecInput} reading from a byte array.
+ */
+final class ByteArrayCodecInput extends CodecInput {
+
+	private final byte[] buffer;
+
+	private final int limit;
+
+	private int position;
+
+	ByteArrayCodecInput(byte[] buffer, int offset, int length) {
+		this.buffer = buffer;
+		this.position = offset;
+		this.limit = offset + length;
+	}
+
+	@Override
+	int readByte() throws EOFException {
+		if (position >= limit) {
+			throw new EOFException();
+		}
+		return buffer[position++] & 0xFF;
+	}
+
+	@Override
+	void readBytes(byte[] b, int off, int len) throws EOFException {
+		require(len);
+		System.arraycopy(buffer, position, b, off, len);
+		position += len;
+	}
+
+	@Override
+	InputStream slice(int length) throws EOFException {
+		require(length);
+		InputStream slice = new ByteArrayInputStream(buffer, position, length);
+		position += length;
+		return slice;
+	}
+
+	@Override
+	int remaining() {
+		return limit - position;
+	}
+
+	private void require(int length) throws EOFException {
+		if (length < 0 || limit - position < length) {
+			throw new EOFException();
+		}
+	}
+}
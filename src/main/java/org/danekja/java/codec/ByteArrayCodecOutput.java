@@ -0,0 +1,76 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.util.Arrays;
+
+/**
+ * {@link CodecOutput} writing into a growing byte array.
+ */
+final class ByteArrayCodecOutput extends CodecOutput {
+
+	private byte[] buffer;
+
+	private int position;
+
+	ByteArrayCodecOutput(int initialCapacity) {
+		this.buffer = new byte[initialCapacity];
+	}
+
+	@Override
+	void writeByte(int b) {
+		if (position == buffer.length) {
+			grow(1);
+		}
+		buffer[position++] = (byte) b;
+	}
+
+	@Override
+	void writeBytes(byte[] b, int off, int len) {
+		if (buffer.length - position < len) {
+			grow(len);
+		}
+		System.arraycopy(b, off, buffer, position, len);
+		position += len;
+	}
+
+	int size() {
+		return position;
+	}
+
+	byte[] toByteArray() {
+		return Arrays.copyOf(buffer, position);
+	}
+
+	private void grow(int needed) {
+		buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + needed));
+	}
+}
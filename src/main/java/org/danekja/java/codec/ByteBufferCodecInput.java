@@ -0,0 +1,123 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.EOFException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link CodecInput} reading directly from a (possibly direct) {@link ByteBuffer},
+ * without copying its content.
+ */
+final class ByteBufferCodecInput extends CodecInput {
+
+	private final ByteBuffer buffer;
+
+	ByteBufferCodecInput(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	@Override
+	int readByte() throws EOFException {
+		if (!buffer.hasRemaining()) {
+			throw new EOFException();
+		}
+		return buffer.get() & 0xFF;
+	}
+
+	@Override
+	void readBytes(byte[] b, int off, int len) throws EOFException {
+		require(len);
+		buffer.get(b, off, len);
+	}
+
+	@Override
+	InputStream slice(int length) throws EOFException {
+		require(length);
+		ByteBuffer slice = buffer.slice();
+		slice.limit(length);
+		buffer.position(buffer.position() + length);
+		return new BufferStream(slice);
+	}
+
+	@Override
+	int remaining() {
+		return buffer.remaining();
+	}
+
+	private void require(int length) throws EOFException {
+		if (length < 0 || buffer.remaining() < length) {
+			throw new EOFException();
+		}
+	}
+
+	/**
+	 * {@link InputStream} view of a buffer.
+	 */
+	static final class BufferStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		BufferStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int n = Math.min(len, buffer.remaining());
+			buffer.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public long skip(long n) {
+			int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+			buffer.position(buffer.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
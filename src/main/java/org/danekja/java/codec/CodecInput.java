@@ -0,0 +1,137 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+
+/**
+ * Source of the compact lambda encoding, counterpart of {@link CodecOutput}.
+ */
+abstract class CodecInput {
+
+	/**
+	 * Maximum number of chars allocated for a string before they are read.
+	 */
+	private static final int MAX_PREALLOCATED_CHARS = 1024;
+
+	/**
+	 * @return the next byte as an unsigned value
+	 * @throws java.io.EOFException if there are no more bytes
+	 */
+	abstract int readByte() throws IOException;
+
+	abstract void readBytes(byte[] b, int off, int len) throws IOException;
+
+	/**
+	 * Returns a stream over the next {@code length} bytes and moves past them.
+	 *
+	 * @param length number of bytes the stream covers
+	 * @return stream over the bytes
+	 * @throws IOException if there are not enough bytes left
+	 */
+	abstract InputStream slice(int length) throws IOException;
+
+	/**
+	 * @return upper bound of the number of bytes left, used to reject corrupted lengths early;
+	 *         {@link Integer#MAX_VALUE} if unknown, so memory must not be allocated by a length
+	 *         read from the input before the data is actually read
+	 */
+	abstract int remaining();
+
+	final int readVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = readByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new StreamCorruptedException("malformed varint");
+	}
+
+	final long readVarLong() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new StreamCorruptedException("malformed varint");
+	}
+
+	final int readSignedVarInt() throws IOException {
+		int value = readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	final long readSignedVarLong() throws IOException {
+		long value = readVarLong();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	final int readInt() throws IOException {
+		return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+	}
+
+	final long readLong() throws IOException {
+		return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Reads a non-negative length and checks it does not exceed {@code limit}.
+	 */
+	final int readLength(int limit) throws IOException {
+		int length = readVarInt();
+		if (length < 0 || length > limit) {
+			throw new StreamCorruptedException("invalid length: " + length);
+		}
+		return length;
+	}
+
+	final String readChars() throws IOException {
+		int length = readLength(remaining());
+		// every char takes at least one byte, but the length may not be checked by remaining()
+		StringBuilder chars = new StringBuilder(Math.min(length, MAX_PREALLOCATED_CHARS));
+		for (int i = 0; i < length; i++) {
+			int c = readVarInt();
+			if ((c & ~0xFFFF) != 0) {
+				throw new StreamCorruptedException("invalid char: " + c);
+			}
+			chars.append((char) c);
+		}
+		return chars.toString();
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+/**
+ * Sink of the compact lambda encoding.
+ *
+ * <p>Integers are written as unsigned LEB128 varints, signed values are zig-zag encoded
+ * first. Strings are written as their length followed by one varint per UTF-16 char,
+ * which keeps ASCII names at one byte per char and round-trips any string exactly.
+ */
+abstract class CodecOutput {
+
+	abstract void writeByte(int b) throws IOException;
+
+	abstract void writeBytes(byte[] b, int off, int len) throws IOException;
+
+	final void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		writeByte(value);
+	}
+
+	final void writeVarLong(long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			writeByte(((int) value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		writeByte((int) value);
+	}
+
+	final void writeSignedVarInt(int value) throws IOException {
+		writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	final void writeSignedVarLong(long value) throws IOException {
+		writeVarLong((value << 1) ^ (value >> 63));
+	}
+
+	final void writeInt(int value) throws IOException {
+		writeByte(value >>> 24);
+		writeByte(value >>> 16);
+		writeByte(value >>> 8);
+		writeByte(value);
+	}
+
+	final void writeLong(long value) throws IOException {
+		writeInt((int) (value >>> 32));
+		writeInt((int) value);
+	}
+
+	final void writeChars(String value) throws IOException {
+		int length = value.length();
+		writeVarInt(length);
+		for (int i = 0; i < length; i++) {
+			writeVarInt(value.charAt(i));
+		}
+	}
+
+	/**
+	 * Writes the JDK serialized form of an object, as its length followed by its bytes.
+	 * Outputs which do not keep the bytes may override this to skip producing them.
+	 *
+	 * @param value the object to serialize
+	 * @param buffer scratch buffer to serialize the object into
+	 */
+	void writeSerialized(Object value, Buffer buffer) throws IOException {
+		buffer.reset();
+		try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+			oos.writeObject(value);
+		}
+		writeVarInt(buffer.size());
+		writeBytes(buffer.array(), 0, buffer.size());
+	}
+
+	/**
+	 * {@link ByteArrayOutputStream} exposing its array, reused across objects.
+	 */
+	static final class Buffer extends ByteArrayOutputStream {
+		byte[] array() {
+			return buf;
+		}
+	}
+}
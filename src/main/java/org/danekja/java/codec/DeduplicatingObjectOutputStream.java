@@ -0,0 +1,145 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.invoke.SerializedLambda;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link ObjectOutputStream} which writes structurally equal serializable lambdas only once.
+ *
+ * <p>{@link ObjectOutputStream} itself only recognizes repeated occurrences of the same instance,
+ * so equal but distinct lambdas, such as {@code SerializableComparator.comparing(Row::getName)}
+ * created once per row, are written in full every time. This stream replaces every lambda with
+ * the first lambda written before it which has the same {@link SerializedLambda} shape and
+ * structurally equal captured arguments (see {@link SerializedLambdas#structuralEquals(Object, Object)}),
+ * so the following occurrences are written as back-references. The composed instances returned
+ * by the combinators of this library, such as the comparator of the example above, are replaced
+ * the same way with the first instance equal to them. The stream is read by a plain
+ * {@link java.io.ObjectInputStream}, which restores all of them as a single shared instance.
+ *
+ * <p>Captured arguments which are not lambdas are compared by their {@code equals} method, so
+ * lambdas capturing equal but distinct mutable objects will share one of them after
+ * deserialization. This stream should only be used for lambdas whose captured arguments are values.
+ */
+public class DeduplicatingObjectOutputStream extends ObjectOutputStream {
+
+	private final Map<Key, SerializedLambda> lambdas = new HashMap<>();
+	private final Map<Object, Object> nodes = new HashMap<>();
+
+	/**
+	 * Creates a stream writing to the given output stream.
+	 *
+	 * @param out output stream to write to
+	 * @throws IOException if an I/O error occurs while writing the stream header
+	 * @throws SecurityException if a security manager denies object substitution
+	 */
+	public DeduplicatingObjectOutputStream(OutputStream out) throws IOException {
+		super(out);
+		enableReplaceObject(true);
+	}
+
+	@Override
+	protected Object replaceObject(Object obj) throws IOException {
+		if (!(obj instanceof SerializedLambda)) {
+			if (obj == null || NodeType.of(obj.getClass()) == null) {
+				return obj;
+			}
+			Object first = nodes.putIfAbsent(obj, obj);
+			return first != null ? first : obj;
+		}
+
+		SerializedLambda lambda = (SerializedLambda) obj;
+		SerializedLambda first = lambdas.putIfAbsent(new Key(lambda), lambda);
+		return first != null ? first : lambda;
+	}
+
+	@Override
+	public void reset() throws IOException {
+		super.reset();
+		lambdas.clear();
+		nodes.clear();
+	}
+
+	/**
+	 * Structural identity of a {@link SerializedLambda}.
+	 */
+	private static final class Key {
+		private final SerializedLambda lambda;
+		private final LambdaShape shape;
+		private final int hash;
+
+		Key(SerializedLambda lambda) {
+			this.lambda = lambda;
+			this.shape = LambdaShape.of(lambda);
+
+			int h = shape.hashCode();
+			for (int i = 0, count = lambda.getCapturedArgCount(); i < count; i++) {
+				h = 31 * h + SerializedLambdas.structuralHashCode(lambda.getCapturedArg(i));
+			}
+			this.hash = h;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			if (hash != other.hash || !shape.equals(other.shape)) {
+				return false;
+			}
+
+			int count = lambda.getCapturedArgCount();
+			if (count != other.lambda.getCapturedArgCount()) {
+				return false;
+			}
+			for (int i = 0; i < count; i++) {
+				if (!SerializedLambdas.structuralEquals(lambda.getCapturedArg(i), other.lambda.getCapturedArg(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
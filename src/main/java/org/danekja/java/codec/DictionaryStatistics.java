@@ -0,0 +1,92 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+/**
+ * Snapshot of how often the dictionary of a {@link LambdaStreamWriter} allowed
+ * a lambda shape or a string to be written as a reference instead of in full.
+ */
+public final class DictionaryStatistics {
+
+	private final long shapeHits;
+	private final long shapeMisses;
+	private final long stringHits;
+	private final long stringMisses;
+
+	DictionaryStatistics(long shapeHits, long shapeMisses, long stringHits, long stringMisses) {
+		this.shapeHits = shapeHits;
+		this.shapeMisses = shapeMisses;
+		this.stringHits = stringHits;
+		this.stringMisses = stringMisses;
+	}
+
+	/**
+	 * @return number of lambdas whose shape was already in the dictionary
+	 */
+	public long getShapeHits() {
+		return shapeHits;
+	}
+
+	/**
+	 * @return number of lambdas whose shape had to be written in full
+	 */
+	public long getShapeMisses() {
+		return shapeMisses;
+	}
+
+	/**
+	 * @return number of strings which were already in the dictionary
+	 */
+	public long getStringHits() {
+		return stringHits;
+	}
+
+	/**
+	 * @return number of strings which had to be written in full
+	 */
+	public long getStringMisses() {
+		return stringMisses;
+	}
+
+	/**
+	 * @return ratio of shape hits to all written lambdas, {@code 0} if no lambda has been written
+	 */
+	public double getShapeHitRatio() {
+		long total = shapeHits + shapeMisses;
+		return total == 0 ? 0 : (double) shapeHits / total;
+	}
+
+	@Override
+	public String toString() {
+		return "DictionaryStatistics[shapeHits=" + shapeHits + ", shapeMisses=" + shapeMisses
+				+ ", stringHits=" + stringHits + ", stringMisses=" + stringMisses + "]";
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+/**
+ * {@link CodecOutput} which does not keep the bytes, but feeds them into a streaming
+ * MurmurHash3 (x64, 128-bit, seed 0).
+ */
+final class HashingCodecOutput extends CodecOutput {
+
+	private static final long C1 = 0x87c37b91114253d5L;
+	private static final long C2 = 0x4cf5ad432745937fL;
+
+	private long h1;
+	private long h2;
+
+	private long k1;
+	private long k2;
+
+	/**
+	 * Number of bytes in {@link #k1} and {@link #k2} which have not been mixed in yet.
+	 */
+	private int pending;
+
+	private long length;
+
+	@Override
+	void writeByte(int b) {
+		long value = b & 0xFFL;
+		if (pending < 8) {
+			k1 |= value << (pending << 3);
+		} else {
+			k2 |= value << ((pending - 8) << 3);
+		}
+		length++;
+
+		if (++pending == 16) {
+			mixBlock();
+			k1 = 0;
+			k2 = 0;
+			pending = 0;
+		}
+	}
+
+	@Override
+	void writeBytes(byte[] b, int off, int len) {
+		for (int i = off, end = off + len; i < end; i++) {
+			writeByte(b[i]);
+		}
+	}
+
+	/**
+	 * Finishes the hash. The output must not be written to afterwards.
+	 *
+	 * @return the two 64-bit halves of the hash
+	 */
+	long[] finish() {
+		if (pending > 8) {
+			h2 ^= Long.rotateLeft(k2 * C2, 33) * C1;
+		}
+		if (pending > 0) {
+			h1 ^= Long.rotateLeft(k1 * C1, 31) * C2;
+		}
+
+		h1 ^= length;
+		h2 ^= length;
+		h1 += h2;
+		h2 += h1;
+		h1 = fmix(h1);
+		h2 = fmix(h2);
+		h1 += h2;
+		h2 += h1;
+		return new long[] { h1, h2 };
+	}
+
+	private void mixBlock() {
+		h1 ^= Long.rotateLeft(k1 * C1, 31) * C2;
+		h1 = Long.rotateLeft(h1, 27) + h2;
+		h1 = h1 * 5 + 0x52dce729;
+
+		h2 ^= Long.rotateLeft(k2 * C2, 33) * C1;
+		h2 = Long.rotateLeft(h2, 31) + h1;
+		h2 = h2 * 5 + 0x38495ab5;
+	}
+
+	private static long fmix(long k) {
+		k ^= k >>> 33;
+		k *= 0xff51afd7ed558ccdL;
+		k ^= k >>> 33;
+		k *= 0xc4ceb9fe1a85ec53L;
+		k ^= k >>> 33;
+		return k;
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped view of an archive of objects, usually serializable lambdas,
+ * written by {@link LambdaArchiveWriter}.
+ *
+ * <p>An archive consists of two files: the data file holding each object in the encoding of
+ * {@link LambdaCodec}, and an index file next to it (with {@code .idx} appended to its name)
+ * holding the offset of each object in the data file. Objects are identified by their position
+ * in the archive, starting at {@code 0}. {@link #get(int)} looks up the offset in the index and
+ * decodes that single object directly from the mapped data, without reading the rest of the archive.
+ *
+ * <p>Both files are mapped read-only, so several JVMs can map the same archive and share its
+ * pages. The view covers the objects flushed by the writer before it was opened. Each of the
+ * files may be at most 2 GB large. {@link #close()} drops the mappings, which the JVM unmaps once
+ * they are garbage collected. Instances are safe for use by multiple threads.
+ *
+ * <p>Usage example:
+ *
+ * <blockquote><pre>
+ * try (LambdaArchive rules = LambdaArchive.open(path)) {
+ *     SerializablePredicate&lt;Order&gt; rule = (SerializablePredicate&lt;Order&gt;) rules.get(ruleId);
+ *     ...
+ * }
+ * </pre></blockquote>
+ */
+public final class LambdaArchive implements Closeable {
+
+	static final int DATA_MAGIC = 0x4C415243;
+	static final int INDEX_MAGIC = 0x4C494458;
+	static final int ARCHIVE_VERSION = 1;
+	static final int HEADER_SIZE = 8;
+
+	/**
+	 * Maximum size of each of the files, which are mapped into a single buffer.
+	 */
+	static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+
+	private volatile MappedByteBuffer data;
+
+	private volatile MappedByteBuffer index;
+
+	private final int size;
+
+	private final ClassLoader loader;
+
+	private LambdaArchive(MappedByteBuffer data, MappedByteBuffer index, ClassLoader loader) {
+		this.data = data;
+		this.index = index;
+		this.size = (index.capacity() - HEADER_SIZE) / Long.BYTES;
+		this.loader = loader;
+	}
+
+	/**
+	 * Maps an archive, resolving classes with the context class loader of the current thread.
+	 *
+	 * @param file the data file of the archive
+	 * @return the archive
+	 * @throws IOException if the files cannot be mapped or are not an archive
+	 */
+	public static LambdaArchive open(Path file) throws IOException {
+		return open(file, LambdaCodec.defaultClassLoader());
+	}
+
+	/**
+	 * Maps an archive.
+	 *
+	 * @param file the data file of the archive
+	 * @param loader class loader used to resolve classes referenced by the archive
+	 * @return the archive
+	 * @throws IOException if the files cannot be mapped or are not an archive
+	 */
+	public static LambdaArchive open(Path file, ClassLoader loader) throws IOException {
+		MappedByteBuffer data = map(file, DATA_MAGIC);
+		MappedByteBuffer index = map(indexFile(file), INDEX_MAGIC);
+		return new LambdaArchive(data, index, loader);
+	}
+
+	/**
+	 * @return number of objects in the archive
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Decodes a single object of the archive.
+	 *
+	 * @param id position of the object in the archive
+	 * @return the object
+	 * @throws IndexOutOfBoundsException if there is no object with the given id
+	 * @throws IOException if the archive is corrupted or closed
+	 * @throws ClassNotFoundException if a class referenced by the object cannot be found
+	 */
+	public Object get(int id) throws IOException, ClassNotFoundException {
+		if (id < 0 || id >= size) {
+			throw new IndexOutOfBoundsException("id: " + id + ", size: " + size);
+		}
+		MappedByteBuffer data = this.data;
+		MappedByteBuffer index = this.index;
+		if (data == null || index == null) {
+			throw new IOException("archive is closed");
+		}
+
+		long offset = index.getLong(HEADER_SIZE + id * Long.BYTES);
+		if (offset < HEADER_SIZE || offset > data.capacity() - Integer.BYTES) {
+			throw new StreamCorruptedException("invalid offset of " + id + ": " + offset);
+		}
+		int start = (int) offset + Integer.BYTES;
+		int length = data.getInt((int) offset);
+		if (length < 0 || length > data.capacity() - start) {
+			throw new StreamCorruptedException("invalid length of " + id + ": " + length);
+		}
+
+		ByteBuffer record = data.duplicate();
+		record.limit(start + length).position(start);
+		return LambdaCodec.decode(record, loader);
+	}
+
+	/**
+	 * Drops the mappings of the archive. Objects being decoded by other threads are decoded
+	 * completely, later calls of {@link #get(int)} fail.
+	 */
+	@Override
+	public void close() {
+		data = null;
+		index = null;
+	}
+
+	static Path indexFile(Path file) {
+		return file.resolveSibling(file.getFileName() + ".idx");
+	}
+
+	private static MappedByteBuffer map(Path file, int magic) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > MAX_FILE_SIZE) {
+				throw new IOException("archive file too large: " + file);
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			checkHeader(buffer, magic, file);
+			return buffer;
+		}
+	}
+
+	static void checkHeader(ByteBuffer buffer, int magic, Path file) throws IOException {
+		if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != magic) {
+			throw new StreamCorruptedException("not an archive file: " + file);
+		}
+		if (buffer.getInt(Integer.BYTES) != ARCHIVE_VERSION) {
+			throw new StreamCorruptedException("unsupported archive version: " + buffer.getInt(Integer.BYTES));
+		}
+	}
+}
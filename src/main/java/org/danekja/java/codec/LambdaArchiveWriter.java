@@ -0,0 +1,212 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends objects, usually serializable lambdas, to an archive read by {@link LambdaArchive}.
+ *
+ * <p>Each object is encoded on its own by {@link LambdaCodec}, so it can later be decoded
+ * without the rest of the archive. Appending only writes the data of the object, its index entry
+ * is kept in memory until {@link #flush()} or {@link #close()}, which force all the data written
+ * so far to the storage device once and only then write and force the pending index entries.
+ * Readers therefore never see an index entry of an incompletely written object, not even after
+ * a crash, but only see the objects appended before the last flush. Appending fails once either
+ * file would exceed the 2 GB {@link LambdaArchive} can map. An archive must only be written by
+ * one writer at a time.
+ */
+public final class LambdaArchiveWriter implements Closeable, Flushable {
+
+	private final FileChannel data;
+
+	private final FileChannel index;
+
+	/**
+	 * Index entries of the objects appended since the last flush.
+	 */
+	private ByteBuffer pending = ByteBuffer.allocate(64 * Long.BYTES);
+
+	private long position;
+
+	private int size;
+
+	/**
+	 * Number of objects in the index file.
+	 */
+	private int flushed;
+
+	/**
+	 * Opens an archive for appending, creating its files if they do not exist.
+	 *
+	 * @param file the data file of the archive
+	 * @throws IOException if the files cannot be opened or are not an archive
+	 */
+	public LambdaArchiveWriter(Path file) throws IOException {
+		this.data = open(file, LambdaArchive.DATA_MAGIC);
+		try {
+			this.index = open(LambdaArchive.indexFile(file), LambdaArchive.INDEX_MAGIC);
+		} catch (IOException | RuntimeException e) {
+			data.close();
+			throw e;
+		}
+
+		if (data.size() > LambdaArchive.MAX_FILE_SIZE || index.size() > LambdaArchive.MAX_FILE_SIZE) {
+			close();
+			throw new IOException("archive file too large: " + file);
+		}
+		this.size = (int) ((index.size() - LambdaArchive.HEADER_SIZE) / Long.BYTES);
+		this.flushed = size;
+		this.position = data.size();
+	}
+
+	/**
+	 * Appends an object to the archive. The object becomes visible to readers opening the
+	 * archive after the next {@link #flush()}.
+	 *
+	 * @param obj the object to append, may be {@code null}
+	 * @return the id of the object, i.e. its position in the archive
+	 * @throws java.io.NotSerializableException if the object or any object captured by it
+	 *                                          is not serializable
+	 * @throws IOException if writing fails or the archive is full
+	 */
+	public int append(Object obj) throws IOException {
+		long entryPosition = LambdaArchive.HEADER_SIZE + (long) size * Long.BYTES;
+		if (entryPosition + Long.BYTES > LambdaArchive.MAX_FILE_SIZE) {
+			throw new IOException("archive is full");
+		}
+
+		byte[] encoded = LambdaCodec.encode(obj);
+		if (position + Integer.BYTES + encoded.length > LambdaArchive.MAX_FILE_SIZE) {
+			throw new IOException("archive is full, object of " + encoded.length + " bytes does not fit");
+		}
+		ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + encoded.length);
+		record.putInt(encoded.length).put(encoded).flip();
+		writeFully(data, record, position);
+
+		if (pending.remaining() < Long.BYTES) {
+			ByteBuffer grown = ByteBuffer.allocate(pending.capacity() * 2);
+			pending.flip();
+			pending = grown.put(pending);
+		}
+		pending.putLong(position);
+
+		position += record.capacity();
+		return size++;
+	}
+
+	/**
+	 * @return number of objects in the archive, including the ones not flushed yet
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Forces the appended objects to the storage device and then writes and forces their index
+	 * entries, making them visible to readers.
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void flush() throws IOException {
+		if (pending.position() == 0) {
+			return;
+		}
+		data.force(false);
+
+		writeFully(index, pending.duplicate().flip(), LambdaArchive.HEADER_SIZE + (long) flushed * Long.BYTES);
+		pending.clear();
+		flushed = size;
+		index.force(false);
+	}
+
+	/**
+	 * Flushes the pending objects and closes the files.
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			if (data.isOpen() && index.isOpen()) {
+				flush();
+			}
+		} finally {
+			try {
+				data.close();
+			} finally {
+				index.close();
+			}
+		}
+	}
+
+	private static FileChannel open(Path file, int magic) throws IOException {
+		FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			ByteBuffer header = ByteBuffer.allocate(LambdaArchive.HEADER_SIZE);
+			if (channel.size() == 0) {
+				header.putInt(magic).putInt(LambdaArchive.ARCHIVE_VERSION).flip();
+				writeFully(channel, header, 0);
+			} else {
+				readFully(channel, header, 0);
+				LambdaArchive.checkHeader(header, magic, file);
+			}
+			return channel;
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int n = channel.read(buffer, position);
+			if (n < 0) {
+				return;
+			}
+			position += n;
+		}
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			position += channel.write(buffer, position);
+		}
+	}
+}
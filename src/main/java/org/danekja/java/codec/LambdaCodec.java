@@ -0,0 +1,241 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary encoding of serializable lambdas, such as the instances of the interfaces
+ * in {@link org.danekja.java.util.function.serializable} and {@link org.danekja.java.misc.serializable}.
+ *
+ * <p>Unlike {@link java.io.ObjectOutputStream}, which writes the full class descriptor of
+ * {@link java.lang.invoke.SerializedLambda} and every one of its string fields for each lambda,
+ * the encoding writes the fields with varint lengths, keeps a string table so each distinct
+ * class and method name is written once, and writes captured boxed primitives, strings and
+ * enums without class descriptors. The composed instances returned by the combinators of the
+ * library, such as {@code and()}, {@code andThen()} or {@code thenComparing()}, are written
+ * as their operands. Captured objects of other types are embedded in their JDK serialized
+ * form.
+ *
+ * <p>Decoding restores the lambdas through the capturing class exactly like JDK
+ * deserialization does. The decode methods also accept data in the plain JDK
+ * serialization form.
+ *
+ * <p>Besides byte arrays, objects can be encoded into and decoded from {@link ByteBuffer}s,
+ * including direct ones, which are then read and written in place.
+ *
+ * <p>Usage example:
+ *
+ * <blockquote><pre>
+ * SerializablePredicate&lt;String&gt; predicate = s -&gt; s.startsWith(prefix);
+ * byte[] data = LambdaCodec.encode(predicate);
+ * SerializablePredicate&lt;String&gt; copy = (SerializablePredicate&lt;String&gt;) LambdaCodec.decode(data);
+ * </pre></blockquote>
+ */
+public final class LambdaCodec {
+
+	static final int MAGIC = 0x4C;
+	static final int VERSION = 1;
+
+	static final int TAG_NULL = 0x00;
+	static final int TAG_REFERENCE = 0x01;
+	static final int TAG_LAMBDA = 0x02;
+	static final int TAG_OBJECT = 0x03;
+	static final int TAG_STRING = 0x04;
+	static final int TAG_ENUM = 0x05;
+	static final int TAG_TRUE = 0x06;
+	static final int TAG_FALSE = 0x07;
+	static final int TAG_BYTE = 0x08;
+	static final int TAG_SHORT = 0x09;
+	static final int TAG_CHAR = 0x0A;
+	static final int TAG_INT = 0x0B;
+	static final int TAG_LONG = 0x0C;
+	static final int TAG_FLOAT = 0x0D;
+	static final int TAG_DOUBLE = 0x0E;
+	static final int TAG_RESET = 0x0F;
+	static final int TAG_NODE = 0x10;
+
+	private static final int JDK_MAGIC_HIGH = 0xAC;
+	private static final int JDK_MAGIC_LOW = 0xED;
+
+	private LambdaCodec() {
+	}
+
+	/**
+	 * Encodes the given object, usually a serializable lambda.
+	 *
+	 * @param obj the object to encode, may be {@code null}
+	 * @return the encoded form
+	 * @throws java.io.NotSerializableException if the object or any object captured by it
+	 *                                          is not serializable
+	 * @throws IOException if the JDK serialization of a captured object fails
+	 */
+	public static byte[] encode(Object obj) throws IOException {
+		ByteArrayCodecOutput out = new ByteArrayCodecOutput(128);
+		writeHeader(out);
+		new LambdaEncoder().writeValue(out, obj);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Encodes the given object into a buffer, starting at its position. On success the
+	 * position is moved past the encoded form, otherwise it is left unchanged.
+	 *
+	 * @param obj the object to encode, may be {@code null}
+	 * @param buffer the buffer to write to
+	 * @return number of bytes written
+	 * @throws BufferOverflowException if the buffer does not have enough space remaining
+	 * @throws java.io.NotSerializableException if the object or any object captured by it
+	 *                                          is not serializable
+	 * @throws IOException if the JDK serialization of a captured object fails
+	 */
+	public static int encode(Object obj, ByteBuffer buffer) throws IOException {
+		int start = buffer.position();
+		try {
+			CodecOutput out = new ByteBufferCodecOutput(buffer);
+			writeHeader(out);
+			new LambdaEncoder().writeValue(out, obj);
+		} catch (IOException | RuntimeException e) {
+			buffer.position(start);
+			throw e;
+		}
+		return buffer.position() - start;
+	}
+
+	/**
+	 * Decodes an object from its encoded or plain JDK serialized form, resolving classes
+	 * with the context class loader of the current thread.
+	 *
+	 * @param data the encoded form
+	 * @return the decoded object
+	 * @throws IOException if the data is corrupted
+	 * @throws ClassNotFoundException if a class referenced by the data cannot be found
+	 */
+	public static Object decode(byte[] data) throws IOException, ClassNotFoundException {
+		return decode(data, defaultClassLoader());
+	}
+
+	/**
+	 * Decodes an object from its encoded or plain JDK serialized form.
+	 *
+	 * @param data the encoded form
+	 * @param loader class loader used to resolve classes referenced by the data
+	 * @return the decoded object
+	 * @throws IOException if the data is corrupted
+	 * @throws ClassNotFoundException if a class referenced by the data cannot be found
+	 */
+	public static Object decode(byte[] data, ClassLoader loader) throws IOException, ClassNotFoundException {
+		if (data.length >= 2 && (data[0] & 0xFF) == JDK_MAGIC_HIGH && (data[1] & 0xFF) == JDK_MAGIC_LOW) {
+			try (ObjectInputStream in = new CodecObjectInputStream(new ByteArrayInputStream(data), loader)) {
+				return in.readObject();
+			}
+		}
+
+		CodecInput in = new ByteArrayCodecInput(data, 0, data.length);
+		readHeader(in);
+		return new LambdaDecoder(loader).readValue(in);
+	}
+
+	/**
+	 * Decodes an object from a buffer, starting at its position, resolving classes with the
+	 * context class loader of the current thread. The position is moved as described in
+	 * {@link #decode(ByteBuffer, ClassLoader)}.
+	 *
+	 * @param buffer the buffer to read from
+	 * @return the decoded object
+	 * @throws IOException if the data is corrupted
+	 * @throws ClassNotFoundException if a class referenced by the data cannot be found
+	 */
+	public static Object decode(ByteBuffer buffer) throws IOException, ClassNotFoundException {
+		return decode(buffer, defaultClassLoader());
+	}
+
+	/**
+	 * Decodes an object from a buffer, starting at its position. On success the position is
+	 * moved past the encoded form, otherwise it is left unchanged. For data in the plain JDK
+	 * serialization form, the position is moved past the bytes actually consumed by
+	 * {@link ObjectInputStream}, which reads no further than the end of the object.
+	 *
+	 * @param buffer the buffer to read from
+	 * @param loader class loader used to resolve classes referenced by the data
+	 * @return the decoded object
+	 * @throws IOException if the data is corrupted
+	 * @throws ClassNotFoundException if a class referenced by the data cannot be found
+	 */
+	public static Object decode(ByteBuffer buffer, ClassLoader loader) throws IOException, ClassNotFoundException {
+		int start = buffer.position();
+		try {
+			if (buffer.remaining() >= 2 && (buffer.get(start) & 0xFF) == JDK_MAGIC_HIGH
+					&& (buffer.get(start + 1) & 0xFF) == JDK_MAGIC_LOW) {
+				// the stream reads a view, and the buffer is moved past the bytes it actually consumed
+				ByteBuffer view = buffer.duplicate();
+				try (ObjectInputStream in = new CodecObjectInputStream(new ByteBufferCodecInput.BufferStream(view), loader)) {
+					Object obj = in.readObject();
+					buffer.position(view.position());
+					return obj;
+				}
+			}
+
+			CodecInput in = new ByteBufferCodecInput(buffer);
+			readHeader(in);
+			return new LambdaDecoder(loader).readValue(in);
+		} catch (IOException | ClassNotFoundException | RuntimeException e) {
+			buffer.position(start);
+			throw e;
+		}
+	}
+
+	static void writeHeader(CodecOutput out) throws IOException {
+		out.writeByte(MAGIC);
+		out.writeByte(VERSION);
+	}
+
+	static void readHeader(CodecInput in) throws IOException {
+		int magic = in.readByte();
+		int version = in.readByte();
+		if (magic != MAGIC) {
+			throw new StreamCorruptedException(String.format("invalid stream header: %02X%02X", magic, version));
+		}
+		if (version != VERSION) {
+			throw new StreamCorruptedException("unsupported version: " + version);
+		}
+	}
+
+	static ClassLoader defaultClassLoader() {
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		return loader != null ? loader : LambdaCodec.class.getClassLoader();
+	}
+}
@@ -0,0 +1,231 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.danekja.java.codec.LambdaCodec.*;
+
+/**
+ * Reads values written by {@link LambdaEncoder}.
+ */
+final class LambdaDecoder {
+
+	/**
+	 * Lambdas are created by a method call, which takes at most 255 argument slots.
+	 */
+	private static final int MAX_CAPTURED_ARGS = 255;
+
+	private final ClassLoader loader;
+
+	private final List<String> strings = new ArrayList<>();
+
+	private final List<LambdaShape> shapes = new ArrayList<>();
+
+	private final List<Object> references = new ArrayList<>();
+
+	private final Map<String, Class<?>> classes = new HashMap<>();
+
+	LambdaDecoder(ClassLoader loader) {
+		this.loader = loader;
+	}
+
+	/**
+	 * Forgets all strings, shapes and references read so far.
+	 */
+	void reset() {
+		strings.clear();
+		shapes.clear();
+		references.clear();
+	}
+
+	Object readValue(CodecInput in) throws IOException, ClassNotFoundException {
+		return readValue(in, in.readByte());
+	}
+
+	Object readValue(CodecInput in, int tag) throws IOException, ClassNotFoundException {
+		switch (tag) {
+			case TAG_NULL:
+				return null;
+			case TAG_REFERENCE:
+				return readReference(in);
+			case TAG_LAMBDA:
+				return register(readLambda(in));
+			case TAG_NODE:
+				return register(readNode(in));
+			case TAG_OBJECT:
+				return register(readObject(in));
+			case TAG_STRING:
+				return readString(in);
+			case TAG_ENUM:
+				return readEnum(in);
+			case TAG_TRUE:
+				return Boolean.TRUE;
+			case TAG_FALSE:
+				return Boolean.FALSE;
+			case TAG_BYTE:
+				return (byte) in.readByte();
+			case TAG_SHORT:
+				return (short) in.readSignedVarInt();
+			case TAG_CHAR:
+				return (char) in.readVarInt();
+			case TAG_INT:
+				return in.readSignedVarInt();
+			case TAG_LONG:
+				return in.readSignedVarLong();
+			case TAG_FLOAT:
+				return Float.intBitsToFloat(in.readInt());
+			case TAG_DOUBLE:
+				return Double.longBitsToDouble(in.readLong());
+			default:
+				throw new StreamCorruptedException(String.format("invalid type code: %02X", tag));
+		}
+	}
+
+	private Object readReference(CodecInput in) throws IOException {
+		int index = in.readVarInt();
+		if (index < 0 || index >= references.size()) {
+			throw new StreamCorruptedException("invalid reference: " + index);
+		}
+		return references.get(index);
+	}
+
+	private Object register(Object value) {
+		references.add(value);
+		return value;
+	}
+
+	private Object readLambda(CodecInput in) throws IOException, ClassNotFoundException {
+		LambdaShape shape = readShape(in);
+
+		Object[] capturedArgs = new Object[in.readLength(Math.min(MAX_CAPTURED_ARGS, in.remaining()))];
+		for (int i = 0; i < capturedArgs.length; i++) {
+			capturedArgs[i] = readValue(in);
+		}
+
+		return LambdaResolver.resolve(resolveClass(shape.capturingClass), shape, capturedArgs, loader);
+	}
+
+	private LambdaShape readShape(CodecInput in) throws IOException {
+		int index = in.readVarInt();
+		if (index == 0) {
+			LambdaShape shape = new LambdaShape(readString(in),
+					readString(in), readString(in), readString(in),
+					in.readVarInt(), readString(in), readString(in), readString(in),
+					readString(in));
+			shapes.add(shape);
+			return shape;
+		}
+		if (index < 0 || index > shapes.size()) {
+			throw new StreamCorruptedException("invalid shape reference: " + index);
+		}
+		return shapes.get(index - 1);
+	}
+
+	private Object readNode(CodecInput in) throws IOException, ClassNotFoundException {
+		NodeType node = NodeType.of(in.readVarInt());
+		Class<?>[] types = node.fieldTypes();
+		Object[] fields = new Object[types.length];
+		for (int i = 0; i < types.length; i++) {
+			Class<?> type = types[i];
+			if (type == byte[].class) {
+				byte[] bytes = new byte[in.readLength(in.remaining())];
+				in.readBytes(bytes, 0, bytes.length);
+				fields[i] = bytes;
+			} else if (type.isArray()) {
+				// each element takes at least one byte
+				Object[] elements = (Object[]) Array.newInstance(type.getComponentType(), in.readLength(in.remaining()));
+				for (int j = 0; j < elements.length; j++) {
+					Object element = readValue(in);
+					if (element != null && !type.getComponentType().isInstance(element)) {
+						throw new InvalidObjectException("Invalid operand of " + node);
+					}
+					elements[j] = element;
+				}
+				fields[i] = elements;
+			} else {
+				fields[i] = readValue(in);
+			}
+		}
+		return node.create(fields);
+	}
+
+	private Object readObject(CodecInput in) throws IOException, ClassNotFoundException {
+		int length = in.readLength(in.remaining());
+		try (ObjectInputStream ois = new CodecObjectInputStream(in.slice(length), loader)) {
+			return ois.readObject();
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object readEnum(CodecInput in) throws IOException, ClassNotFoundException {
+		Class<?> type = resolveClass(readString(in));
+		String name = readString(in);
+		if (!type.isEnum()) {
+			throw new StreamCorruptedException("not an enum: " + type.getName());
+		}
+		try {
+			return Enum.valueOf((Class) type, name);
+		} catch (IllegalArgumentException e) {
+			throw new StreamCorruptedException("invalid enum constant: " + type.getName() + "." + name);
+		}
+	}
+
+	private String readString(CodecInput in) throws IOException {
+		int index = in.readVarInt();
+		if (index == 0) {
+			String value = in.readChars();
+			strings.add(value);
+			return value;
+		}
+		if (index < 0 || index > strings.size()) {
+			throw new StreamCorruptedException("invalid string reference: " + index);
+		}
+		return strings.get(index - 1);
+	}
+
+	private Class<?> resolveClass(String name) throws ClassNotFoundException {
+		Class<?> type = classes.get(name);
+		if (type == null) {
+			type = Class.forName(name.replace('/', '.'), false, loader);
+			classes.put(name, type);
+		}
+		return type;
+	}
+}
@@ -0,0 +1,219 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.lang.invoke.SerializedLambda;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static org.danekja.java.codec.LambdaCodec.*;
+
+/**
+ * Writes values in the compact lambda encoding.
+ *
+ * <p>Lambdas are written as their shape followed by their captured arguments. Each distinct
+ * shape is written once, field by field with every string going through a string table,
+ * later lambdas of the same shape only refer to it by index. Captured boxed primitives,
+ * strings and enums are written by type-specialized tags, composed nodes of the library by
+ * their {@link NodeType} and operands, and any other captured object falls back to JDK
+ * serialization. Lambdas, nodes and fallback objects are written once, repeated occurrences
+ * of the same instance are written as references.
+ */
+final class LambdaEncoder {
+
+	private final Map<String, Integer> strings = new HashMap<>();
+
+	private final Map<LambdaShape, Integer> shapes = new HashMap<>();
+
+	private final Map<Object, Integer> references = new IdentityHashMap<>();
+
+	private final CodecOutput.Buffer buffer = new CodecOutput.Buffer();
+
+	private long stringHits;
+	private long stringMisses;
+	private long shapeHits;
+	private long shapeMisses;
+
+	/**
+	 * Forgets all strings, shapes and references written so far.
+	 */
+	void reset() {
+		strings.clear();
+		shapes.clear();
+		references.clear();
+	}
+
+	DictionaryStatistics statistics() {
+		return new DictionaryStatistics(shapeHits, shapeMisses, stringHits, stringMisses);
+	}
+
+	void writeValue(CodecOutput out, Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(TAG_NULL);
+			return;
+		}
+
+		Class<?> type = value.getClass();
+		if (type == String.class) {
+			out.writeByte(TAG_STRING);
+			writeString(out, (String) value);
+		} else if (type == Integer.class) {
+			out.writeByte(TAG_INT);
+			out.writeSignedVarInt((Integer) value);
+		} else if (type == Long.class) {
+			out.writeByte(TAG_LONG);
+			out.writeSignedVarLong((Long) value);
+		} else if (type == Boolean.class) {
+			out.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+		} else if (type == Double.class) {
+			out.writeByte(TAG_DOUBLE);
+			out.writeLong(Double.doubleToRawLongBits((Double) value));
+		} else if (type == Float.class) {
+			out.writeByte(TAG_FLOAT);
+			out.writeInt(Float.floatToRawIntBits((Float) value));
+		} else if (type == Character.class) {
+			out.writeByte(TAG_CHAR);
+			out.writeVarInt((Character) value);
+		} else if (type == Short.class) {
+			out.writeByte(TAG_SHORT);
+			out.writeSignedVarInt((Short) value);
+		} else if (type == Byte.class) {
+			out.writeByte(TAG_BYTE);
+			out.writeByte((Byte) value);
+		} else if (value instanceof Enum) {
+			Enum<?> constant = (Enum<?>) value;
+			out.writeByte(TAG_ENUM);
+			writeString(out, constant.getDeclaringClass().getName());
+			writeString(out, constant.name());
+		} else {
+			writeReferenceable(out, value);
+		}
+	}
+
+	private void writeReferenceable(CodecOutput out, Object value) throws IOException {
+		Integer reference = references.get(value);
+		if (reference != null) {
+			out.writeByte(TAG_REFERENCE);
+			out.writeVarInt(reference);
+			return;
+		}
+
+		SerializedLambda lambda = SerializedLambdas.serializedForm(value);
+		NodeType node;
+		if (lambda != null) {
+			writeLambda(out, lambda);
+		} else if ((node = NodeType.of(value.getClass())) != null) {
+			writeNode(out, node, value);
+		} else {
+			writeObject(out, value);
+		}
+		references.put(value, references.size());
+	}
+
+	private void writeLambda(CodecOutput out, SerializedLambda lambda) throws IOException {
+		out.writeByte(TAG_LAMBDA);
+		writeShape(out, LambdaShape.of(lambda));
+
+		int count = lambda.getCapturedArgCount();
+		out.writeVarInt(count);
+		for (int i = 0; i < count; i++) {
+			writeValue(out, lambda.getCapturedArg(i));
+		}
+	}
+
+	private void writeShape(CodecOutput out, LambdaShape shape) throws IOException {
+		Integer index = shapes.get(shape);
+		if (index != null) {
+			shapeHits++;
+			out.writeVarInt(index + 1);
+			return;
+		}
+
+		shapeMisses++;
+		out.writeVarInt(0);
+		writeString(out, shape.capturingClass);
+		writeString(out, shape.functionalInterfaceClass);
+		writeString(out, shape.functionalInterfaceMethodName);
+		writeString(out, shape.functionalInterfaceMethodSignature);
+		out.writeVarInt(shape.implMethodKind);
+		writeString(out, shape.implClass);
+		writeString(out, shape.implMethodName);
+		writeString(out, shape.implMethodSignature);
+		writeString(out, shape.instantiatedMethodType);
+		shapes.put(shape, shapes.size());
+	}
+
+	private void writeNode(CodecOutput out, NodeType node, Object value) throws IOException {
+		out.writeByte(TAG_NODE);
+		out.writeVarInt(node.index);
+		for (Object field : node.values(value)) {
+			if (field instanceof byte[]) {
+				byte[] bytes = (byte[]) field;
+				out.writeVarInt(bytes.length);
+				out.writeBytes(bytes, 0, bytes.length);
+			} else if (field instanceof Object[]) {
+				Object[] elements = (Object[]) field;
+				out.writeVarInt(elements.length);
+				for (Object element : elements) {
+					writeValue(out, element);
+				}
+			} else {
+				writeValue(out, field);
+			}
+		}
+	}
+
+	private void writeObject(CodecOutput out, Object value) throws IOException {
+		if (!(value instanceof Serializable)) {
+			throw new NotSerializableException(value.getClass().getName());
+		}
+
+		out.writeByte(TAG_OBJECT);
+		out.writeSerialized(value, buffer);
+	}
+
+	private void writeString(CodecOutput out, String value) throws IOException {
+		Integer index = strings.get(value);
+		if (index != null) {
+			stringHits++;
+			out.writeVarInt(index + 1);
+		} else {
+			stringMisses++;
+			out.writeVarInt(0);
+			out.writeChars(value);
+			strings.put(value, strings.size());
+		}
+	}
+}
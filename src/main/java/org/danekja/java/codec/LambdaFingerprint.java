@@ -0,0 +1,135 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * 128-bit structural fingerprint of a serializable lambda.
+ *
+ * <p>The fingerprint is a hash of the structure of the object: the
+ * {@link java.lang.invoke.SerializedLambda} shape and the captured arguments of lambdas,
+ * recursively for lambdas capturing other lambdas such as the results of {@code and()},
+ * {@code andThen()} or {@code thenComparing()}, and the class and serializable fields of other
+ * objects. A value reachable more than once is hashed in full at every occurrence, so
+ * {@code p.and(p)} and {@code p.and(copyOfP)} have the same fingerprint. It does not depend on
+ * identity hash codes or on the order in which classes were loaded, so it is stable across JVM
+ * restarts as long as the code of the capturing classes and the serialized fields of the
+ * captured arguments do not change.
+ *
+ * <p>Objects of classes which customize their serialization, e.g. most JDK collections, are
+ * hashed by their JDK serialized form and are only as stable as that form: such objects sharing
+ * references within their own graph hash differently than equal objects which do not, and
+ * hash-based collections may hash differently for equal content if their elements have no
+ * stable {@code hashCode}.
+ *
+ * <p>Two lambdas with equal fingerprints are, with overwhelming probability, created by the same
+ * lambda expression or method reference from equal captured arguments. This makes fingerprints
+ * usable as cache keys for lambdas, which otherwise only have identity equality.
+ */
+public final class LambdaFingerprint implements Serializable, Comparable<LambdaFingerprint> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long mostSigBits;
+
+	private final long leastSigBits;
+
+	/**
+	 * Creates a fingerprint from its 128-bit value.
+	 *
+	 * @param mostSigBits the most significant 64 bits
+	 * @param leastSigBits the least significant 64 bits
+	 */
+	public LambdaFingerprint(long mostSigBits, long leastSigBits) {
+		this.mostSigBits = mostSigBits;
+		this.leastSigBits = leastSigBits;
+	}
+
+	/**
+	 * Computes the fingerprint of the given object, usually a serializable lambda.
+	 *
+	 * @param obj the object, may be {@code null}
+	 * @return the fingerprint
+	 * @throws java.io.NotSerializableException if the object or any object captured by it
+	 *                                          is not serializable
+	 * @throws IOException if the JDK serialization of a captured object fails
+	 */
+	public static LambdaFingerprint of(Object obj) throws IOException {
+		StructuralHasher hasher = new StructuralHasher();
+		hasher.write(obj);
+		long[] hash = hasher.finish();
+		return new LambdaFingerprint(hash[1], hash[0]);
+	}
+
+	/**
+	 * @return the most significant 64 bits of the fingerprint
+	 */
+	public long getMostSignificantBits() {
+		return mostSigBits;
+	}
+
+	/**
+	 * @return the least significant 64 bits of the fingerprint, usable as a 64-bit fingerprint
+	 */
+	public long getLeastSignificantBits() {
+		return leastSigBits;
+	}
+
+	@Override
+	public int compareTo(LambdaFingerprint other) {
+		int result = Long.compare(mostSigBits, other.mostSigBits);
+		return result != 0 ? result : Long.compare(leastSigBits, other.leastSigBits);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof LambdaFingerprint)) {
+			return false;
+		}
+		LambdaFingerprint other = (LambdaFingerprint) obj;
+		return mostSigBits == other.mostSigBits && leastSigBits == other.leastSigBits;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(leastSigBits);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%016x%016x", mostSigBits, leastSigBits);
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Turns a {@link SerializedLambda} back into the lambda it was created from.
+ *
+ * <p>The first time a lambda shape is seen, this does the same as
+ * {@code SerializedLambda.readResolve()}, i.e. it calls the synthetic {@code $deserializeLambda$}
+ * method of the capturing class, which validates the shape against the lambdas actually compiled
+ * into that class. If the method is not accessible, the lambda is sent through a JDK serialization
+ * round trip instead.
+ *
+ * <p>Once a shape has been validated, a factory for it is cached per capturing class, so that
+ * further lambdas of the same shape are created by just binding their captured arguments:
+ * non-capturing lambdas are stateless and the resolved instance is shared, capturing lambdas are
+ * created through the constructor of the lambda class. A factory is only cached if the lambda it
+ * creates has the same serialized form as the validated one; otherwise every lambda of the shape
+ * keeps going through {@code $deserializeLambda$}.
+ */
+final class LambdaResolver {
+
+	private static final ClassValue<Optional<Method>> DESERIALIZERS = new ClassValue<Optional<Method>>() {
+		@Override
+		protected Optional<Method> computeValue(Class<?> type) {
+			try {
+				Method method = type.getDeclaredMethod("$deserializeLambda$", SerializedLambda.class);
+				method.setAccessible(true);
+				return Optional.of(method);
+			} catch (NoSuchMethodException | RuntimeException e) {
+				return Optional.empty();
+			}
+		}
+	};
+
+	private static final ClassValue<ConcurrentMap<LambdaShape, Factory>> FACTORIES =
+			new ClassValue<ConcurrentMap<LambdaShape, Factory>>() {
+				@Override
+				protected ConcurrentMap<LambdaShape, Factory> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	private LambdaResolver() {
+	}
+
+	static Object resolve(Class<?> capturingClass, LambdaShape shape, Object[] capturedArgs, ClassLoader loader)
+			throws IOException, ClassNotFoundException {
+		ConcurrentMap<LambdaShape, Factory> factories = FACTORIES.get(capturingClass);
+		Factory factory = factories.get(shape);
+		if (factory != null) {
+			return factory.create(capturedArgs, loader);
+		}
+
+		Object lambda = deserialize(capturingClass, shape.toSerializedLambda(capturingClass, capturedArgs), loader);
+		factories.putIfAbsent(shape, factoryFor(capturingClass, shape, capturedArgs, lambda));
+		return lambda;
+	}
+
+	private static Object deserialize(Class<?> capturingClass, SerializedLambda lambda, ClassLoader loader)
+			throws IOException, ClassNotFoundException {
+		Optional<Method> deserializer = DESERIALIZERS.get(capturingClass);
+		if (!deserializer.isPresent()) {
+			return roundTrip(lambda, loader);
+		}
+
+		try {
+			return deserializer.get().invoke(null, lambda);
+		} catch (InvocationTargetException e) {
+			throw invalid(e.getCause());
+		} catch (IllegalAccessException e) {
+			throw invalid(e);
+		}
+	}
+
+	private static Object roundTrip(SerializedLambda lambda, ClassLoader loader)
+			throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(lambda);
+		}
+		try (ObjectInputStream in = new CodecObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()), loader)) {
+			return in.readObject();
+		}
+	}
+
+	private static Factory factoryFor(Class<?> capturingClass, LambdaShape shape, Object[] capturedArgs, Object lambda) {
+		if (capturedArgs.length == 0) {
+			return new Factory.Constant(lambda);
+		}
+
+		Constructor<?>[] constructors = lambda.getClass().getDeclaredConstructors();
+		if (constructors.length != 1 || constructors[0].getParameterCount() != capturedArgs.length) {
+			return new Factory.Deserializing(capturingClass, shape);
+		}
+
+		try {
+			constructors[0].setAccessible(true);
+			MethodHandle constructor = MethodHandles.lookup().unreflectConstructor(constructors[0]);
+			Factory.Binding factory = new Factory.Binding(constructor
+					.asType(constructor.type().generic())
+					.asSpreader(Object[].class, capturedArgs.length));
+
+			SerializedLambda copy = SerializedLambdas.serializedForm(factory.create(capturedArgs.clone(), null));
+			if (copy == null || !shape.equals(LambdaShape.of(copy)) || !sameArguments(copy, capturedArgs)) {
+				return new Factory.Deserializing(capturingClass, shape);
+			}
+			return factory;
+		} catch (IllegalAccessException | IOException | RuntimeException e) {
+			return new Factory.Deserializing(capturingClass, shape);
+		}
+	}
+
+	private static boolean sameArguments(SerializedLambda lambda, Object[] capturedArgs) {
+		for (int i = 0; i < capturedArgs.length; i++) {
+			if (!Objects.equals(lambda.getCapturedArg(i), capturedArgs[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static InvalidObjectException invalid(Throwable cause) {
+		InvalidObjectException e = new InvalidObjectException("ReflectiveOperationException during deserialization");
+		e.initCause(cause);
+		return e;
+	}
+
+	/**
+	 * Creates lambdas of one shape.
+	 */
+	private abstract static class Factory {
+
+		abstract Object create(Object[] capturedArgs, ClassLoader loader) throws IOException, ClassNotFoundException;
+
+		static final class Constant extends Factory {
+			private final Object lambda;
+
+			Constant(Object lambda) {
+				this.lambda = lambda;
+			}
+
+			@Override
+			Object create(Object[] capturedArgs, ClassLoader loader) {
+				return lambda;
+			}
+		}
+
+		static final class Binding extends Factory {
+			private final MethodHandle constructor;
+
+			Binding(MethodHandle constructor) {
+				this.constructor = constructor;
+			}
+
+			@Override
+			Object create(Object[] capturedArgs, ClassLoader loader) throws IOException {
+				try {
+					return (Object) constructor.invokeExact(capturedArgs);
+				} catch (ClassCastException | NullPointerException e) {
+					throw invalid(e);
+				} catch (RuntimeException | Error e) {
+					throw e;
+				} catch (Throwable e) {
+					throw invalid(e);
+				}
+			}
+		}
+
+		/**
+		 * Factory of a shape whose lambdas cannot be created through their constructor, which
+		 * deserializes every lambda through the capturing class.
+		 */
+		static final class Deserializing extends Factory {
+			private final Class<?> capturingClass;
+			private final LambdaShape shape;
+
+			Deserializing(Class<?> capturingClass, LambdaShape shape) {
+				this.capturingClass = capturingClass;
+				this.shape = shape;
+			}
+
+			@Override
+			Object create(Object[] capturedArgs, ClassLoader loader) throws IOException, ClassNotFoundException {
+				return deserialize(capturingClass, shape.toSerializedLambda(capturingClass, capturedArgs), loader);
+			}
+		}
+	}
+}
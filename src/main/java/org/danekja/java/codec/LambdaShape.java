@@ -0,0 +1,123 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.lang.invoke.SerializedLambda;
+
+/**
+ * Everything in a {@link SerializedLambda} except its captured arguments, i.e. the part
+ * which is the same for all instances created by one lambda expression or method reference.
+ */
+final class LambdaShape {
+
+	final String capturingClass;
+	final String functionalInterfaceClass;
+	final String functionalInterfaceMethodName;
+	final String functionalInterfaceMethodSignature;
+	final int implMethodKind;
+	final String implClass;
+	final String implMethodName;
+	final String implMethodSignature;
+	final String instantiatedMethodType;
+
+	private final int hash;
+
+	LambdaShape(String capturingClass,
+			String functionalInterfaceClass, String functionalInterfaceMethodName, String functionalInterfaceMethodSignature,
+			int implMethodKind, String implClass, String implMethodName, String implMethodSignature,
+			String instantiatedMethodType) {
+		this.capturingClass = capturingClass;
+		this.functionalInterfaceClass = functionalInterfaceClass;
+		this.functionalInterfaceMethodName = functionalInterfaceMethodName;
+		this.functionalInterfaceMethodSignature = functionalInterfaceMethodSignature;
+		this.implMethodKind = implMethodKind;
+		this.implClass = implClass;
+		this.implMethodName = implMethodName;
+		this.implMethodSignature = implMethodSignature;
+		this.instantiatedMethodType = instantiatedMethodType;
+
+		int h = capturingClass.hashCode();
+		h = 31 * h + functionalInterfaceClass.hashCode();
+		h = 31 * h + functionalInterfaceMethodName.hashCode();
+		h = 31 * h + functionalInterfaceMethodSignature.hashCode();
+		h = 31 * h + implMethodKind;
+		h = 31 * h + implClass.hashCode();
+		h = 31 * h + implMethodName.hashCode();
+		h = 31 * h + implMethodSignature.hashCode();
+		h = 31 * h + instantiatedMethodType.hashCode();
+		this.hash = h;
+	}
+
+	static LambdaShape of(SerializedLambda lambda) {
+		return new LambdaShape(lambda.getCapturingClass(),
+				lambda.getFunctionalInterfaceClass(), lambda.getFunctionalInterfaceMethodName(),
+				lambda.getFunctionalInterfaceMethodSignature(), lambda.getImplMethodKind(), lambda.getImplClass(),
+				lambda.getImplMethodName(), lambda.getImplMethodSignature(), lambda.getInstantiatedMethodType());
+	}
+
+	SerializedLambda toSerializedLambda(Class<?> capturing, Object[] capturedArgs) {
+		return new SerializedLambda(capturing,
+				functionalInterfaceClass, functionalInterfaceMethodName, functionalInterfaceMethodSignature,
+				implMethodKind, implClass, implMethodName, implMethodSignature,
+				instantiatedMethodType, capturedArgs);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof LambdaShape)) {
+			return false;
+		}
+		LambdaShape other = (LambdaShape) obj;
+		return hash == other.hash
+				&& implMethodKind == other.implMethodKind
+				&& implMethodName.equals(other.implMethodName)
+				&& implMethodSignature.equals(other.implMethodSignature)
+				&& implClass.equals(other.implClass)
+				&& capturingClass.equals(other.capturingClass)
+				&& instantiatedMethodType.equals(other.instantiatedMethodType)
+				&& functionalInterfaceClass.equals(other.functionalInterfaceClass)
+				&& functionalInterfaceMethodName.equals(other.functionalInterfaceMethodName)
+				&& functionalInterfaceMethodSignature.equals(other.functionalInterfaceMethodSignature);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public String toString() {
+		return capturingClass + " -> " + implClass + "." + implMethodName + implMethodSignature;
+	}
+}
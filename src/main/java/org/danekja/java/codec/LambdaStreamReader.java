@@ -0,0 +1,91 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads objects written by a {@link LambdaStreamWriter}.
+ */
+public class LambdaStreamReader implements Closeable {
+
+	private final StreamCodecInput in;
+
+	private final LambdaDecoder decoder;
+
+	/**
+	 * Creates a reader resolving classes with the context class loader of the current thread
+	 * and reads the stream header.
+	 *
+	 * @param in the stream to read from
+	 * @throws IOException if the stream header is invalid
+	 */
+	public LambdaStreamReader(InputStream in) throws IOException {
+		this(in, LambdaCodec.defaultClassLoader());
+	}
+
+	/**
+	 * Creates a reader and reads the stream header.
+	 *
+	 * @param in the stream to read from
+	 * @param loader class loader used to resolve classes referenced by the stream
+	 * @throws IOException if the stream header is invalid
+	 */
+	public LambdaStreamReader(InputStream in, ClassLoader loader) throws IOException {
+		this.in = new StreamCodecInput(in);
+		this.decoder = new LambdaDecoder(loader);
+		LambdaCodec.readHeader(this.in);
+	}
+
+	/**
+	 * Reads the next object from the stream.
+	 *
+	 * @return the object
+	 * @throws java.io.EOFException if the end of the stream has been reached
+	 * @throws IOException if the stream is corrupted
+	 * @throws ClassNotFoundException if a class referenced by the stream cannot be found
+	 */
+	public Object read() throws IOException, ClassNotFoundException {
+		int tag = in.readByte();
+		while (tag == LambdaCodec.TAG_RESET) {
+			decoder.reset();
+			tag = in.readByte();
+		}
+		return decoder.readValue(in, tag);
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
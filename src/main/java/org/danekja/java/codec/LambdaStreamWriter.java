@@ -0,0 +1,117 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a sequence of objects, usually serializable lambdas, to a stream in the encoding
+ * of {@link LambdaCodec}, sharing one dictionary among all of them.
+ *
+ * <p>Each distinct lambda shape (capturing class, functional interface, implementation method
+ * and instantiated type) and each distinct string is written in full only the first time it
+ * occurs in the stream, afterwards it is referred to by a small integer. Like
+ * {@link java.io.ObjectOutputStream}, the stream also remembers the lambdas it has written,
+ * writing the same instance again only writes a reference to it. {@link #reset()} makes the
+ * stream forget both, which bounds its memory when it is kept open for a long time.
+ *
+ * <p>The stream is read by {@link LambdaStreamReader}.
+ *
+ * <p>Usage example:
+ *
+ * <blockquote><pre>
+ * try (LambdaStreamWriter writer = new LambdaStreamWriter(out)) {
+ *     for (SerializableRunnable job : jobs) {
+ *         writer.write(job);
+ *     }
+ * }
+ * </pre></blockquote>
+ */
+public class LambdaStreamWriter implements Closeable, Flushable {
+
+	private final StreamCodecOutput out;
+
+	private final LambdaEncoder encoder = new LambdaEncoder();
+
+	/**
+	 * Creates a writer and writes the stream header.
+	 *
+	 * @param out the stream to write to
+	 * @throws IOException if writing the header fails
+	 */
+	public LambdaStreamWriter(OutputStream out) throws IOException {
+		this.out = new StreamCodecOutput(out);
+		LambdaCodec.writeHeader(this.out);
+	}
+
+	/**
+	 * Writes an object to the stream.
+	 *
+	 * @param obj the object to write, may be {@code null}
+	 * @throws java.io.NotSerializableException if the object or any object captured by it
+	 *                                          is not serializable
+	 * @throws IOException if writing fails
+	 */
+	public void write(Object obj) throws IOException {
+		encoder.writeValue(out, obj);
+	}
+
+	/**
+	 * Makes both this writer and the reader of the stream forget all shapes, strings
+	 * and objects written so far.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	public void reset() throws IOException {
+		out.writeByte(LambdaCodec.TAG_RESET);
+		encoder.reset();
+	}
+
+	/**
+	 * @return statistics of the dictionary usage since this writer was created
+	 */
+	public DictionaryStatistics getStatistics() {
+		return encoder.statistics();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * Base of the proxies created by {@link LazyLambdas}.
+ *
+ * <p>A deserialized proxy holds only the encoded form of its delegate, which is decoded
+ * at most once, on first use. Until then, serializing the proxy again writes the
+ * original bytes unchanged. Once the delegate is decoded, the bytes are dropped and the
+ * delegate is encoded afresh, as it may have changed the state it captured. The encoded
+ * form does not take part in the reference sharing of the enclosing stream, see
+ * {@link LazyLambdas}.
+ *
+ * @param <T> type of the delegate
+ */
+abstract class LazyLambda<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Encoded delegate, null once the delegate is available. Guarded by {@code this}.
+	 */
+	private transient byte[] data;
+
+	/**
+	 * Loader to decode {@link #data} with.
+	 */
+	private transient ClassLoader loader;
+
+	private transient volatile T delegate;
+
+	LazyLambda(T delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Returns the delegate, decoding it on first call.
+	 *
+	 * @return the delegate
+	 * @throws IllegalStateException if the delegate cannot be decoded
+	 */
+	final T delegate() {
+		T result = delegate;
+		return result != null ? result : decode();
+	}
+
+	private synchronized T decode() {
+		T result = delegate;
+		if (result == null) {
+			try {
+				@SuppressWarnings("unchecked")
+				T decoded = (T) LambdaCodec.decode(data, loader);
+				result = decoded;
+			} catch (IOException | ClassNotFoundException e) {
+				throw new IllegalStateException("Cannot decode the lazily deserialized instance", e);
+			}
+			delegate = result;
+			data = null;
+			loader = null;
+		}
+		return result;
+	}
+
+	private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+		byte[] bytes = delegate == null ? data : LambdaCodec.encode(delegate);
+		out.defaultWriteObject();
+		out.writeObject(bytes);
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		Object bytes = in.readObject();
+		if (!(bytes instanceof byte[])) {
+			throw new InvalidObjectException("Invalid encoded form");
+		}
+		data = (byte[]) bytes;
+		loader = LambdaCodec.defaultClassLoader();
+	}
+}
@@ -0,0 +1,1247 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.util.Objects;
+
+import org.danekja.java.misc.serializable.SerializableCallable;
+import org.danekja.java.misc.serializable.SerializableComparator;
+import org.danekja.java.misc.serializable.SerializableRunnable;
+import org.danekja.java.util.function.serializable.SerializableBiConsumer;
+import org.danekja.java.util.function.serializable.SerializableBiFunction;
+import org.danekja.java.util.function.serializable.SerializableBinaryOperator;
+import org.danekja.java.util.function.serializable.SerializableBiPredicate;
+import org.danekja.java.util.function.serializable.SerializableBooleanSupplier;
+import org.danekja.java.util.function.serializable.SerializableConsumer;
+import org.danekja.java.util.function.serializable.SerializableDoubleBinaryOperator;
+import org.danekja.java.util.function.serializable.SerializableDoubleConsumer;
+import org.danekja.java.util.function.serializable.SerializableDoubleFunction;
+import org.danekja.java.util.function.serializable.SerializableDoublePredicate;
+import org.danekja.java.util.function.serializable.SerializableDoubleSupplier;
+import org.danekja.java.util.function.serializable.SerializableDoubleToIntFunction;
+import org.danekja.java.util.function.serializable.SerializableDoubleToLongFunction;
+import org.danekja.java.util.function.serializable.SerializableDoubleUnaryOperator;
+import org.danekja.java.util.function.serializable.SerializableFunction;
+import org.danekja.java.util.function.serializable.SerializableIntBinaryOperator;
+import org.danekja.java.util.function.serializable.SerializableIntConsumer;
+import org.danekja.java.util.function.serializable.SerializableIntFunction;
+import org.danekja.java.util.function.serializable.SerializableIntPredicate;
+import org.danekja.java.util.function.serializable.SerializableIntSupplier;
+import org.danekja.java.util.function.serializable.SerializableIntToDoubleFunction;
+import org.danekja.java.util.function.serializable.SerializableIntToLongFunction;
+import org.danekja.java.util.function.serializable.SerializableIntUnaryOperator;
+import org.danekja.java.util.function.serializable.SerializableLongBinaryOperator;
+import org.danekja.java.util.function.serializable.SerializableLongConsumer;
+import org.danekja.java.util.function.serializable.SerializableLongFunction;
+import org.danekja.java.util.function.serializable.SerializableLongPredicate;
+import org.danekja.java.util.function.serializable.SerializableLongSupplier;
+import org.danekja.java.util.function.serializable.SerializableLongToDoubleFunction;
+import org.danekja.java.util.function.serializable.SerializableLongToIntFunction;
+import org.danekja.java.util.function.serializable.SerializableLongUnaryOperator;
+import org.danekja.java.util.function.serializable.SerializableObjDoubleConsumer;
+import org.danekja.java.util.function.serializable.SerializableObjIntConsumer;
+import org.danekja.java.util.function.serializable.SerializableObjLongConsumer;
+import org.danekja.java.util.function.serializable.SerializablePredicate;
+import org.danekja.java.util.function.serializable.SerializableSupplier;
+import org.danekja.java.util.function.serializable.SerializableToDoubleBiFunction;
+import org.danekja.java.util.function.serializable.SerializableToDoubleFunction;
+import org.danekja.java.util.function.serializable.SerializableToIntBiFunction;
+import org.danekja.java.util.function.serializable.SerializableToIntFunction;
+import org.danekja.java.util.function.serializable.SerializableToLongBiFunction;
+import org.danekja.java.util.function.serializable.SerializableToLongFunction;
+import org.danekja.java.util.function.serializable.SerializableUnaryOperator;
+
+/**
+ * Factory methods of lazily deserialized proxies of serializable lambdas.
+ *
+ * <p>A proxy delegates to the wrapped instance and is serialized as its {@link LambdaCodec}
+ * form. When the proxy is deserialized, the form is kept as bytes and decoded only on the
+ * first call of the functional method, so lambdas that are deserialized as part of a larger
+ * object graph but never invoked cost no class resolution or lambda linkage. A proxy that is
+ * serialized again before use writes the original bytes unchanged.
+ *
+ * <p>Decoding happens at most once per proxy and is thread-safe. If it fails, the functional
+ * method throws an {@link IllegalStateException} whose cause is the decoding exception.
+ *
+ * <p>The encoded form is separate from the enclosing object graph, so the delegate does not
+ * share identity with the rest of the graph after deserialization: an object captured by the
+ * delegate and also referenced elsewhere in the graph, or by another proxy, is deserialized as
+ * a separate copy. Proxies are therefore meant for lambdas capturing values whose identity
+ * does not matter, such as constants and immutable objects, not for lambdas mutating shared
+ * state.
+ *
+ * <p>Usage example:
+ *
+ * <blockquote><pre>
+ * SerializablePredicate&lt;Order&gt; filter = LazyLambdas.predicate(o -&gt; o.getTotal() &gt; limit);
+ * </pre></blockquote>
+ */
+public final class LazyLambdas {
+
+	private LazyLambdas() {
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableBiConsumer}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableBiConsumer}
+	 * @param <U> type parameter of the {@code SerializableBiConsumer}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T, U> SerializableBiConsumer<T, U> biConsumer(SerializableBiConsumer<T, U> delegate) {
+		return new LazyBiConsumer<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableBiFunction}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableBiFunction}
+	 * @param <U> type parameter of the {@code SerializableBiFunction}
+	 * @param <R> type parameter of the {@code SerializableBiFunction}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T, U, R> SerializableBiFunction<T, U, R> biFunction(SerializableBiFunction<T, U, R> delegate) {
+		return new LazyBiFunction<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableBinaryOperator}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableBinaryOperator}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T> SerializableBinaryOperator<T> binaryOperator(SerializableBinaryOperator<T> delegate) {
+		return new LazyBinaryOperator<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableBiPredicate}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableBiPredicate}
+	 * @param <U> type parameter of the {@code SerializableBiPredicate}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T, U> SerializableBiPredicate<T, U> biPredicate(SerializableBiPredicate<T, U> delegate) {
+		return new LazyBiPredicate<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableBooleanSupplier}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableBooleanSupplier booleanSupplier(SerializableBooleanSupplier delegate) {
+		return new LazyBooleanSupplier(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableConsumer}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableConsumer}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T> SerializableConsumer<T> consumer(SerializableConsumer<T> delegate) {
+		return new LazyConsumer<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableDoubleBinaryOperator}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableDoubleBinaryOperator doubleBinaryOperator(SerializableDoubleBinaryOperator delegate) {
+		return new LazyDoubleBinaryOperator(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableDoubleConsumer}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableDoubleConsumer doubleConsumer(SerializableDoubleConsumer delegate) {
+		return new LazyDoubleConsumer(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableDoubleFunction}.
+	 *
+	 * @param <R> type parameter of the {@code SerializableDoubleFunction}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <R> SerializableDoubleFunction<R> doubleFunction(SerializableDoubleFunction<R> delegate) {
+		return new LazyDoubleFunction<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableDoublePredicate}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableDoublePredicate doublePredicate(SerializableDoublePredicate delegate) {
+		return new LazyDoublePredicate(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableDoubleSupplier}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableDoubleSupplier doubleSupplier(SerializableDoubleSupplier delegate) {
+		return new LazyDoubleSupplier(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableDoubleToIntFunction}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableDoubleToIntFunction doubleToIntFunction(SerializableDoubleToIntFunction delegate) {
+		return new LazyDoubleToIntFunction(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableDoubleToLongFunction}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableDoubleToLongFunction doubleToLongFunction(SerializableDoubleToLongFunction delegate) {
+		return new LazyDoubleToLongFunction(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableDoubleUnaryOperator}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableDoubleUnaryOperator doubleUnaryOperator(SerializableDoubleUnaryOperator delegate) {
+		return new LazyDoubleUnaryOperator(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableFunction}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableFunction}
+	 * @param <R> type parameter of the {@code SerializableFunction}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T, R> SerializableFunction<T, R> function(SerializableFunction<T, R> delegate) {
+		return new LazyFunction<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableIntBinaryOperator}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableIntBinaryOperator intBinaryOperator(SerializableIntBinaryOperator delegate) {
+		return new LazyIntBinaryOperator(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableIntConsumer}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableIntConsumer intConsumer(SerializableIntConsumer delegate) {
+		return new LazyIntConsumer(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableIntFunction}.
+	 *
+	 * @param <R> type parameter of the {@code SerializableIntFunction}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <R> SerializableIntFunction<R> intFunction(SerializableIntFunction<R> delegate) {
+		return new LazyIntFunction<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableIntPredicate}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableIntPredicate intPredicate(SerializableIntPredicate delegate) {
+		return new LazyIntPredicate(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableIntSupplier}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableIntSupplier intSupplier(SerializableIntSupplier delegate) {
+		return new LazyIntSupplier(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableIntToDoubleFunction}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableIntToDoubleFunction intToDoubleFunction(SerializableIntToDoubleFunction delegate) {
+		return new LazyIntToDoubleFunction(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableIntToLongFunction}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableIntToLongFunction intToLongFunction(SerializableIntToLongFunction delegate) {
+		return new LazyIntToLongFunction(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableIntUnaryOperator}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableIntUnaryOperator intUnaryOperator(SerializableIntUnaryOperator delegate) {
+		return new LazyIntUnaryOperator(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableLongBinaryOperator}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableLongBinaryOperator longBinaryOperator(SerializableLongBinaryOperator delegate) {
+		return new LazyLongBinaryOperator(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableLongConsumer}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableLongConsumer longConsumer(SerializableLongConsumer delegate) {
+		return new LazyLongConsumer(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableLongFunction}.
+	 *
+	 * @param <R> type parameter of the {@code SerializableLongFunction}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <R> SerializableLongFunction<R> longFunction(SerializableLongFunction<R> delegate) {
+		return new LazyLongFunction<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableLongPredicate}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableLongPredicate longPredicate(SerializableLongPredicate delegate) {
+		return new LazyLongPredicate(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableLongSupplier}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableLongSupplier longSupplier(SerializableLongSupplier delegate) {
+		return new LazyLongSupplier(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableLongToDoubleFunction}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableLongToDoubleFunction longToDoubleFunction(SerializableLongToDoubleFunction delegate) {
+		return new LazyLongToDoubleFunction(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableLongToIntFunction}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableLongToIntFunction longToIntFunction(SerializableLongToIntFunction delegate) {
+		return new LazyLongToIntFunction(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableLongUnaryOperator}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableLongUnaryOperator longUnaryOperator(SerializableLongUnaryOperator delegate) {
+		return new LazyLongUnaryOperator(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableObjDoubleConsumer}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableObjDoubleConsumer}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T> SerializableObjDoubleConsumer<T> objDoubleConsumer(SerializableObjDoubleConsumer<T> delegate) {
+		return new LazyObjDoubleConsumer<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableObjIntConsumer}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableObjIntConsumer}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T> SerializableObjIntConsumer<T> objIntConsumer(SerializableObjIntConsumer<T> delegate) {
+		return new LazyObjIntConsumer<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableObjLongConsumer}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableObjLongConsumer}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T> SerializableObjLongConsumer<T> objLongConsumer(SerializableObjLongConsumer<T> delegate) {
+		return new LazyObjLongConsumer<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializablePredicate}.
+	 *
+	 * @param <T> type parameter of the {@code SerializablePredicate}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T> SerializablePredicate<T> predicate(SerializablePredicate<T> delegate) {
+		return new LazyPredicate<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableSupplier}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableSupplier}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T> SerializableSupplier<T> supplier(SerializableSupplier<T> delegate) {
+		return new LazySupplier<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableToDoubleBiFunction}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableToDoubleBiFunction}
+	 * @param <U> type parameter of the {@code SerializableToDoubleBiFunction}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T, U> SerializableToDoubleBiFunction<T, U> toDoubleBiFunction(SerializableToDoubleBiFunction<T, U> delegate) {
+		return new LazyToDoubleBiFunction<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableToDoubleFunction}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableToDoubleFunction}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T> SerializableToDoubleFunction<T> toDoubleFunction(SerializableToDoubleFunction<T> delegate) {
+		return new LazyToDoubleFunction<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableToIntBiFunction}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableToIntBiFunction}
+	 * @param <U> type parameter of the {@code SerializableToIntBiFunction}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T, U> SerializableToIntBiFunction<T, U> toIntBiFunction(SerializableToIntBiFunction<T, U> delegate) {
+		return new LazyToIntBiFunction<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableToIntFunction}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableToIntFunction}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T> SerializableToIntFunction<T> toIntFunction(SerializableToIntFunction<T> delegate) {
+		return new LazyToIntFunction<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableToLongBiFunction}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableToLongBiFunction}
+	 * @param <U> type parameter of the {@code SerializableToLongBiFunction}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T, U> SerializableToLongBiFunction<T, U> toLongBiFunction(SerializableToLongBiFunction<T, U> delegate) {
+		return new LazyToLongBiFunction<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableToLongFunction}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableToLongFunction}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T> SerializableToLongFunction<T> toLongFunction(SerializableToLongFunction<T> delegate) {
+		return new LazyToLongFunction<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableUnaryOperator}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableUnaryOperator}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T> SerializableUnaryOperator<T> unaryOperator(SerializableUnaryOperator<T> delegate) {
+		return new LazyUnaryOperator<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableCallable}.
+	 *
+	 * @param <V> type parameter of the {@code SerializableCallable}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <V> SerializableCallable<V> callable(SerializableCallable<V> delegate) {
+		return new LazyCallable<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableComparator}.
+	 *
+	 * @param <T> type parameter of the {@code SerializableComparator}
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static <T> SerializableComparator<T> comparator(SerializableComparator<T> delegate) {
+		return new LazyComparator<>(Objects.requireNonNull(delegate));
+	}
+
+	/**
+	 * Returns a lazily decoded proxy of the given {@link SerializableRunnable}.
+	 *
+	 * @param delegate the instance to wrap
+	 * @return the proxy
+	 * @throws NullPointerException if the argument is null
+	 */
+	public static SerializableRunnable runnable(SerializableRunnable delegate) {
+		return new LazyRunnable(Objects.requireNonNull(delegate));
+	}
+
+
+	private static final class LazyBiConsumer<T, U> extends LazyLambda<SerializableBiConsumer<T, U>> implements SerializableBiConsumer<T, U> {
+		private static final long serialVersionUID = 1L;
+
+		LazyBiConsumer(SerializableBiConsumer<T, U> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public void accept(T t, U u) {
+			delegate().accept(t, u);
+		}
+	}
+
+	private static final class LazyBiFunction<T, U, R> extends LazyLambda<SerializableBiFunction<T, U, R>> implements SerializableBiFunction<T, U, R> {
+		private static final long serialVersionUID = 1L;
+
+		LazyBiFunction(SerializableBiFunction<T, U, R> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public R apply(T t, U u) {
+			return delegate().apply(t, u);
+		}
+	}
+
+	private static final class LazyBinaryOperator<T> extends LazyLambda<SerializableBinaryOperator<T>> implements SerializableBinaryOperator<T> {
+		private static final long serialVersionUID = 1L;
+
+		LazyBinaryOperator(SerializableBinaryOperator<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public T apply(T t, T u) {
+			return delegate().apply(t, u);
+		}
+	}
+
+	private static final class LazyBiPredicate<T, U> extends LazyLambda<SerializableBiPredicate<T, U>> implements SerializableBiPredicate<T, U> {
+		private static final long serialVersionUID = 1L;
+
+		LazyBiPredicate(SerializableBiPredicate<T, U> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public boolean test(T t, U u) {
+			return delegate().test(t, u);
+		}
+	}
+
+	private static final class LazyBooleanSupplier extends LazyLambda<SerializableBooleanSupplier> implements SerializableBooleanSupplier {
+		private static final long serialVersionUID = 1L;
+
+		LazyBooleanSupplier(SerializableBooleanSupplier delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public boolean getAsBoolean() {
+			return delegate().getAsBoolean();
+		}
+	}
+
+	private static final class LazyConsumer<T> extends LazyLambda<SerializableConsumer<T>> implements SerializableConsumer<T> {
+		private static final long serialVersionUID = 1L;
+
+		LazyConsumer(SerializableConsumer<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public void accept(T t) {
+			delegate().accept(t);
+		}
+	}
+
+	private static final class LazyDoubleBinaryOperator extends LazyLambda<SerializableDoubleBinaryOperator> implements SerializableDoubleBinaryOperator {
+		private static final long serialVersionUID = 1L;
+
+		LazyDoubleBinaryOperator(SerializableDoubleBinaryOperator delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public double applyAsDouble(double left, double right) {
+			return delegate().applyAsDouble(left, right);
+		}
+	}
+
+	private static final class LazyDoubleConsumer extends LazyLambda<SerializableDoubleConsumer> implements SerializableDoubleConsumer {
+		private static final long serialVersionUID = 1L;
+
+		LazyDoubleConsumer(SerializableDoubleConsumer delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public void accept(double value) {
+			delegate().accept(value);
+		}
+	}
+
+	private static final class LazyDoubleFunction<R> extends LazyLambda<SerializableDoubleFunction<R>> implements SerializableDoubleFunction<R> {
+		private static final long serialVersionUID = 1L;
+
+		LazyDoubleFunction(SerializableDoubleFunction<R> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public R apply(double value) {
+			return delegate().apply(value);
+		}
+	}
+
+	private static final class LazyDoublePredicate extends LazyLambda<SerializableDoublePredicate> implements SerializableDoublePredicate {
+		private static final long serialVersionUID = 1L;
+
+		LazyDoublePredicate(SerializableDoublePredicate delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public boolean test(double value) {
+			return delegate().test(value);
+		}
+	}
+
+	private static final class LazyDoubleSupplier extends LazyLambda<SerializableDoubleSupplier> implements SerializableDoubleSupplier {
+		private static final long serialVersionUID = 1L;
+
+		LazyDoubleSupplier(SerializableDoubleSupplier delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public double getAsDouble() {
+			return delegate().getAsDouble();
+		}
+	}
+
+	private static final class LazyDoubleToIntFunction extends LazyLambda<SerializableDoubleToIntFunction> implements SerializableDoubleToIntFunction {
+		private static final long serialVersionUID = 1L;
+
+		LazyDoubleToIntFunction(SerializableDoubleToIntFunction delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public int applyAsInt(double value) {
+			return delegate().applyAsInt(value);
+		}
+	}
+
+	private static final class LazyDoubleToLongFunction extends LazyLambda<SerializableDoubleToLongFunction> implements SerializableDoubleToLongFunction {
+		private static final long serialVersionUID = 1L;
+
+		LazyDoubleToLongFunction(SerializableDoubleToLongFunction delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public long applyAsLong(double value) {
+			return delegate().applyAsLong(value);
+		}
+	}
+
+	private static final class LazyDoubleUnaryOperator extends LazyLambda<SerializableDoubleUnaryOperator> implements SerializableDoubleUnaryOperator {
+		private static final long serialVersionUID = 1L;
+
+		LazyDoubleUnaryOperator(SerializableDoubleUnaryOperator delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public double applyAsDouble(double operand) {
+			return delegate().applyAsDouble(operand);
+		}
+	}
+
+	private static final class LazyFunction<T, R> extends LazyLambda<SerializableFunction<T, R>> implements SerializableFunction<T, R> {
+		private static final long serialVersionUID = 1L;
+
+		LazyFunction(SerializableFunction<T, R> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public R apply(T t) {
+			return delegate().apply(t);
+		}
+	}
+
+	private static final class LazyIntBinaryOperator extends LazyLambda<SerializableIntBinaryOperator> implements SerializableIntBinaryOperator {
+		private static final long serialVersionUID = 1L;
+
+		LazyIntBinaryOperator(SerializableIntBinaryOperator delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public int applyAsInt(int left, int right) {
+			return delegate().applyAsInt(left, right);
+		}
+	}
+
+	private static final class LazyIntConsumer extends LazyLambda<SerializableIntConsumer> implements SerializableIntConsumer {
+		private static final long serialVersionUID = 1L;
+
+		LazyIntConsumer(SerializableIntConsumer delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public void accept(int value) {
+			delegate().accept(value);
+		}
+	}
+
+	private static final class LazyIntFunction<R> extends LazyLambda<SerializableIntFunction<R>> implements SerializableIntFunction<R> {
+		private static final long serialVersionUID = 1L;
+
+		LazyIntFunction(SerializableIntFunction<R> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public R apply(int value) {
+			return delegate().apply(value);
+		}
+	}
+
+	private static final class LazyIntPredicate extends LazyLambda<SerializableIntPredicate> implements SerializableIntPredicate {
+		private static final long serialVersionUID = 1L;
+
+		LazyIntPredicate(SerializableIntPredicate delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public boolean test(int value) {
+			return delegate().test(value);
+		}
+	}
+
+	private static final class LazyIntSupplier extends LazyLambda<SerializableIntSupplier> implements SerializableIntSupplier {
+		private static final long serialVersionUID = 1L;
+
+		LazyIntSupplier(SerializableIntSupplier delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public int getAsInt() {
+			return delegate().getAsInt();
+		}
+	}
+
+	private static final class LazyIntToDoubleFunction extends LazyLambda<SerializableIntToDoubleFunction> implements SerializableIntToDoubleFunction {
+		private static final long serialVersionUID = 1L;
+
+		LazyIntToDoubleFunction(SerializableIntToDoubleFunction delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public double applyAsDouble(int value) {
+			return delegate().applyAsDouble(value);
+		}
+	}
+
+	private static final class LazyIntToLongFunction extends LazyLambda<SerializableIntToLongFunction> implements SerializableIntToLongFunction {
+		private static final long serialVersionUID = 1L;
+
+		LazyIntToLongFunction(SerializableIntToLongFunction delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public long applyAsLong(int value) {
+			return delegate().applyAsLong(value);
+		}
+	}
+
+	private static final class LazyIntUnaryOperator extends LazyLambda<SerializableIntUnaryOperator> implements SerializableIntUnaryOperator {
+		private static final long serialVersionUID = 1L;
+
+		LazyIntUnaryOperator(SerializableIntUnaryOperator delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public int applyAsInt(int operand) {
+			return delegate().applyAsInt(operand);
+		}
+	}
+
+	private static final class LazyLongBinaryOperator extends LazyLambda<SerializableLongBinaryOperator> implements SerializableLongBinaryOperator {
+		private static final long serialVersionUID = 1L;
+
+		LazyLongBinaryOperator(SerializableLongBinaryOperator delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public long applyAsLong(long left, long right) {
+			return delegate().applyAsLong(left, right);
+		}
+	}
+
+	private static final class LazyLongConsumer extends LazyLambda<SerializableLongConsumer> implements SerializableLongConsumer {
+		private static final long serialVersionUID = 1L;
+
+		LazyLongConsumer(SerializableLongConsumer delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public void accept(long value) {
+			delegate().accept(value);
+		}
+	}
+
+	private static final class LazyLongFunction<R> extends LazyLambda<SerializableLongFunction<R>> implements SerializableLongFunction<R> {
+		private static final long serialVersionUID = 1L;
+
+		LazyLongFunction(SerializableLongFunction<R> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public R apply(long value) {
+			return delegate().apply(value);
+		}
+	}
+
+	private static final class LazyLongPredicate extends LazyLambda<SerializableLongPredicate> implements SerializableLongPredicate {
+		private static final long serialVersionUID = 1L;
+
+		LazyLongPredicate(SerializableLongPredicate delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public boolean test(long value) {
+			return delegate().test(value);
+		}
+	}
+
+	private static final class LazyLongSupplier extends LazyLambda<SerializableLongSupplier> implements SerializableLongSupplier {
+		private static final long serialVersionUID = 1L;
+
+		LazyLongSupplier(SerializableLongSupplier delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public long getAsLong() {
+			return delegate().getAsLong();
+		}
+	}
+
+	private static final class LazyLongToDoubleFunction extends LazyLambda<SerializableLongToDoubleFunction> implements SerializableLongToDoubleFunction {
+		private static final long serialVersionUID = 1L;
+
+		LazyLongToDoubleFunction(SerializableLongToDoubleFunction delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public double applyAsDouble(long value) {
+			return delegate().applyAsDouble(value);
+		}
+	}
+
+	private static final class LazyLongToIntFunction extends LazyLambda<SerializableLongToIntFunction> implements SerializableLongToIntFunction {
+		private static final long serialVersionUID = 1L;
+
+		LazyLongToIntFunction(SerializableLongToIntFunction delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public int applyAsInt(long value) {
+			return delegate().applyAsInt(value);
+		}
+	}
+
+	private static final class LazyLongUnaryOperator extends LazyLambda<SerializableLongUnaryOperator> implements SerializableLongUnaryOperator {
+		private static final long serialVersionUID = 1L;
+
+		LazyLongUnaryOperator(SerializableLongUnaryOperator delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public long applyAsLong(long operand) {
+			return delegate().applyAsLong(operand);
+		}
+	}
+
+	private static final class LazyObjDoubleConsumer<T> extends LazyLambda<SerializableObjDoubleConsumer<T>> implements SerializableObjDoubleConsumer<T> {
+		private static final long serialVersionUID = 1L;
+
+		LazyObjDoubleConsumer(SerializableObjDoubleConsumer<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public void accept(T t, double value) {
+			delegate().accept(t, value);
+		}
+	}
+
+	private static final class LazyObjIntConsumer<T> extends LazyLambda<SerializableObjIntConsumer<T>> implements SerializableObjIntConsumer<T> {
+		private static final long serialVersionUID = 1L;
+
+		LazyObjIntConsumer(SerializableObjIntConsumer<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public void accept(T t, int value) {
+			delegate().accept(t, value);
+		}
+	}
+
+	private static final class LazyObjLongConsumer<T> extends LazyLambda<SerializableObjLongConsumer<T>> implements SerializableObjLongConsumer<T> {
+		private static final long serialVersionUID = 1L;
+
+		LazyObjLongConsumer(SerializableObjLongConsumer<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public void accept(T t, long value) {
+			delegate().accept(t, value);
+		}
+	}
+
+	private static final class LazyPredicate<T> extends LazyLambda<SerializablePredicate<T>> implements SerializablePredicate<T> {
+		private static final long serialVersionUID = 1L;
+
+		LazyPredicate(SerializablePredicate<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public boolean test(T t) {
+			return delegate().test(t);
+		}
+	}
+
+	private static final class LazySupplier<T> extends LazyLambda<SerializableSupplier<T>> implements SerializableSupplier<T> {
+		private static final long serialVersionUID = 1L;
+
+		LazySupplier(SerializableSupplier<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public T get() {
+			return delegate().get();
+		}
+	}
+
+	private static final class LazyToDoubleBiFunction<T, U> extends LazyLambda<SerializableToDoubleBiFunction<T, U>> implements SerializableToDoubleBiFunction<T, U> {
+		private static final long serialVersionUID = 1L;
+
+		LazyToDoubleBiFunction(SerializableToDoubleBiFunction<T, U> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public double applyAsDouble(T t, U u) {
+			return delegate().applyAsDouble(t, u);
+		}
+	}
+
+	private static final class LazyToDoubleFunction<T> extends LazyLambda<SerializableToDoubleFunction<T>> implements SerializableToDoubleFunction<T> {
+		private static final long serialVersionUID = 1L;
+
+		LazyToDoubleFunction(SerializableToDoubleFunction<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public double applyAsDouble(T value) {
+			return delegate().applyAsDouble(value);
+		}
+	}
+
+	private static final class LazyToIntBiFunction<T, U> extends LazyLambda<SerializableToIntBiFunction<T, U>> implements SerializableToIntBiFunction<T, U> {
+		private static final long serialVersionUID = 1L;
+
+		LazyToIntBiFunction(SerializableToIntBiFunction<T, U> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public int applyAsInt(T t, U u) {
+			return delegate().applyAsInt(t, u);
+		}
+	}
+
+	private static final class LazyToIntFunction<T> extends LazyLambda<SerializableToIntFunction<T>> implements SerializableToIntFunction<T> {
+		private static final long serialVersionUID = 1L;
+
+		LazyToIntFunction(SerializableToIntFunction<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public int applyAsInt(T value) {
+			return delegate().applyAsInt(value);
+		}
+	}
+
+	private static final class LazyToLongBiFunction<T, U> extends LazyLambda<SerializableToLongBiFunction<T, U>> implements SerializableToLongBiFunction<T, U> {
+		private static final long serialVersionUID = 1L;
+
+		LazyToLongBiFunction(SerializableToLongBiFunction<T, U> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public long applyAsLong(T t, U u) {
+			return delegate().applyAsLong(t, u);
+		}
+	}
+
+	private static final class LazyToLongFunction<T> extends LazyLambda<SerializableToLongFunction<T>> implements SerializableToLongFunction<T> {
+		private static final long serialVersionUID = 1L;
+
+		LazyToLongFunction(SerializableToLongFunction<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public long applyAsLong(T value) {
+			return delegate().applyAsLong(value);
+		}
+	}
+
+	private static final class LazyUnaryOperator<T> extends LazyLambda<SerializableUnaryOperator<T>> implements SerializableUnaryOperator<T> {
+		private static final long serialVersionUID = 1L;
+
+		LazyUnaryOperator(SerializableUnaryOperator<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public T apply(T t) {
+			return delegate().apply(t);
+		}
+	}
+
+	private static final class LazyCallable<V> extends LazyLambda<SerializableCallable<V>> implements SerializableCallable<V> {
+		private static final long serialVersionUID = 1L;
+
+		LazyCallable(SerializableCallable<V> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public V call() throws Exception {
+			return delegate().call();
+		}
+	}
+
+	private static final class LazyComparator<T> extends LazyLambda<SerializableComparator<T>> implements SerializableComparator<T> {
+		private static final long serialVersionUID = 1L;
+
+		LazyComparator(SerializableComparator<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public int compare(T o1, T o2) {
+			return delegate().compare(o1, o2);
+		}
+	}
+
+	private static final class LazyRunnable extends LazyLambda<SerializableRunnable> implements SerializableRunnable {
+		private static final long serialVersionUID = 1L;
+
+		LazyRunnable(SerializableRunnable delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public void run() {
+			delegate().run();
+		}
+	}
+}
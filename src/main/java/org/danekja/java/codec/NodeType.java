@@ -0,0 +1,202 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A composed class of this library, such as the flat predicates, pipelines and comparators
+ * returned by the combinators, which {@link LambdaEncoder} writes natively instead of
+ * embedding its JDK serialized form.
+ *
+ * <p>A node is written as the index of its type followed by the values of its fields, in the
+ * order of the parameters of its constructor, so its operands go through the string table,
+ * the shape table and the references like any other value. It is read by calling that
+ * constructor and then its {@code readResolve} method, which validates the fields exactly as
+ * it does in JDK deserialization. The order of {@link #TYPES} is part of the encoding, new
+ * types must be appended.
+ */
+final class NodeType {
+
+	private static final String FUNCTION = "org.danekja.java.util.function.serializable.";
+	private static final String MISC = "org.danekja.java.misc.serializable.";
+
+	private static final NodeType[] TYPES = {
+			new NodeType(0, FUNCTION + "AllOfPredicate", "operands"),
+			new NodeType(1, FUNCTION + "AnyOfPredicate", "operands"),
+			new NodeType(2, FUNCTION + "NotPredicate", "predicate"),
+			new NodeType(3, FUNCTION + "AllOfIntPredicate", "operands"),
+			new NodeType(4, FUNCTION + "AnyOfIntPredicate", "operands"),
+			new NodeType(5, FUNCTION + "NotIntPredicate", "predicate"),
+			new NodeType(6, FUNCTION + "AllOfLongPredicate", "operands"),
+			new NodeType(7, FUNCTION + "AnyOfLongPredicate", "operands"),
+			new NodeType(8, FUNCTION + "NotLongPredicate", "predicate"),
+			new NodeType(9, FUNCTION + "AllOfDoublePredicate", "operands"),
+			new NodeType(10, FUNCTION + "AnyOfDoublePredicate", "operands"),
+			new NodeType(11, FUNCTION + "NotDoublePredicate", "predicate"),
+			new NodeType(12, FUNCTION + "AllOfBiPredicate", "operands"),
+			new NodeType(13, FUNCTION + "AnyOfBiPredicate", "operands"),
+			new NodeType(14, FUNCTION + "NotBiPredicate", "predicate"),
+			new NodeType(15, FUNCTION + "AdaptivePredicate", "operands", "any"),
+			new NodeType(16, FUNCTION + "FunctionPipeline", "stages"),
+			new NodeType(17, FUNCTION + "IntUnaryOperatorPipeline", "stages"),
+			new NodeType(18, FUNCTION + "LongUnaryOperatorPipeline", "stages"),
+			new NodeType(19, FUNCTION + "DoubleUnaryOperatorPipeline", "stages"),
+			new NodeType(20, FUNCTION + "BiFunctionPipeline", "head", "stages"),
+			new NodeType(21, FUNCTION + "FanOutConsumer", "listeners"),
+			new NodeType(22, FUNCTION + "FanOutBiConsumer", "listeners"),
+			new NodeType(23, MISC + "MultiKeyComparator", "kinds", "extractors", "comparators", "flags"),
+			new NodeType(24, MISC + "RunnableSequence", "steps"),
+			new NodeType(25, MISC + "ParallelRunnable", "steps"),
+	};
+
+	private static final Map<Class<?>, NodeType> BY_CLASS = new HashMap<>();
+
+	static {
+		for (NodeType type : TYPES) {
+			BY_CLASS.put(type.type, type);
+		}
+	}
+
+	final int index;
+
+	private final Class<?> type;
+
+	/**
+	 * The fields, in the order of the parameters of {@link #constructor}.
+	 */
+	private final Field[] fields;
+
+	private final Constructor<?> constructor;
+
+	private final Method readResolve;
+
+	private NodeType(int index, String className, String... fieldNames) {
+		this.index = index;
+		try {
+			type = Class.forName(className, false, NodeType.class.getClassLoader());
+			fields = new Field[fieldNames.length];
+			Class<?>[] parameterTypes = new Class<?>[fieldNames.length];
+			for (int i = 0; i < fieldNames.length; i++) {
+				fields[i] = type.getDeclaredField(fieldNames[i]);
+				fields[i].setAccessible(true);
+				parameterTypes[i] = fields[i].getType();
+			}
+			constructor = type.getDeclaredConstructor(parameterTypes);
+			constructor.setAccessible(true);
+			readResolve = type.getDeclaredMethod("readResolve");
+			readResolve.setAccessible(true);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Invalid node type " + className, e);
+		}
+	}
+
+	/**
+	 * Returns the type of the given node class.
+	 *
+	 * @param type the class of a value
+	 * @return the node type, or {@code null} if the class is not a node class
+	 */
+	static NodeType of(Class<?> type) {
+		return BY_CLASS.get(type);
+	}
+
+	/**
+	 * Returns the node type with the given index.
+	 *
+	 * @throws StreamCorruptedException if there is no such type
+	 */
+	static NodeType of(int index) throws StreamCorruptedException {
+		if (index < 0 || index >= TYPES.length) {
+			throw new StreamCorruptedException("invalid node type: " + index);
+		}
+		return TYPES[index];
+	}
+
+	/**
+	 * Returns the types of the fields, in the order they are written.
+	 */
+	Class<?>[] fieldTypes() {
+		return constructor.getParameterTypes();
+	}
+
+	/**
+	 * Returns the values of the fields of the node, in the order they are written.
+	 */
+	Object[] values(Object node) {
+		Object[] values = new Object[fields.length];
+		try {
+			for (int i = 0; i < fields.length; i++) {
+				values[i] = fields[i].get(node);
+			}
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+		return values;
+	}
+
+	/**
+	 * Creates a node from the values of its fields and resolves it.
+	 *
+	 * @throws InvalidObjectException if the values are not valid for the node
+	 */
+	Object create(Object[] values) throws IOException {
+		try {
+			return readResolve.invoke(constructor.newInstance(values));
+		} catch (IllegalArgumentException e) {
+			throw new InvalidObjectException("Invalid fields of " + type.getName());
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return type.getName();
+	}
+}
@@ -0,0 +1,248 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Utility methods for accessing the {@link SerializedLambda} form of serializable lambdas
+ * and method references, such as the ones created from the interfaces of this library.
+ *
+ * <p>The form is obtained from the synthetic {@code writeReplace} method of the lambda class.
+ * If that method is not accessible (i.e. the capturing class lives in a module which is not
+ * open to this library), it is captured from an {@link ObjectOutputStream} instead.
+ */
+public final class SerializedLambdas {
+
+	private static final Accessor NONE = new Accessor();
+
+	private static final ClassValue<Accessor> ACCESSORS = new ClassValue<Accessor>() {
+		@Override
+		protected Accessor computeValue(Class<?> type) {
+			if (!type.isSynthetic() || !Serializable.class.isAssignableFrom(type)) {
+				return NONE;
+			}
+
+			Method writeReplace;
+			try {
+				writeReplace = type.getDeclaredMethod("writeReplace");
+			} catch (NoSuchMethodException e) {
+				return NONE;
+			}
+
+			try {
+				writeReplace.setAccessible(true);
+				return new ReflectiveAccessor(writeReplace);
+			} catch (RuntimeException e) {
+				return new CapturingAccessor();
+			}
+		}
+	};
+
+	private SerializedLambdas() {
+	}
+
+	/**
+	 * Checks whether the given object is a serializable lambda or method reference.
+	 *
+	 * @param obj the object to check, may be {@code null}
+	 * @return {@code true} if the object can be represented as a {@link SerializedLambda}
+	 */
+	public static boolean isLambda(Object obj) {
+		return obj != null && ACCESSORS.get(obj.getClass()) != NONE;
+	}
+
+	/**
+	 * Returns the {@link SerializedLambda} the given serializable lambda or method reference
+	 * is replaced with during serialization.
+	 *
+	 * @param obj the lambda, may be {@code null}
+	 * @return the serialized form of the lambda, or {@code null} if the object is not a
+	 * serializable lambda
+	 */
+	public static SerializedLambda serializedForm(Object obj) {
+		if (obj == null) {
+			return null;
+		}
+		return ACCESSORS.get(obj.getClass()).get(obj);
+	}
+
+	/**
+	 * Compares two objects structurally: two serializable lambdas are equal if they have the
+	 * same {@link SerializedLambda} shape (capturing class, functional interface, implementation
+	 * method and instantiated type) and structurally equal captured arguments. Other objects are
+	 * compared by their {@code equals} method.
+	 *
+	 * @param a an object, may be {@code null}
+	 * @param b an object to be compared with {@code a}, may be {@code null}
+	 * @return {@code true} if the objects are structurally equal
+	 * @see #structuralHashCode(Object)
+	 */
+	public static boolean structuralEquals(Object a, Object b) {
+		if (a == b) {
+			return true;
+		}
+		if (a == null || b == null) {
+			return false;
+		}
+
+		SerializedLambda first = serializedForm(a);
+		if (first == null) {
+			return a.equals(b);
+		}
+		SerializedLambda second = serializedForm(b);
+		if (second == null || !LambdaShape.of(first).equals(LambdaShape.of(second))) {
+			return false;
+		}
+
+		int count = first.getCapturedArgCount();
+		if (count != second.getCapturedArgCount()) {
+			return false;
+		}
+		for (int i = 0; i < count; i++) {
+			if (!structuralEquals(first.getCapturedArg(i), second.getCapturedArg(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a hash code consistent with {@link #structuralEquals(Object, Object)}.
+	 *
+	 * @param obj the object, may be {@code null}
+	 * @return the structural hash code of the object
+	 */
+	public static int structuralHashCode(Object obj) {
+		if (obj == null) {
+			return 0;
+		}
+
+		SerializedLambda lambda = serializedForm(obj);
+		if (lambda == null) {
+			return obj.hashCode();
+		}
+
+		int hash = LambdaShape.of(lambda).hashCode();
+		for (int i = 0, count = lambda.getCapturedArgCount(); i < count; i++) {
+			hash = 31 * hash + structuralHashCode(lambda.getCapturedArg(i));
+		}
+		return hash;
+	}
+
+	private static class Accessor {
+		SerializedLambda get(Object lambda) {
+			return null;
+		}
+	}
+
+	private static final class ReflectiveAccessor extends Accessor {
+		private final Method writeReplace;
+
+		ReflectiveAccessor(Method writeReplace) {
+			this.writeReplace = writeReplace;
+		}
+
+		@Override
+		SerializedLambda get(Object lambda) {
+			try {
+				Object replacement = writeReplace.invoke(lambda);
+				return replacement instanceof SerializedLambda ? (SerializedLambda) replacement : null;
+			} catch (IllegalAccessException | InvocationTargetException e) {
+				return null;
+			}
+		}
+	}
+
+	private static final class CapturingAccessor extends Accessor {
+		@Override
+		SerializedLambda get(Object lambda) {
+			try {
+				new CapturingStream().writeObject(lambda);
+			} catch (Captured captured) {
+				return captured.lambda;
+			} catch (IOException e) {
+				return null;
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Stream which aborts the serialization as soon as it is asked to replace
+	 * a {@link SerializedLambda}.
+	 */
+	private static final class CapturingStream extends ObjectOutputStream {
+		private static final OutputStream DISCARD = new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		};
+
+		CapturingStream() throws IOException {
+			super(DISCARD);
+			enableReplaceObject(true);
+		}
+
+		@Override
+		protected Object replaceObject(Object obj) throws IOException {
+			if (obj instanceof SerializedLambda) {
+				throw new Captured((SerializedLambda) obj);
+			}
+			return obj;
+		}
+	}
+
+	private static final class Captured extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		private final transient SerializedLambda lambda;
+
+		Captured(SerializedLambda lambda) {
+			this.lambda = lambda;
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+/**
+ * Computes the exact size of the serialized form of an object, usually a serializable lambda.
+ *
+ * <p>Both methods are counting serializers: they run the complete serialization of the object
+ * and discard each byte as it is produced, only adding up how many there were. They save the
+ * memory of the output buffer, not the work of serializing, so a size should not be computed
+ * just before serializing the same object anyway.
+ *
+ * <p>Usage example:
+ *
+ * <blockquote><pre>
+ * if (SerializedSize.of(comparator) &gt; budget) {
+ *     ...
+ * }
+ * </pre></blockquote>
+ */
+public final class SerializedSize {
+
+	private SerializedSize() {
+	}
+
+	/**
+	 * Returns the number of bytes {@link ObjectOutputStream} writes for the given object,
+	 * including the stream header.
+	 *
+	 * <p>The object graph is written by a real {@link ObjectOutputStream}, so this costs as
+	 * much as serializing the object, calling all its {@code writeReplace} and
+	 * {@code writeObject} methods. For lambdas, {@link #ofEncoded(Object)} is cheaper, as the
+	 * codec only falls back to JDK serialization for captured arguments which are neither
+	 * lambdas, composed instances of this library, boxed primitives, strings nor enums.
+	 *
+	 * @param obj the object, may be {@code null}
+	 * @return the size of the JDK serialized form
+	 * @throws java.io.NotSerializableException if the object or any object reachable from it
+	 *                                          is not serializable
+	 * @throws IOException if the serialization fails
+	 */
+	public static long of(Object obj) throws IOException {
+		CountingOutputStream out = new CountingOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+			oos.writeObject(obj);
+		}
+		return out.count();
+	}
+
+	/**
+	 * Returns the number of bytes {@link LambdaCodec#encode(Object)} returns for the given object.
+	 *
+	 * <p>The object is encoded by {@link LambdaEncoder} into an output which only counts the
+	 * bytes, so this costs as much as encoding it.
+	 *
+	 * @param obj the object, may be {@code null}
+	 * @return the size of the encoded form
+	 * @throws java.io.NotSerializableException if the object or any object captured by it
+	 *                                          is not serializable
+	 * @throws IOException if the serialization of a captured object fails
+	 */
+	public static long ofEncoded(Object obj) throws IOException {
+		CountingCodecOutput out = new CountingCodecOutput();
+		LambdaCodec.writeHeader(out);
+		new LambdaEncoder().writeValue(out, obj);
+		return out.count();
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * {@link CodecInput} reading from an {@link InputStream} through a buffer.
+ *
+ * <p>The number of bytes left in the stream is unknown, so lengths read from it cannot be checked
+ * up front. Data of a given length is instead read in chunks of growing size, so a corrupted
+ * length fails at the end of the stream instead of allocating memory for bytes that never come.
+ */
+final class StreamCodecInput extends CodecInput {
+
+	private final InputStream in;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	private int position;
+
+	private int limit;
+
+	StreamCodecInput(InputStream in) {
+		this.in = in;
+	}
+
+	@Override
+	int readByte() throws IOException {
+		if (position == limit && !fill()) {
+			throw new EOFException();
+		}
+		return buffer[position++] & 0xFF;
+	}
+
+	@Override
+	void readBytes(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			if (position == limit && !fill()) {
+				throw new EOFException();
+			}
+			int n = Math.min(len, limit - position);
+			System.arraycopy(buffer, position, b, off, n);
+			position += n;
+			off += n;
+			len -= n;
+		}
+	}
+
+	@Override
+	InputStream slice(int length) throws IOException {
+		byte[] bytes = new byte[Math.min(length, BUFFER_SIZE)];
+		int read = 0;
+		while (read < length) {
+			if (read == bytes.length) {
+				bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+			}
+			int n = bytes.length - read;
+			readBytes(bytes, read, n);
+			read += n;
+		}
+		return new ByteArrayInputStream(bytes);
+	}
+
+	/**
+	 * @return {@link Integer#MAX_VALUE}, as the number of bytes left is unknown
+	 */
+	@Override
+	int remaining() {
+		return Integer.MAX_VALUE;
+	}
+
+	void close() throws IOException {
+		in.close();
+	}
+
+	private boolean fill() throws IOException {
+		int n = in.read(buffer, 0, buffer.length);
+		if (n <= 0) {
+			return false;
+		}
+		position = 0;
+		limit = n;
+		return true;
+	}
+}
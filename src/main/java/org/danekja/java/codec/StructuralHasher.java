@@ -0,0 +1,298 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.danekja.java.codec.LambdaCodec.*;
+
+/**
+ * Feeds the structure of an object graph into a {@link HashingCodecOutput}, for
+ * {@link LambdaFingerprint}.
+ *
+ * <p>Unlike {@link LambdaEncoder}, nothing is written as a reference to an earlier
+ * occurrence, so the hash does not depend on which parts of the graph are aliased. Lambdas
+ * are hashed by their shape and captured arguments, composed nodes of the library by their
+ * {@link NodeType} and fields as {@link LambdaEncoder} writes them, arrays element by element
+ * and other objects by their class name and the values of their serializable fields. Objects
+ * of classes which customize their serialization ({@code writeObject}, {@code writeReplace},
+ * {@link Externalizable} or {@code serialPersistentFields}), or whose fields are not
+ * accessible, are hashed by their JDK serialized form instead. An object reached again while
+ * it is being hashed, i.e. a cycle, is hashed as the distance to its earlier occurrence on
+ * the path.
+ */
+final class StructuralHasher {
+
+	private static final int TAG_CYCLE = 0x11;
+	private static final int TAG_ARRAY = 0x12;
+	private static final int TAG_FIELDS = 0x13;
+
+	private static final ClassValue<Optional<Field[]>> FIELDS = new ClassValue<Optional<Field[]>>() {
+		@Override
+		protected Optional<Field[]> computeValue(Class<?> type) {
+			if (!Serializable.class.isAssignableFrom(type) || Externalizable.class.isAssignableFrom(type)) {
+				return Optional.empty();
+			}
+
+			List<Field> fields = new ArrayList<>();
+			try {
+				for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+					if (declaresMethod(c, "writeReplace")) {
+						return Optional.empty();
+					}
+					if (!Serializable.class.isAssignableFrom(c)) {
+						continue;
+					}
+					if (declaresMethod(c, "writeObject", ObjectOutputStream.class)
+							|| declaresField(c, "serialPersistentFields")) {
+						return Optional.empty();
+					}
+
+					Field[] declared = c.getDeclaredFields();
+					Arrays.sort(declared, Comparator.comparing(Field::getName));
+					List<Field> own = new ArrayList<>();
+					for (Field field : declared) {
+						if ((field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) == 0) {
+							field.setAccessible(true);
+							own.add(field);
+						}
+					}
+					// fields of superclasses come first, as in the serialized form
+					fields.addAll(0, own);
+				}
+			} catch (RuntimeException e) {
+				return Optional.empty();
+			}
+			return Optional.of(fields.toArray(new Field[0]));
+		}
+	};
+
+	private final HashingCodecOutput out = new HashingCodecOutput();
+
+	/**
+	 * Objects on the path from the root to the value being hashed, mapped to their depth.
+	 */
+	private final Map<Object, Integer> path = new IdentityHashMap<>();
+
+	/**
+	 * Finishes the hash. The hasher must not be written to afterwards.
+	 *
+	 * @return the two 64-bit halves of the hash
+	 */
+	long[] finish() {
+		return out.finish();
+	}
+
+	void write(Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(TAG_NULL);
+			return;
+		}
+
+		Class<?> type = value.getClass();
+		if (type == String.class) {
+			out.writeByte(TAG_STRING);
+			out.writeChars((String) value);
+		} else if (type == Integer.class) {
+			out.writeByte(TAG_INT);
+			out.writeSignedVarInt((Integer) value);
+		} else if (type == Long.class) {
+			out.writeByte(TAG_LONG);
+			out.writeSignedVarLong((Long) value);
+		} else if (type == Boolean.class) {
+			out.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+		} else if (type == Double.class) {
+			out.writeByte(TAG_DOUBLE);
+			out.writeLong(Double.doubleToRawLongBits((Double) value));
+		} else if (type == Float.class) {
+			out.writeByte(TAG_FLOAT);
+			out.writeInt(Float.floatToRawIntBits((Float) value));
+		} else if (type == Character.class) {
+			out.writeByte(TAG_CHAR);
+			out.writeVarInt((Character) value);
+		} else if (type == Short.class) {
+			out.writeByte(TAG_SHORT);
+			out.writeSignedVarInt((Short) value);
+		} else if (type == Byte.class) {
+			out.writeByte(TAG_BYTE);
+			out.writeByte((Byte) value);
+		} else if (value instanceof Enum) {
+			Enum<?> constant = (Enum<?>) value;
+			out.writeByte(TAG_ENUM);
+			out.writeChars(constant.getDeclaringClass().getName());
+			out.writeChars(constant.name());
+		} else {
+			writeComposite(value);
+		}
+	}
+
+	private void writeComposite(Object value) throws IOException {
+		Integer depth = path.get(value);
+		if (depth != null) {
+			out.writeByte(TAG_CYCLE);
+			out.writeVarInt(path.size() - depth);
+			return;
+		}
+
+		path.put(value, path.size());
+		try {
+			SerializedLambda lambda = SerializedLambdas.serializedForm(value);
+			NodeType node;
+			if (lambda != null) {
+				writeLambda(lambda);
+			} else if ((node = NodeType.of(value.getClass())) != null) {
+				writeNode(node, value);
+			} else if (value.getClass().isArray()) {
+				writeArray(value);
+			} else {
+				writeObject(value);
+			}
+		} finally {
+			path.remove(value);
+		}
+	}
+
+	private void writeLambda(SerializedLambda lambda) throws IOException {
+		LambdaShape shape = LambdaShape.of(lambda);
+		out.writeByte(TAG_LAMBDA);
+		out.writeChars(shape.capturingClass);
+		out.writeChars(shape.functionalInterfaceClass);
+		out.writeChars(shape.functionalInterfaceMethodName);
+		out.writeChars(shape.functionalInterfaceMethodSignature);
+		out.writeVarInt(shape.implMethodKind);
+		out.writeChars(shape.implClass);
+		out.writeChars(shape.implMethodName);
+		out.writeChars(shape.implMethodSignature);
+		out.writeChars(shape.instantiatedMethodType);
+
+		int count = lambda.getCapturedArgCount();
+		out.writeVarInt(count);
+		for (int i = 0; i < count; i++) {
+			write(lambda.getCapturedArg(i));
+		}
+	}
+
+	private void writeNode(NodeType node, Object value) throws IOException {
+		out.writeByte(TAG_NODE);
+		out.writeVarInt(node.index);
+		for (Object field : node.values(value)) {
+			if (field instanceof byte[]) {
+				byte[] bytes = (byte[]) field;
+				out.writeVarInt(bytes.length);
+				out.writeBytes(bytes, 0, bytes.length);
+			} else if (field instanceof Object[]) {
+				Object[] elements = (Object[]) field;
+				out.writeVarInt(elements.length);
+				for (Object element : elements) {
+					write(element);
+				}
+			} else {
+				write(field);
+			}
+		}
+	}
+
+	private void writeArray(Object array) throws IOException {
+		int length = Array.getLength(array);
+		out.writeByte(TAG_ARRAY);
+		out.writeChars(array.getClass().getName());
+		out.writeVarInt(length);
+		for (int i = 0; i < length; i++) {
+			write(Array.get(array, i));
+		}
+	}
+
+	private void writeObject(Object value) throws IOException {
+		if (!(value instanceof Serializable)) {
+			throw new NotSerializableException(value.getClass().getName());
+		}
+
+		Optional<Field[]> fields = FIELDS.get(value.getClass());
+		if (!fields.isPresent()) {
+			writeSerialized(value);
+			return;
+		}
+
+		out.writeByte(TAG_FIELDS);
+		out.writeChars(value.getClass().getName());
+		for (Field field : fields.get()) {
+			try {
+				write(field.get(value));
+			} catch (IllegalAccessException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+
+	private void writeSerialized(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(value);
+		}
+		out.writeByte(TAG_OBJECT);
+		out.writeVarInt(bytes.size());
+		out.writeBytes(bytes.toByteArray(), 0, bytes.size());
+	}
+
+	private static boolean declaresMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+		try {
+			type.getDeclaredMethod(name, parameterTypes);
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static boolean declaresField(Class<?> type, String name) {
+		try {
+			type.getDeclaredField(name);
+			return true;
+		} catch (NoSuchFieldException e) {
+			return false;
+		}
+	}
+}
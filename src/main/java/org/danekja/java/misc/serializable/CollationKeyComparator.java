@@ -0,0 +1,251 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.misc.serializable;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import org.danekja.java.codec.SerializedLambdas;
+import org.danekja.java.util.function.serializable.MemoizingFunction;
+import org.danekja.java.util.function.serializable.SerializableFunction;
+import org.danekja.java.util.function.serializable.SerializableSupplier;
+
+/**
+ * Serializable locale-sensitive comparator of strings, which compares them by a {@link Collator}
+ * built by a {@link SerializableSupplier}. Only the supplier is serialized, and the collator is
+ * built again on first use after deserialization.
+ *
+ * <p>Strings are always compared by the raw bytes of their {@link CollationKey}s rather than by
+ * {@link Collator#compare(String, String)}. For some collators, such as the French ones which
+ * compare accents backwards, the JDK orders a few strings differing only in accents or
+ * ignorable characters differently by their keys than by {@link Collator#compare}, and
+ * comparing by keys everywhere keeps a single comparison, a sort by
+ * {@link java.util.List#sort} and a sort by {@link KeyedSort} in the same order. A single
+ * comparison builds both keys, so it is slower than {@link Collator#compare}. {@link KeyedSort} computes the key of each element only once,
+ * also if the comparator is a key comparator of a composed one, such as
+ * {@code SerializableComparator.comparing(Person::getName, collator)}. For comparisons outside
+ * of {@link KeyedSort}, {@link #withKeyCache(int)} returns a comparator which caches the keys
+ * of the most used strings in a bounded transient {@link MemoizingFunction}.
+ *
+ * <p>The byte arrays of the keys of the collator must compare, unsigned, like the keys themselves,
+ * which is the case for the {@link java.text.RuleBasedCollator} instances returned by
+ * {@link Collator#getInstance(Locale)}. Null strings are not permitted, unless ordered by
+ * {@link SerializableComparator#nullsFirst(SerializableComparator)} or
+ * {@link SerializableComparator#nullsLast(SerializableComparator)}.
+ *
+ * <p>Comparators are equal if their suppliers are structurally equal and they cache the same number
+ * of keys.
+ *
+ * <p>Usage example:
+ *
+ * <blockquote><pre>
+ * SerializableComparator&lt;String&gt; collator = CollationKeyComparator.of(Locale.FRENCH);
+ * KeyedSort.sort(people, SerializableComparator.comparing(Person::getName, collator));
+ * </pre></blockquote>
+ */
+public final class CollationKeyComparator extends StructuralComparator<String> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializableSupplier<? extends Collator> collatorSupplier;
+
+	/**
+	 * Maximum number of cached keys, 0 if keys are not cached.
+	 */
+	private final int cacheSize;
+
+	private transient volatile Collator collator;
+
+	/**
+	 * Raw collation keys by string. Written before {@link #collator}, so that reading a non-null
+	 * collator publishes it.
+	 */
+	private transient SerializableFunction<String, byte[]> keyCache;
+
+	private CollationKeyComparator(SerializableSupplier<? extends Collator> collatorSupplier, int cacheSize) {
+		this.collatorSupplier = collatorSupplier;
+		this.cacheSize = cacheSize;
+	}
+
+	/**
+	 * Returns a comparator using the collator of the given locale.
+	 *
+	 * @param locale the locale
+	 * @return the comparator
+	 * @throws NullPointerException if locale is null
+	 * @see Collator#getInstance(Locale)
+	 */
+	public static CollationKeyComparator of(Locale locale) {
+		Objects.requireNonNull(locale);
+		return new CollationKeyComparator(() -> Collator.getInstance(locale), 0);
+	}
+
+	/**
+	 * Returns a comparator using the collator of the given locale with the given strength.
+	 *
+	 * @param locale the locale
+	 * @param strength the collation strength, such as {@link Collator#PRIMARY}
+	 * @return the comparator
+	 * @throws NullPointerException if locale is null
+	 * @throws IllegalArgumentException if strength is not one of the strength constants of {@link Collator}
+	 * @see Collator#setStrength(int)
+	 */
+	public static CollationKeyComparator of(Locale locale, int strength) {
+		Objects.requireNonNull(locale);
+		if (strength != Collator.PRIMARY && strength != Collator.SECONDARY && strength != Collator.TERTIARY
+				&& strength != Collator.IDENTICAL) {
+			throw new IllegalArgumentException("Invalid strength: " + strength);
+		}
+		return new CollationKeyComparator(() -> {
+			Collator collator = Collator.getInstance(locale);
+			collator.setStrength(strength);
+			return collator;
+		}, 0);
+	}
+
+	/**
+	 * Returns a comparator using the collator built by the supplier. The supplier is called once,
+	 * on first use, and again after deserialization.
+	 *
+	 * @param collatorSupplier the supplier of the collator
+	 * @return the comparator
+	 * @throws NullPointerException if collatorSupplier is null
+	 */
+	public static CollationKeyComparator of(SerializableSupplier<? extends Collator> collatorSupplier) {
+		return new CollationKeyComparator(Objects.requireNonNull(collatorSupplier), 0);
+	}
+
+	/**
+	 * Returns a comparator using the same collator, which caches up to the given number of raw
+	 * collation keys. The cache is not serialized.
+	 *
+	 * @param maximumSize the maximum number of cached keys
+	 * @return the caching comparator
+	 * @throws IllegalArgumentException if maximumSize is not positive
+	 */
+	public CollationKeyComparator withKeyCache(int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+		}
+		return new CollationKeyComparator(collatorSupplier, maximumSize);
+	}
+
+	@Override
+	public int compare(String source, String target) {
+		Collator collator = collator();
+		SerializableFunction<String, byte[]> keys = keyCache;
+		if (keys == null) {
+			return Arrays.compareUnsigned(rawKey(collator, Objects.requireNonNull(source)),
+					rawKey(collator, Objects.requireNonNull(target)));
+		}
+		return Arrays.compareUnsigned(keys.apply(Objects.requireNonNull(source)),
+				keys.apply(Objects.requireNonNull(target)));
+	}
+
+	/**
+	 * Computes the raw collation keys of the strings, or takes them from the cache.
+	 *
+	 * @param strings the strings, may contain nulls
+	 * @param parallel whether to compute the keys of different strings in parallel
+	 * @return the keys, null for null strings, indexed like {@code strings}
+	 * @throws ClassCastException if an element is not a string
+	 */
+	byte[][] collationKeys(Object[] strings, boolean parallel) {
+		Collator collator = collator();
+		SerializableFunction<String, byte[]> keys = keyCache;
+		int length = strings.length;
+		byte[][] result = new byte[length][];
+		if (keys != null) {
+			IntStream indices = parallel ? IntStream.range(0, length).parallel() : IntStream.range(0, length);
+			indices.forEach(j -> result[j] = strings[j] == null ? null : keys.apply((String) strings[j]));
+		} else if (parallel) {
+			// collators synchronize on themselves, so every thread gets its own copy
+			ThreadLocal<Collator> copies = ThreadLocal.withInitial(() -> (Collator) collator.clone());
+			IntStream.range(0, length).parallel().forEach(j -> result[j] = rawKey(copies.get(), (String) strings[j]));
+		} else {
+			for (int j = 0; j < length; j++) {
+				result[j] = rawKey(collator, (String) strings[j]);
+			}
+		}
+		return result;
+	}
+
+	private static byte[] rawKey(Collator collator, String string) {
+		return string == null ? null : collator.getCollationKey(string).toByteArray();
+	}
+
+	private Collator collator() {
+		Collator current = collator;
+		return current != null ? current : initialize();
+	}
+
+	private synchronized Collator initialize() {
+		if (collator == null) {
+			Collator created = Objects.requireNonNull(collatorSupplier.get(), "supplier returned null");
+			if (cacheSize > 0) {
+				keyCache = SerializableFunction.memoize(string -> rawKey(created, string), cacheSize);
+			}
+			collator = created;
+		}
+		return collator;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof CollationKeyComparator)) {
+			return false;
+		}
+		CollationKeyComparator other = (CollationKeyComparator) obj;
+		return cacheSize == other.cacheSize && SerializedLambdas.structuralEquals(collatorSupplier, other.collatorSupplier);
+	}
+
+	@Override
+	int computeHashCode() {
+		return SerializedLambdas.structuralHashCode(collatorSupplier) * 31 + cacheSize;
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		if (collatorSupplier == null || cacheSize < 0) {
+			throw new InvalidObjectException("Invalid collator configuration");
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.misc.serializable;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Callable which caches the result of another callable for a time to live. Instances are created
+ * by {@link SerializableCallable#memoize(SerializableCallable, java.time.Duration, java.time.Duration)}.
+ *
+ * <p>Calls are single-flight: while the result is computed, concurrent callers wait for that
+ * computation instead of starting their own, and all of them get its result or its exception.
+ * Exceptions are not cached, the next call after a failure computes the result again.
+ *
+ * <p>The time to live starts when the computation finishes. With a refresh-ahead period, the
+ * first call within that period before the expiry starts a computation in the common
+ * {@link ForkJoinPool} and returns the cached result, as do all calls until the new one replaces
+ * it. Callers then only wait if the cached result expires before the refresh finishes, e.g. as
+ * the callable has not been called for a while or the refresh failed.
+ *
+ * <p>Only the callable and the times are serialized; a deserialized instance starts without a
+ * cached result.
+ *
+ * @param <V> the result type of the callable
+ */
+final class ExpiringCallable<V> implements SerializableCallable<V> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializableCallable<? extends V> callable;
+
+	private final long timeToLiveNanos;
+
+	private final long refreshAheadNanos;
+
+	private transient volatile Entry<V> entry;
+
+	/**
+	 * The computation in progress, if any. Written under the monitor of this object.
+	 */
+	private transient volatile CompletableFuture<Entry<V>> flight;
+
+	ExpiringCallable(SerializableCallable<? extends V> callable, long timeToLiveNanos, long refreshAheadNanos) {
+		this.callable = callable;
+		this.timeToLiveNanos = timeToLiveNanos;
+		this.refreshAheadNanos = refreshAheadNanos;
+	}
+
+	@Override
+	public V call() throws Exception {
+		Entry<V> current = entry;
+		if (current != null) {
+			long now = System.nanoTime();
+			if (now - current.expiresAt < 0) {
+				if (now - current.refreshAt >= 0 && flight == null) {
+					refresh(current);
+				}
+				return current.value;
+			}
+		}
+		return load();
+	}
+
+	/**
+	 * Returns the cached result if it has not expired, or joins or starts a computation otherwise.
+	 */
+	private V load() throws Exception {
+		CompletableFuture<Entry<V>> future;
+		boolean leader = false;
+		synchronized (this) {
+			Entry<V> current = entry;
+			if (current != null && System.nanoTime() - current.expiresAt < 0) {
+				return current.value;
+			}
+			future = flight;
+			if (future == null) {
+				future = new CompletableFuture<>();
+				flight = future;
+				leader = true;
+			}
+		}
+		if (leader) {
+			compute(future);
+		}
+		return await(future).value;
+	}
+
+	/**
+	 * Starts computing a new result in the background, unless already started or replaced.
+	 */
+	private void refresh(Entry<V> current) {
+		CompletableFuture<Entry<V>> future;
+		synchronized (this) {
+			if (flight != null || entry != current) {
+				return;
+			}
+			future = new CompletableFuture<>();
+			flight = future;
+		}
+		ForkJoinPool.commonPool().execute(() -> compute(future));
+	}
+
+	private void compute(CompletableFuture<Entry<V>> future) {
+		Entry<V> result;
+		try {
+			V value = callable.call();
+			long now = System.nanoTime();
+			result = new Entry<>(value, now + timeToLiveNanos - refreshAheadNanos, now + timeToLiveNanos);
+		} catch (Throwable e) {
+			synchronized (this) {
+				flight = null;
+			}
+			future.completeExceptionally(e);
+			return;
+		}
+		synchronized (this) {
+			entry = result;
+			flight = null;
+		}
+		future.complete(result);
+	}
+
+	private static <V> Entry<V> await(CompletableFuture<Entry<V>> future) throws Exception {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception) {
+				throw (Exception) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		if (callable == null || timeToLiveNanos <= 0 || refreshAheadNanos < 0 || refreshAheadNanos >= timeToLiveNanos) {
+			throw new InvalidObjectException("Invalid expiring callable");
+		}
+	}
+
+	private static final class Entry<V> {
+
+		final V value;
+
+		/**
+		 * {@link System#nanoTime()} after which a call starts a refresh.
+		 */
+		final long refreshAt;
+
+		/**
+		 * {@link System#nanoTime()} after which the value is not returned anymore.
+		 */
+		final long expiresAt;
+
+		Entry(V value, long refreshAt, long expiresAt) {
+			this.value = value;
+			this.refreshAt = refreshAt;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,323 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.misc.serializable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorting by comparators built from the key-based factories of {@link SerializableComparator},
+ * which extracts every sort key once per element instead of twice per comparison.
+ *
+ * <p>A comparator such as {@code comparing(Person::getLastName).thenComparingInt(Person::getAge)}
+ * calls its key extractors on both compared objects, i.e. about {@code 2 n log n} times per key
+ * for a sort of {@code n} elements. The methods of this class recognize comparators built by the
+ * {@code comparing}, {@code comparingInt}, {@code comparingLong}, {@code comparingDouble},
+ * {@code thenComparing} and {@code reversed} methods of {@link SerializableComparator}, extract
+ * the keys of all elements into arrays first, primitive ones for primitive keys, and then sort
+ * the element indices by the arrays. Other comparators are passed to {@link List#sort} or {@link Arrays#sort}.
+ *
+ * <p>Keys compared by a {@link CollationKeyComparator}, or elements sorted by one, are converted to
+ * their collation keys once and compared as raw byte arrays.
+ *
+ * <p>If all keys are {@code int}, {@code long} or {@code double} keys, the indices are sorted by
+ * a least significant digit radix sort in linear time, without any comparisons.
+ *
+ * <p>The sort is stable and orders the elements exactly like the comparator, but each extractor
+ * is called for every element, even where the comparator would not have needed a later key.
+ * The parallel variants also extract the keys in parallel, so the extractors must be safe to
+ * call from multiple threads.
+ *
+ * <p>Usage example:
+ *
+ * <blockquote><pre>
+ * KeyedSort.sort(people, SerializableComparator.comparing(Person::getLastName).thenComparingInt(Person::getAge));
+ * </pre></blockquote>
+ */
+public final class KeyedSort {
+
+	/**
+	 * Size below which index ranges are sorted by insertion.
+	 */
+	private static final int INSERTION_SORT_THRESHOLD = 7;
+
+	/**
+	 * Size below which primitive keys are not radix sorted.
+	 */
+	private static final int RADIX_SORT_THRESHOLD = 256;
+
+	/**
+	 * Number of buckets of a radix sort pass, which sorts by one byte.
+	 */
+	private static final int RADIX = 256;
+
+	/**
+	 * Size below which index ranges are not split for parallel sorting.
+	 */
+	private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	private KeyedSort() {
+	}
+
+	/**
+	 * Sorts the list by the comparator, extracting the keys once per element.
+	 *
+	 * @param <T> the type of the list elements
+	 * @param list the list to sort
+	 * @param comparator the comparator determining the order
+	 * @throws NullPointerException if either argument is null
+	 * @throws UnsupportedOperationException if the list iterator does not support {@code set}
+	 */
+	public static <T> void sort(List<T> list, SerializableComparator<? super T> comparator) {
+		sort(list, comparator, false);
+	}
+
+	/**
+	 * Sorts the list by the comparator like {@link #sort(List, SerializableComparator)}, using
+	 * the common fork/join pool for large lists.
+	 *
+	 * @param <T> the type of the list elements
+	 * @param list the list to sort
+	 * @param comparator the comparator determining the order
+	 * @throws NullPointerException if either argument is null
+	 * @throws UnsupportedOperationException if the list iterator does not support {@code set}
+	 */
+	public static <T> void parallelSort(List<T> list, SerializableComparator<? super T> comparator) {
+		sort(list, comparator, true);
+	}
+
+	/**
+	 * Sorts the array by the comparator, extracting the keys once per element.
+	 *
+	 * @param <T> the type of the array elements
+	 * @param array the array to sort
+	 * @param comparator the comparator determining the order
+	 * @throws NullPointerException if either argument is null
+	 */
+	public static <T> void sort(T[] array, SerializableComparator<? super T> comparator) {
+		sort(array, comparator, false);
+	}
+
+	/**
+	 * Sorts the array by the comparator like {@link #sort(Object[], SerializableComparator)},
+	 * using the common fork/join pool for large arrays.
+	 *
+	 * @param <T> the type of the array elements
+	 * @param array the array to sort
+	 * @param comparator the comparator determining the order
+	 * @throws NullPointerException if either argument is null
+	 */
+	public static <T> void parallelSort(T[] array, SerializableComparator<? super T> comparator) {
+		sort(array, comparator, true);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void sort(List<T> list, SerializableComparator<? super T> comparator, boolean parallel) {
+		MultiKeyComparator<?> keys = keys(comparator);
+		if (keys == null) {
+			list.sort(comparator);
+			return;
+		}
+		Object[] elements = list.toArray();
+		sort(elements, keys, parallel);
+		ListIterator<T> iterator = list.listIterator();
+		for (Object element : elements) {
+			iterator.next();
+			iterator.set((T) element);
+		}
+	}
+
+	private static <T> void sort(T[] array, SerializableComparator<? super T> comparator, boolean parallel) {
+		MultiKeyComparator<?> keys = keys(comparator);
+		if (keys == null) {
+			if (parallel) {
+				Arrays.parallelSort(array, comparator);
+			} else {
+				Arrays.sort(array, comparator);
+			}
+			return;
+		}
+		sort((Object[]) array, keys, parallel);
+	}
+
+	/**
+	 * Returns the keys of the comparator, or null if it is not sorted by keys.
+	 */
+	private static MultiKeyComparator<?> keys(SerializableComparator<?> comparator) {
+		Objects.requireNonNull(comparator);
+		if (comparator instanceof MultiKeyComparator || comparator instanceof CollationKeyComparator) {
+			return MultiKeyComparator.keys(comparator);
+		}
+		return null;
+	}
+
+	private static void sort(Object[] elements, MultiKeyComparator<?> comparator, boolean parallel) {
+		int length = elements.length;
+		if (length < 2) {
+			return;
+		}
+		boolean split = parallel && length > PARALLEL_THRESHOLD;
+		Object[] columns = comparator.extractKeys(elements, split);
+		int[] order = new int[length];
+		for (int i = 0; i < length; i++) {
+			order[i] = i;
+		}
+		if (length >= RADIX_SORT_THRESHOLD && comparator.hasPrimitiveKeys()) {
+			order = radixSort(order, comparator, columns);
+		} else if (split) {
+			new SortTask(order.clone(), order, 0, length, comparator, columns).invoke();
+		} else {
+			mergeSort(order.clone(), order, 0, length, comparator, columns);
+		}
+		Object[] sorted = elements.clone();
+		for (int i = 0; i < length; i++) {
+			elements[i] = sorted[order[i]];
+		}
+	}
+
+	/**
+	 * Stable LSD radix sort of the indices by the primitive keys, one byte per pass from the
+	 * least significant byte of the last key to the most significant byte of the first key.
+	 * Passes in which all keys have the same byte are skipped.
+	 *
+	 * @return the sorted indices, either {@code order} or a new array
+	 */
+	private static int[] radixSort(int[] order, MultiKeyComparator<?> comparator, Object[] columns) {
+		long[][] keys = comparator.radixKeys(columns);
+		int length = order.length;
+		int[] buffer = new int[length];
+		int[] counts = new int[RADIX];
+		for (int key = keys.length - 1; key >= 0; key--) {
+			long[] values = keys[key];
+			for (int shift = 0; shift < comparator.radixBytes(key) * Byte.SIZE; shift += Byte.SIZE) {
+				Arrays.fill(counts, 0);
+				for (long value : values) {
+					counts[(int) (value >>> shift) & 0xFF]++;
+				}
+				if (counts[(int) (values[0] >>> shift) & 0xFF] == length) {
+					continue;
+				}
+				for (int i = 0, sum = 0; i < RADIX; i++) {
+					int count = counts[i];
+					counts[i] = sum;
+					sum += count;
+				}
+				for (int index : order) {
+					buffer[counts[(int) (values[index] >>> shift) & 0xFF]++] = index;
+				}
+				int[] sorted = buffer;
+				buffer = order;
+				order = sorted;
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * Stable merge sort of the indices in {@code dest[low, high)}, which must start out equal to
+	 * {@code src[low, high)}. {@code src} is used as a buffer.
+	 */
+	private static void mergeSort(int[] src, int[] dest, int low, int high, MultiKeyComparator<?> comparator,
+			Object[] columns) {
+		if (high - low < INSERTION_SORT_THRESHOLD) {
+			for (int i = low + 1; i < high; i++) {
+				for (int j = i; j > low && comparator.compareIndices(columns, dest[j - 1], dest[j]) > 0; j--) {
+					int index = dest[j];
+					dest[j] = dest[j - 1];
+					dest[j - 1] = index;
+				}
+			}
+			return;
+		}
+		int mid = (low + high) >>> 1;
+		mergeSort(dest, src, low, mid, comparator, columns);
+		mergeSort(dest, src, mid, high, comparator, columns);
+		merge(src, dest, low, mid, high, comparator, columns);
+	}
+
+	/**
+	 * Merges the sorted runs {@code src[low, mid)} and {@code src[mid, high)} into {@code dest}.
+	 */
+	private static void merge(int[] src, int[] dest, int low, int mid, int high, MultiKeyComparator<?> comparator,
+			Object[] columns) {
+		if (comparator.compareIndices(columns, src[mid - 1], src[mid]) <= 0) {
+			System.arraycopy(src, low, dest, low, high - low);
+			return;
+		}
+		for (int i = low, p = low, q = mid; i < high; i++) {
+			if (q >= high || p < mid && comparator.compareIndices(columns, src[p], src[q]) <= 0) {
+				dest[i] = src[p++];
+			} else {
+				dest[i] = src[q++];
+			}
+		}
+	}
+
+	/**
+	 * Parallel variant of {@link KeyedSort#mergeSort}, sorting the halves of large ranges in
+	 * separate tasks.
+	 */
+	private static final class SortTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] src;
+		private final int[] dest;
+		private final int low;
+		private final int high;
+		private final MultiKeyComparator<?> comparator;
+		private final Object[] columns;
+
+		SortTask(int[] src, int[] dest, int low, int high, MultiKeyComparator<?> comparator, Object[] columns) {
+			this.src = src;
+			this.dest = dest;
+			this.low = low;
+			this.high = high;
+			this.comparator = comparator;
+			this.columns = columns;
+		}
+
+		@Override
+		protected void compute() {
+			if (high - low <= PARALLEL_THRESHOLD) {
+				mergeSort(src, dest, low, high, comparator, columns);
+				return;
+			}
+			int mid = (low + high) >>> 1;
+			invokeAll(new SortTask(dest, src, low, mid, comparator, columns),
+					new SortTask(dest, src, mid, high, comparator, columns));
+			merge(src, dest, low, mid, high, comparator, columns);
+		}
+	}
+}
@@ -0,0 +1,477 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.misc.serializable;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.danekja.java.codec.SerializedLambdas;
+import org.danekja.java.util.function.serializable.SerializableFunction;
+import org.danekja.java.util.function.serializable.SerializableToDoubleFunction;
+import org.danekja.java.util.function.serializable.SerializableToIntFunction;
+import org.danekja.java.util.function.serializable.SerializableToLongFunction;
+
+/**
+ * Flat lexicographic comparator of any number of sort keys, compared in order in a loop.
+ *
+ * <p>Each key has a kind, an extractor, a comparator and flags. An {@link #OBJECT} key applies
+ * its {@link SerializableFunction} extractor, or takes the compared objects themselves if there
+ * is none, and compares the results with its comparator, or by their natural order if there is
+ * none. The {@link #INT}, {@link #LONG} and {@link #DOUBLE} keys apply the primitive extractor
+ * and compare the values without boxing. A {@link #DESCENDING} key swaps the compared objects;
+ * {@link #NULLS_FIRST} and {@link #NULLS_LAST} order null object keys before or after the
+ * others.
+ *
+ * <p>Combining the comparator through {@link SerializableComparator#thenComparing} copies its
+ * keys into a new comparator instead of nesting, and {@link SerializableComparator#reversed()}
+ * flips the direction of every key. Comparators are equal if their keys are structurally equal.
+ *
+ * @param <T> the type of objects that may be compared by this comparator
+ */
+final class MultiKeyComparator<T> extends StructuralComparator<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	static final byte OBJECT = 0;
+	static final byte INT = 1;
+	static final byte LONG = 2;
+	static final byte DOUBLE = 3;
+
+	static final byte DESCENDING = 0x01;
+	static final byte NULLS_FIRST = 0x02;
+	static final byte NULLS_LAST = 0x04;
+
+	private final byte[] kinds;
+
+	/**
+	 * Extractors of the type given by the kind, null for an object key compared as is.
+	 */
+	private final Object[] extractors;
+
+	/**
+	 * Comparators of the object keys, null for natural order.
+	 */
+	private final SerializableComparator<?>[] comparators;
+
+	private final byte[] flags;
+
+	private MultiKeyComparator(byte[] kinds, Object[] extractors, SerializableComparator<?>[] comparators, byte[] flags) {
+		this.kinds = kinds;
+		this.extractors = extractors;
+		this.comparators = comparators;
+		this.flags = flags;
+	}
+
+	/**
+	 * Returns a comparator of one key. The comparator of an object key extracted by a function
+	 * is absorbed if it compares objects as is with a single key itself.
+	 */
+	static <T> SerializableComparator<T> key(byte kind, Object extractor, SerializableComparator<?> comparator) {
+		if (kind == OBJECT && (comparator instanceof MultiKeyComparator || comparator instanceof NaturalOrder)) {
+			MultiKeyComparator<?> keyComparator = keys(comparator);
+			if (keyComparator.kinds.length == 1 && keyComparator.kinds[0] == OBJECT && keyComparator.extractors[0] == null) {
+				return create(new byte[] { OBJECT }, new Object[] { extractor },
+						new SerializableComparator<?>[] { keyComparator.comparators[0] }, keyComparator.flags.clone());
+			}
+		}
+		return create(new byte[] { kind }, new Object[] { extractor }, new SerializableComparator<?>[] { comparator },
+				new byte[1]);
+	}
+
+	/**
+	 * Returns a comparator which compares by {@code first} and then by {@code second}, with the
+	 * keys of either one spliced in if it is an instance of this class.
+	 */
+	static <T> SerializableComparator<T> of(SerializableComparator<?> first, SerializableComparator<?> second) {
+		MultiKeyComparator<?> head = keys(first);
+		MultiKeyComparator<?> tail = keys(second);
+		return create(concat(head.kinds, tail.kinds), concat(head.extractors, tail.extractors),
+				concat(head.comparators, tail.comparators), concat(head.flags, tail.flags));
+	}
+
+	/**
+	 * Returns the reverse of the comparator, flipping the direction of each of its keys.
+	 */
+	static <T> SerializableComparator<T> reversed(SerializableComparator<?> comparator) {
+		MultiKeyComparator<?> keys = keys(comparator);
+		byte[] flags = keys.flags.clone();
+		for (int i = 0; i < flags.length; i++) {
+			flags[i] ^= DESCENDING;
+		}
+		return create(keys.kinds, keys.extractors, keys.comparators, flags);
+	}
+
+	/**
+	 * Returns a comparator which orders nulls before or after the objects compared by
+	 * {@code comparator}.
+	 */
+	static <T> SerializableComparator<T> nulls(SerializableComparator<?> comparator, boolean first) {
+		if (comparator instanceof NaturalOrder) {
+			// a descending key swaps the compared objects, and so the side nulls are ordered to
+			boolean descending = comparator == NaturalOrder.REVERSE;
+			byte flags = (byte) ((descending ? DESCENDING : 0) | (first != descending ? NULLS_FIRST : NULLS_LAST));
+			return create(new byte[] { OBJECT }, new Object[1], new SerializableComparator<?>[1], new byte[] { flags });
+		}
+		return create(new byte[] { OBJECT }, new Object[1], new SerializableComparator<?>[] { comparator },
+				new byte[] { first ? NULLS_FIRST : NULLS_LAST });
+	}
+
+	/**
+	 * Returns the comparator if it is an instance of this class, or a comparator with the single
+	 * object key compared by it otherwise. The key of a {@link NaturalOrder} comparator is
+	 * compared by natural order.
+	 */
+	static MultiKeyComparator<?> keys(SerializableComparator<?> comparator) {
+		if (comparator instanceof MultiKeyComparator) {
+			return (MultiKeyComparator<?>) comparator;
+		}
+		if (comparator instanceof NaturalOrder) {
+			return new MultiKeyComparator<>(new byte[] { OBJECT }, new Object[1], new SerializableComparator<?>[1],
+					new byte[] { comparator == NaturalOrder.REVERSE ? DESCENDING : 0 });
+		}
+		return new MultiKeyComparator<>(new byte[] { OBJECT }, new Object[1],
+				new SerializableComparator<?>[] { comparator }, new byte[1]);
+	}
+
+	/**
+	 * Creates the comparator, or returns the single comparator it would only delegate to, which
+	 * is a {@link NaturalOrder} constant for a natural order key.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> SerializableComparator<T> create(byte[] kinds, Object[] extractors,
+			SerializableComparator<?>[] comparators, byte[] flags) {
+		if (kinds.length == 1 && kinds[0] == OBJECT && extractors[0] == null) {
+			SerializableComparator<?> comparator = comparators[0];
+			if (flags[0] == 0) {
+				return (SerializableComparator<T>) (comparator != null ? comparator : NaturalOrder.NATURAL);
+			}
+			if (flags[0] == DESCENDING && comparator == null) {
+				return (SerializableComparator<T>) (SerializableComparator<?>) NaturalOrder.REVERSE;
+			}
+		}
+		return new MultiKeyComparator<>(kinds, extractors, comparators, flags);
+	}
+
+	private static byte[] concat(byte[] first, byte[] second) {
+		byte[] result = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, result, first.length, second.length);
+		return result;
+	}
+
+	private static <E> E[] concat(E[] first, E[] second) {
+		E[] result = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, result, first.length, second.length);
+		return result;
+	}
+
+	@Override
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public int compare(T o1, T o2) {
+		for (int i = 0; i < kinds.length; i++) {
+			boolean descending = (flags[i] & DESCENDING) != 0;
+			Object a = descending ? o2 : o1;
+			Object b = descending ? o1 : o2;
+			int res;
+			switch (kinds[i]) {
+			case INT:
+				SerializableToIntFunction intKey = (SerializableToIntFunction) extractors[i];
+				res = Integer.compare(intKey.applyAsInt(a), intKey.applyAsInt(b));
+				break;
+			case LONG:
+				SerializableToLongFunction longKey = (SerializableToLongFunction) extractors[i];
+				res = Long.compare(longKey.applyAsLong(a), longKey.applyAsLong(b));
+				break;
+			case DOUBLE:
+				SerializableToDoubleFunction doubleKey = (SerializableToDoubleFunction) extractors[i];
+				res = Double.compare(doubleKey.applyAsDouble(a), doubleKey.applyAsDouble(b));
+				break;
+			default:
+				res = compareObjects(i, a, b);
+			}
+			if (res != 0) {
+				return res;
+			}
+		}
+		return 0;
+	}
+
+	private int compareObjects(int i, Object a, Object b) {
+		@SuppressWarnings("unchecked")
+		SerializableFunction<Object, ?> extractor = (SerializableFunction<Object, ?>) extractors[i];
+		return extractor == null ? compareKeys(i, a, b) : compareKeys(i, extractor.apply(a), extractor.apply(b));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private int compareKeys(int i, Object keyA, Object keyB) {
+		if ((flags[i] & (NULLS_FIRST | NULLS_LAST)) != 0 && (keyA == null || keyB == null)) {
+			return compareNulls(i, keyA, keyB);
+		}
+		SerializableComparator comparator = comparators[i];
+		return comparator == null ? ((Comparable) keyA).compareTo(keyB) : comparator.compare(keyA, keyB);
+	}
+
+	/**
+	 * Compares the raw collation keys of a key compared by a {@link CollationKeyComparator}.
+	 */
+	private int compareCollationKeys(int i, byte[] keyA, byte[] keyB) {
+		if (keyA == null || keyB == null) {
+			if ((flags[i] & (NULLS_FIRST | NULLS_LAST)) == 0) {
+				throw new NullPointerException();
+			}
+			return compareNulls(i, keyA, keyB);
+		}
+		return Arrays.compareUnsigned(keyA, keyB);
+	}
+
+	private int compareNulls(int i, Object keyA, Object keyB) {
+		if (keyA == keyB) {
+			return 0;
+		}
+		boolean nullsFirst = (flags[i] & NULLS_FIRST) != 0;
+		return (keyA == null) == nullsFirst ? -1 : 1;
+	}
+
+	/**
+	 * Extracts the keys of the elements, calling each extractor once per element.
+	 *
+	 * @param elements the elements
+	 * @param parallel whether to extract the keys of different elements in parallel
+	 * @return one column per key: an {@code int[]}, {@code long[]}, {@code double[]} or
+	 *         {@code Object[]} indexed like {@code elements}, or the raw collation keys of a
+	 *         key compared by a {@link CollationKeyComparator}
+	 */
+	Object[] extractKeys(Object[] elements, boolean parallel) {
+		Object[] columns = new Object[kinds.length];
+		for (int i = 0; i < kinds.length; i++) {
+			columns[i] = extractColumn(i, elements, parallel);
+		}
+		return columns;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object extractColumn(int i, Object[] elements, boolean parallel) {
+		int length = elements.length;
+		IntStream indices = parallel ? IntStream.range(0, length).parallel() : IntStream.range(0, length);
+		switch (kinds[i]) {
+		case INT:
+			SerializableToIntFunction<Object> intKey = (SerializableToIntFunction<Object>) extractors[i];
+			int[] ints = new int[length];
+			indices.forEach(j -> ints[j] = intKey.applyAsInt(elements[j]));
+			return ints;
+		case LONG:
+			SerializableToLongFunction<Object> longKey = (SerializableToLongFunction<Object>) extractors[i];
+			long[] longs = new long[length];
+			indices.forEach(j -> longs[j] = longKey.applyAsLong(elements[j]));
+			return longs;
+		case DOUBLE:
+			SerializableToDoubleFunction<Object> doubleKey = (SerializableToDoubleFunction<Object>) extractors[i];
+			double[] doubles = new double[length];
+			indices.forEach(j -> doubles[j] = doubleKey.applyAsDouble(elements[j]));
+			return doubles;
+		default:
+			SerializableFunction<Object, ?> extractor = (SerializableFunction<Object, ?>) extractors[i];
+			Object[] keys = elements;
+			if (extractor != null) {
+				keys = new Object[length];
+				Object[] extracted = keys;
+				indices.forEach(j -> extracted[j] = extractor.apply(elements[j]));
+			}
+			if (comparators[i] instanceof CollationKeyComparator) {
+				return ((CollationKeyComparator) comparators[i]).collationKeys(keys, parallel);
+			}
+			return keys;
+		}
+	}
+
+	/**
+	 * Compares two elements by their keys extracted by {@link #extractKeys(Object[], boolean)},
+	 * consistently with {@link #compare(Object, Object)}.
+	 *
+	 * @param columns the extracted keys
+	 * @param a index of the first element
+	 * @param b index of the second element
+	 * @return a negative integer, zero, or a positive integer as the first element is less
+	 *         than, equal to, or greater than the second
+	 */
+	int compareIndices(Object[] columns, int a, int b) {
+		for (int i = 0; i < kinds.length; i++) {
+			boolean descending = (flags[i] & DESCENDING) != 0;
+			int x = descending ? b : a;
+			int y = descending ? a : b;
+			Object column = columns[i];
+			int res;
+			switch (kinds[i]) {
+			case INT:
+				res = Integer.compare(((int[]) column)[x], ((int[]) column)[y]);
+				break;
+			case LONG:
+				res = Long.compare(((long[]) column)[x], ((long[]) column)[y]);
+				break;
+			case DOUBLE:
+				res = Double.compare(((double[]) column)[x], ((double[]) column)[y]);
+				break;
+			default:
+				Object[] keys = (Object[]) column;
+				res = comparators[i] instanceof CollationKeyComparator
+						? compareCollationKeys(i, (byte[]) keys[x], (byte[]) keys[y])
+						: compareKeys(i, keys[x], keys[y]);
+			}
+			if (res != 0) {
+				return res;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns whether all keys are {@link #INT}, {@link #LONG} or {@link #DOUBLE} keys, whose
+	 * order is captured by {@link #radixKeys(Object[])}.
+	 */
+	boolean hasPrimitiveKeys() {
+		for (byte kind : kinds) {
+			if (kind == OBJECT) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Converts the primitive key columns extracted by {@link #extractKeys(Object[], boolean)} to
+	 * values whose unsigned order is the order of the keys, including their direction. Only the
+	 * low 32 bits of the values of {@link #INT} keys are significant.
+	 *
+	 * @param columns the extracted keys
+	 * @return one array of unsigned values per key
+	 */
+	long[][] radixKeys(Object[] columns) {
+		long[][] keys = new long[kinds.length][];
+		for (int i = 0; i < kinds.length; i++) {
+			long mask = (flags[i] & DESCENDING) != 0 ? -1L : 0L;
+			long[] values;
+			switch (kinds[i]) {
+			case INT:
+				int[] ints = (int[]) columns[i];
+				values = new long[ints.length];
+				for (int j = 0; j < ints.length; j++) {
+					values[j] = ((ints[j] ^ Integer.MIN_VALUE) ^ mask) & 0xFFFFFFFFL;
+				}
+				break;
+			case LONG:
+				long[] longs = (long[]) columns[i];
+				values = new long[longs.length];
+				for (int j = 0; j < longs.length; j++) {
+					values[j] = longs[j] ^ Long.MIN_VALUE ^ mask;
+				}
+				break;
+			default:
+				double[] doubles = (double[]) columns[i];
+				values = new long[doubles.length];
+				for (int j = 0; j < doubles.length; j++) {
+					// the bits of Double.compare order: negatives flipped, positives with the sign set
+					long bits = Double.doubleToLongBits(doubles[j]);
+					values[j] = bits ^ (bits >> 63 | Long.MIN_VALUE) ^ mask;
+				}
+			}
+			keys[i] = values;
+		}
+		return keys;
+	}
+
+	/**
+	 * Returns the number of significant bytes of the {@link #radixKeys(Object[])} of a key.
+	 */
+	int radixBytes(int key) {
+		return kinds[key] == INT ? Integer.BYTES : Long.BYTES;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof MultiKeyComparator)) {
+			return false;
+		}
+		MultiKeyComparator<?> other = (MultiKeyComparator<?>) obj;
+		if (!Arrays.equals(kinds, other.kinds) || !Arrays.equals(flags, other.flags)) {
+			return false;
+		}
+		for (int i = 0; i < kinds.length; i++) {
+			if (!SerializedLambdas.structuralEquals(extractors[i], other.extractors[i])
+					|| !SerializedLambdas.structuralEquals(comparators[i], other.comparators[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	int computeHashCode() {
+		int hash = Arrays.hashCode(kinds) * 31 + Arrays.hashCode(flags);
+		for (int i = 0; i < kinds.length; i++) {
+			hash = hash * 31 + SerializedLambdas.structuralHashCode(extractors[i]);
+			hash = hash * 31 + SerializedLambdas.structuralHashCode(comparators[i]);
+		}
+		return hash;
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		int length = kinds == null ? -1 : kinds.length;
+		if (length <= 0 || extractors == null || extractors.length != length || comparators == null
+				|| comparators.length != length || flags == null || flags.length != length) {
+			throw new InvalidObjectException("Inconsistent keys");
+		}
+		for (int i = 0; i < length; i++) {
+			if (!isValidExtractor(kinds[i], extractors[i]) || (flags[i] & ~(DESCENDING | NULLS_FIRST | NULLS_LAST)) != 0) {
+				throw new InvalidObjectException("Invalid key " + i);
+			}
+		}
+		return this;
+	}
+
+	private static boolean isValidExtractor(byte kind, Object extractor) {
+		switch (kind) {
+		case OBJECT:
+			return extractor == null || extractor instanceof SerializableFunction;
+		case INT:
+			return extractor instanceof SerializableToIntFunction;
+		case LONG:
+			return extractor instanceof SerializableToLongFunction;
+		case DOUBLE:
+			return extractor instanceof SerializableToDoubleFunction;
+		default:
+			return false;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.misc.serializable;
+
+import java.io.ObjectStreamException;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Independent runnables run concurrently in the fork/join pool of the calling thread, or the
+ * common pool, with the first one run by the calling thread. {@link #run()} returns when all
+ * of them have finished.
+ *
+ * <p>If any of the runnables fails, the others still complete and the first failure is
+ * rethrown, with the later ones added as suppressed exceptions.
+ */
+final class ParallelRunnable implements SerializableRunnable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializableRunnable[] steps;
+
+	private ParallelRunnable(SerializableRunnable[] steps) {
+		this.steps = steps;
+	}
+
+	/**
+	 * Returns the parallel composition of the runnables, with the runnables of any of them
+	 * spliced in if it is an instance of this class, or the only runnable.
+	 */
+	static SerializableRunnable of(SerializableRunnable... steps) {
+		SerializableRunnable[] flat = RunnableSequence.flatten(steps, ParallelRunnable.class);
+		return flat.length == 1 ? flat[0] : new ParallelRunnable(flat);
+	}
+
+	SerializableRunnable[] steps() {
+		return steps;
+	}
+
+	@Override
+	public void run() {
+		ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[steps.length - 1];
+		for (int i = 0; i < tasks.length; i++) {
+			tasks[i] = ForkJoinTask.adapt(steps[i + 1]).fork();
+		}
+		Throwable failure = null;
+		try {
+			steps[0].run();
+		} catch (RuntimeException | Error e) {
+			failure = e;
+		}
+		for (ForkJoinTask<?> task : tasks) {
+			try {
+				task.join();
+			} catch (RuntimeException | Error e) {
+				if (failure == null) {
+					failure = e;
+				} else {
+					failure.addSuppressed(e);
+				}
+			}
+		}
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure != null) {
+			throw (Error) failure;
+		}
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		RunnableSequence.check(steps);
+		return this;
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.misc.serializable;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Flat sequence of any number of runnables, run in order in a loop.
+ *
+ * <p>Combining the sequence through {@link SerializableRunnable#andThen} appends to a copy of
+ * its step array instead of nesting, so long chains neither deepen the call stack nor the
+ * recursion of {@link java.io.ObjectOutputStream}.
+ */
+final class RunnableSequence implements SerializableRunnable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializableRunnable[] steps;
+
+	private RunnableSequence(SerializableRunnable[] steps) {
+		this.steps = steps;
+	}
+
+	/**
+	 * Returns the sequence of the steps, with the steps of any of them spliced in if it is an
+	 * instance of this class, or the only step.
+	 */
+	static SerializableRunnable of(SerializableRunnable... steps) {
+		SerializableRunnable[] flat = flatten(steps, RunnableSequence.class);
+		return flat.length == 1 ? flat[0] : new RunnableSequence(flat);
+	}
+
+	@Override
+	public void run() {
+		for (SerializableRunnable step : steps) {
+			step.run();
+		}
+	}
+
+	/**
+	 * Copies the steps into a new array, replacing the instances of {@code type} by their
+	 * steps.
+	 *
+	 * @throws NullPointerException if any of the steps is null
+	 * @throws IllegalArgumentException if there are no steps
+	 */
+	static SerializableRunnable[] flatten(SerializableRunnable[] steps, Class<? extends SerializableRunnable> type) {
+		if (steps.length == 0) {
+			throw new IllegalArgumentException("No steps");
+		}
+		SerializableRunnable[] flat = new SerializableRunnable[steps.length];
+		int size = 0;
+		for (SerializableRunnable step : steps) {
+			SerializableRunnable[] nested = type.isInstance(step) ? steps(step) : null;
+			if (nested == null) {
+				flat[size++] = Objects.requireNonNull(step);
+			} else {
+				flat = Arrays.copyOf(flat, flat.length + nested.length - 1);
+				System.arraycopy(nested, 0, flat, size, nested.length);
+				size += nested.length;
+			}
+		}
+		return flat;
+	}
+
+	private static SerializableRunnable[] steps(SerializableRunnable runnable) {
+		if (runnable instanceof RunnableSequence) {
+			return ((RunnableSequence) runnable).steps;
+		}
+		return ((ParallelRunnable) runnable).steps();
+	}
+
+	/**
+	 * Validates deserialized steps.
+	 */
+	static void check(SerializableRunnable[] steps) throws InvalidObjectException {
+		if (steps == null || steps.length == 0) {
+			throw new InvalidObjectException("No steps");
+		}
+		for (SerializableRunnable step : steps) {
+			if (step == null) {
+				throw new InvalidObjectException("Null step");
+			}
+		}
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		check(steps);
+		return this;
+	}
+}
@@ -31,6 +31,8 @@
 package org.danekja.java.misc.serializable;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.util.Objects;
 import java.util.concurrent.Callable;
 
 /**
@@ -41,4 +43,51 @@ import java.util.concurrent.Callable;
 @FunctionalInterface
 public interface SerializableCallable<V> extends Callable<V>, Serializable {
 
+	/**
+	 * Returns a callable which caches the result of the given callable for the time to live.
+	 * Concurrent callers wait for a single computation of the result, and exceptions are not
+	 * cached. The cached result is not serialized.
+	 *
+	 * @param <V> the result type of the callable
+	 * @param callable the callable to memoize
+	 * @param timeToLive how long a result is returned after it is computed
+	 * @return the memoizing callable
+	 * @throws NullPointerException if either argument is null
+	 * @throws IllegalArgumentException if timeToLive is not positive
+	 */
+	static <V> SerializableCallable<V> memoize(SerializableCallable<? extends V> callable, Duration timeToLive) {
+		return memoize(callable, timeToLive, Duration.ZERO);
+	}
+
+	/**
+	 * Returns a callable which caches the result of the given callable for the time to live, and
+	 * computes a new one in the background when called within the refresh-ahead period before
+	 * the expiry. Callers thus do not wait for the new result, unless the cached one expires
+	 * first. Concurrent callers wait for a single computation of the result, and exceptions are
+	 * not cached. The cached result is not serialized.
+	 *
+	 * @param <V> the result type of the callable
+	 * @param callable the callable to memoize
+	 * @param timeToLive how long a result is returned after it is computed
+	 * @param refreshAhead how long before the expiry a call starts a background refresh, or
+	 *                     zero for no refresh
+	 * @return the memoizing callable
+	 * @throws NullPointerException if any argument is null
+	 * @throws IllegalArgumentException if timeToLive is not positive, or refreshAhead is negative
+	 *                                  or not shorter than timeToLive
+	 * @throws ArithmeticException if a duration is too large to be represented in nanoseconds
+	 */
+	static <V> SerializableCallable<V> memoize(SerializableCallable<? extends V> callable, Duration timeToLive,
+			Duration refreshAhead) {
+		Objects.requireNonNull(callable);
+		long timeToLiveNanos = timeToLive.toNanos();
+		long refreshAheadNanos = refreshAhead.toNanos();
+		if (timeToLiveNanos <= 0) {
+			throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+		}
+		if (refreshAheadNanos < 0 || refreshAheadNanos >= timeToLiveNanos) {
+			throw new IllegalArgumentException("Invalid refresh-ahead period: " + refreshAhead);
+		}
+		return new ExpiringCallable<>(callable, timeToLiveNanos, refreshAheadNanos);
+	}
 }
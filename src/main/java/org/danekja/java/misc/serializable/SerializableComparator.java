@@ -31,7 +31,6 @@
 package org.danekja.java.misc.serializable;
 
 import java.io.Serializable;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.Objects;
 
@@ -57,7 +56,7 @@ public interface SerializableComparator<T> extends Comparator<T>, Serializable {
 	 * @since 1.8
 	 */
 	default SerializableComparator<T> reversed() {
-        return Collections.reverseOrder(this)::compare;
+        return MultiKeyComparator.reversed(this);
     }
 
 	/**
@@ -65,6 +64,10 @@ public interface SerializableComparator<T> extends Comparator<T>, Serializable {
 	 * If this {@code SerializableComparator} considers two elements equal, i.e.
 	 * {@code compare(a, b) == 0}, {@code other} is used to determine the order.
 	 *
+	 * <p>Chained calls, including the key-based ones and {@link #reversed()}, are
+	 * collected into one flat comparator of sort keys, which compares primitive
+	 * keys without boxing.
+	 *
 	 * @apiNote
 	 * For example, to sort a collection of {@code String} based on the length
 	 * and then case-insensitive natural ordering, the comparator can be
@@ -84,10 +87,7 @@ public interface SerializableComparator<T> extends Comparator<T>, Serializable {
 	 */
     default SerializableComparator<T> thenComparing(SerializableComparator<? super T> other) {
         Objects.requireNonNull(other);
-        return (c1, c2) -> {
-            int res = compare(c1, c2);
-            return (res != 0) ? res : other.compare(c1, c2);
-        };
+        return MultiKeyComparator.of(this, other);
     }
 
 	/**
@@ -210,8 +210,9 @@ public interface SerializableComparator<T> extends Comparator<T>, Serializable {
 	 * @see Comparable
 	 * @since 1.8
 	 */
+    @SuppressWarnings("unchecked")
     public static <T extends Comparable<? super T>> SerializableComparator<T> reverseOrder() {
-        return Collections.reverseOrder()::compare;
+        return (SerializableComparator<T>) (SerializableComparator<?>) NaturalOrder.REVERSE;
     }
 
 	/**
@@ -227,8 +228,9 @@ public interface SerializableComparator<T> extends Comparator<T>, Serializable {
 	 * @see Comparable
 	 * @since 1.8
 	 */
+    @SuppressWarnings("unchecked")
     public static <T extends Comparable<? super T>> SerializableComparator<T> naturalOrder() {
-        return Comparator.<T>naturalOrder()::compare;
+        return (SerializableComparator<T>) (SerializableComparator<?>) NaturalOrder.NATURAL;
     }
 
 	/**
@@ -247,7 +249,7 @@ public interface SerializableComparator<T> extends Comparator<T>, Serializable {
 	 */
     public static <T> SerializableComparator<T> nullsFirst(
     		SerializableComparator<? super T> comparator) {
-        return Comparator.nullsFirst(comparator)::compare;
+        return comparator == null ? Comparator.<T>nullsFirst(null)::compare : MultiKeyComparator.nulls(comparator, true);
     }
 
 	/**
@@ -266,7 +268,7 @@ public interface SerializableComparator<T> extends Comparator<T>, Serializable {
 	 */
     public static <T> SerializableComparator<T> nullsLast(
     		SerializableComparator<? super T> comparator) {
-        return Comparator.nullsLast(comparator)::compare;
+        return comparator == null ? Comparator.<T>nullsLast(null)::compare : MultiKeyComparator.nulls(comparator, false);
     }
 
 	/**
@@ -301,9 +303,7 @@ public interface SerializableComparator<T> extends Comparator<T>, Serializable {
     {
         Objects.requireNonNull(keyExtractor);
         Objects.requireNonNull(keyComparator);
-        return
-            (c1, c2) -> keyComparator.compare(keyExtractor.apply(c1),
-                                              keyExtractor.apply(c2));
+        return MultiKeyComparator.key(MultiKeyComparator.OBJECT, keyExtractor, keyComparator);
     }
 
 	/**
@@ -331,7 +331,7 @@ public interface SerializableComparator<T> extends Comparator<T>, Serializable {
     		SerializableFunction<? super T, ? extends U> keyExtractor)
     {
         Objects.requireNonNull(keyExtractor);
-        return (c1, c2) -> keyExtractor.apply(c1).compareTo(keyExtractor.apply(c2));
+        return MultiKeyComparator.key(MultiKeyComparator.OBJECT, keyExtractor, null);
     }
 
 	/**
@@ -349,7 +349,7 @@ public interface SerializableComparator<T> extends Comparator<T>, Serializable {
     public static <T> SerializableComparator<T> comparingInt(
     		SerializableToIntFunction<? super T> keyExtractor) {
         Objects.requireNonNull(keyExtractor);
-        return (c1, c2) -> Integer.compare(keyExtractor.applyAsInt(c1), keyExtractor.applyAsInt(c2));
+        return MultiKeyComparator.key(MultiKeyComparator.INT, keyExtractor, null);
     }
 
 	/**
@@ -367,7 +367,7 @@ public interface SerializableComparator<T> extends Comparator<T>, Serializable {
     public static <T> SerializableComparator<T> comparingLong(
     		SerializableToLongFunction<? super T> keyExtractor) {
         Objects.requireNonNull(keyExtractor);
-        return (c1, c2) -> Long.compare(keyExtractor.applyAsLong(c1), keyExtractor.applyAsLong(c2));
+        return MultiKeyComparator.key(MultiKeyComparator.LONG, keyExtractor, null);
     }
 
 	/**
@@ -385,6 +385,6 @@ public interface SerializableComparator<T> extends Comparator<T>, Serializable {
     public static<T> SerializableComparator<T> comparingDouble(
     		SerializableToDoubleFunction<? super T> keyExtractor) {
         Objects.requireNonNull(keyExtractor);
-        return (c1, c2) -> Double.compare(keyExtractor.applyAsDouble(c1), keyExtractor.applyAsDouble(c2));
+        return MultiKeyComparator.key(MultiKeyComparator.DOUBLE, keyExtractor, null);
     }
 }
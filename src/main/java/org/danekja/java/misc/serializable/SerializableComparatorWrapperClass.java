@@ -29,8 +29,12 @@
  */
 package org.danekja.java.misc.serializable;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.text.Collator;
 import java.util.Comparator;
+import java.util.Objects;
 
 import org.danekja.java.util.function.serializable.SerializableSupplier;
 
@@ -40,17 +44,21 @@ import org.danekja.java.util.function.serializable.SerializableSupplier;
  * 
  * This wrapper calls the given {@link SerializableSupplier} to retrieve a delegate {@link Comparator} which it
  * uses for all calls to its {@link #compare(Object, Object)}-method. It caches the retrieved {@link Comparator}
- * in a transient field for efficiency. 
+ * in a transient field for efficiency. The supplier is called once, on first use, even if the wrapper is used
+ * by several threads at the same time, and later calls go to the delegate without a null check or locking.
  * 
  * Usage example:
  * 
  * <blockquote><pre>
- * SerializableComparator&lt;Object&gt; collator = new SerializableComparatorWrapper&lt;&gt;(() -&gt; Collator.getInstance(Locale.UK));
+ * SerializableComparator&lt;Object&gt; collator = new SerializableComparatorWrapperClass&lt;&gt;(() -&gt; Collator.getInstance(Locale.UK));
  * SerializableComparator&lt;Object&gt; objectComparator = SerializableComparator.comparing(Object::toString, collator);
  * </pre></blockquote>
  * 
  * (Note that Collator is an instance of Comparator typed with Object, not with a generic type variable.)
  * 
+ * The other functional interfaces have similar wrappers, e.g.
+ * {@link org.danekja.java.util.function.serializable.SerializableFunctionWrapperClass}.
+ * 
  * @author haster
  *
  * @param <T> comparable type
@@ -59,21 +67,50 @@ public class SerializableComparatorWrapperClass<T> implements SerializableCompar
 {
 	private static final long serialVersionUID = 1L;
 
-	private SerializableSupplier<Comparator<T>> comparatorSupplier;
+	private final SerializableSupplier<? extends Comparator<? super T>> comparatorSupplier;
+
+	/**
+	 * The delegate, or until it is retrieved, a comparator which retrieves it and replaces itself with it.
+	 */
+	private transient volatile Comparator<? super T> delegate;
 
-	private transient Comparator<T> delegate;
+	/**
+	 * Whether the delegate is retrieved. Guarded by the monitor of this object.
+	 */
+	private transient boolean initialized;
 
-	public SerializableComparatorWrapperClass(SerializableSupplier<Comparator<T>> comparatorSupplier)
+	public SerializableComparatorWrapperClass(SerializableSupplier<? extends Comparator<? super T>> comparatorSupplier)
 	{
-		this.comparatorSupplier = comparatorSupplier;
+		this.comparatorSupplier = Objects.requireNonNull(comparatorSupplier);
+		this.delegate = bootstrap();
 	}
 
 	@Override
 	public int compare(T o1, T o2)
 	{
-		if (delegate == null)
-			delegate = comparatorSupplier.get();
 		return delegate.compare(o1, o2);
 	}
-}
 
+	private Comparator<T> bootstrap()
+	{
+		return (o1, o2) -> initialize().compare(o1, o2);
+	}
+
+	private synchronized Comparator<? super T> initialize()
+	{
+		if (!initialized)
+		{
+			delegate = Objects.requireNonNull(comparatorSupplier.get(), "supplier returned null");
+			initialized = true;
+		}
+		return delegate;
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		if (comparatorSupplier == null)
+			throw new InvalidObjectException("Null supplier");
+		delegate = bootstrap();
+	}
+}
@@ -47,6 +47,8 @@ public interface SerializableRunnable extends Runnable, Serializable {
 	 * composed operation.  If performing this operation throws an exception,
 	 * the {@code after} operation will not be performed.
 	 *
+	 * <p>Chained calls are collected into one flat sequence of operations.
+	 *
 	 * @param next the operation to perform after this operation
 	 * @return a composed {@code SerializableRunnable} that performs in sequence
 	 * this operation followed by the {@code next} operation
@@ -55,9 +57,45 @@ public interface SerializableRunnable extends Runnable, Serializable {
 	default SerializableRunnable andThen(final SerializableRunnable next) {
 		Objects.requireNonNull(next);
 
-		return () -> {
-			run();
-			next.run();
-		};
+		return RunnableSequence.of(this, next);
+	}
+
+	/**
+	 * Returns a {@code SerializableRunnable} that performs the operations in sequence.
+	 * If performing an operation throws an exception, it is relayed to the caller and
+	 * the remaining operations are not performed.
+	 *
+	 * <p>Like {@link #andThen(SerializableRunnable)}, it is one flat sequence which
+	 * absorbs nested sequences.
+	 *
+	 * @param steps the operations to perform
+	 * @return a {@code SerializableRunnable} that performs the operations in sequence,
+	 * or the only operation
+	 * @throws NullPointerException if the array or any of the operations is null
+	 * @throws IllegalArgumentException if there are no operations
+	 */
+	static SerializableRunnable sequence(SerializableRunnable... steps) {
+		return RunnableSequence.of(steps);
+	}
+
+	/**
+	 * Returns a {@code SerializableRunnable} that performs independent operations
+	 * concurrently and returns when all of them have finished. The first operation
+	 * is performed by the calling thread, the others by the fork/join pool of the
+	 * calling thread or the {@link java.util.concurrent.ForkJoinPool#commonPool()
+	 * common pool}.
+	 *
+	 * <p>If performing any of the operations throws an exception, the others are
+	 * still performed and the first exception is relayed to the caller, with the
+	 * later ones added as suppressed exceptions.
+	 *
+	 * @param steps the operations to perform
+	 * @return a {@code SerializableRunnable} that performs the operations
+	 * concurrently, or the only operation
+	 * @throws NullPointerException if the array or any of the operations is null
+	 * @throws IllegalArgumentException if there are no operations
+	 */
+	static SerializableRunnable parallel(SerializableRunnable... steps) {
+		return ParallelRunnable.of(steps);
 	}
 }
@@ -0,0 +1,165 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.misc.serializable;
+
+import java.util.Objects;
+
+import org.danekja.java.util.function.serializable.SerializableFunction;
+import org.danekja.java.util.function.serializable.SerializableToDoubleFunction;
+import org.danekja.java.util.function.serializable.SerializableToIntFunction;
+import org.danekja.java.util.function.serializable.SerializableToLongFunction;
+
+/**
+ * Opt-in factories and combinators of {@link SerializableComparator} whose results are
+ * guaranteed to have structural equality.
+ *
+ * <p>The comparators returned by this class, like those built by the key-based factories and
+ * combinators of {@link SerializableComparator}, such as
+ * {@link SerializableComparator#thenComparing(SerializableComparator)}, are equal if they are
+ * composed the same way of structurally equal operands (see
+ * {@link org.danekja.java.codec.SerializedLambdas#structuralEquals(Object, Object)}), so two sort
+ * orders built independently can be used as the same {@link java.util.HashMap} key. Their hash
+ * code is computed once and cached, and further combining them through their default methods,
+ * e.g. {@link SerializableComparator#thenComparing(SerializableFunction)} or
+ * {@link SerializableComparator#reversed()}, returns structural comparators again.
+ *
+ * <p>Usage example:
+ *
+ * <blockquote><pre>
+ * SerializableComparator&lt;Person&gt; order = StructuralComparators.comparing(Person::getLastName)
+ *         .thenComparingInt(Person::getAge);
+ * List&lt;Person&gt; sorted = sortedViews.computeIfAbsent(order, o -&gt; sort(people, o));
+ * </pre></blockquote>
+ */
+public final class StructuralComparators {
+
+	private StructuralComparators() {
+	}
+
+	/**
+	 * Returns a structural lexicographic-order comparator.
+	 *
+	 * @param <T> the type of objects that may be compared by the comparator
+	 * @param first the comparator applied first
+	 * @param second the comparator applied if {@code first} considers two elements equal
+	 * @return the composed comparator
+	 * @throws NullPointerException if either argument is null
+	 * @see SerializableComparator#thenComparing(SerializableComparator)
+	 */
+	public static <T> SerializableComparator<T> thenComparing(SerializableComparator<? super T> first,
+			SerializableComparator<? super T> second) {
+		return MultiKeyComparator.of(Objects.requireNonNull(first), Objects.requireNonNull(second));
+	}
+
+	/**
+	 * Returns a structural comparator imposing the reverse ordering of the given comparator.
+	 *
+	 * @param <T> the type of objects that may be compared by the comparator
+	 * @param comparator the comparator to reverse
+	 * @return the reversed comparator
+	 * @throws NullPointerException if the argument is null
+	 * @see SerializableComparator#reversed()
+	 */
+	public static <T> SerializableComparator<T> reversed(SerializableComparator<T> comparator) {
+		return MultiKeyComparator.reversed(Objects.requireNonNull(comparator));
+	}
+
+	/**
+	 * Returns a structural comparator comparing by a key using the given comparator.
+	 *
+	 * @param <T> the type of element to be compared
+	 * @param <U> the type of the sort key
+	 * @param keyExtractor the function used to extract the sort key
+	 * @param keyComparator the comparator used to compare the sort key
+	 * @return the comparator
+	 * @throws NullPointerException if either argument is null
+	 * @see SerializableComparator#comparing(SerializableFunction, SerializableComparator)
+	 */
+	public static <T, U> SerializableComparator<T> comparing(SerializableFunction<? super T, ? extends U> keyExtractor,
+			SerializableComparator<? super U> keyComparator) {
+		return MultiKeyComparator.key(MultiKeyComparator.OBJECT, Objects.requireNonNull(keyExtractor),
+				Objects.requireNonNull(keyComparator));
+	}
+
+	/**
+	 * Returns a structural comparator comparing by a {@link Comparable} key.
+	 *
+	 * @param <T> the type of element to be compared
+	 * @param <U> the type of the {@code Comparable} sort key
+	 * @param keyExtractor the function used to extract the sort key
+	 * @return the comparator
+	 * @throws NullPointerException if the argument is null
+	 * @see SerializableComparator#comparing(SerializableFunction)
+	 */
+	public static <T, U extends Comparable<? super U>> SerializableComparator<T> comparing(
+			SerializableFunction<? super T, ? extends U> keyExtractor) {
+		return MultiKeyComparator.key(MultiKeyComparator.OBJECT, Objects.requireNonNull(keyExtractor), null);
+	}
+
+	/**
+	 * Returns a structural comparator comparing by an {@code int} key.
+	 *
+	 * @param <T> the type of element to be compared
+	 * @param keyExtractor the function used to extract the sort key
+	 * @return the comparator
+	 * @throws NullPointerException if the argument is null
+	 * @see SerializableComparator#comparingInt(SerializableToIntFunction)
+	 */
+	public static <T> SerializableComparator<T> comparingInt(SerializableToIntFunction<? super T> keyExtractor) {
+		return MultiKeyComparator.key(MultiKeyComparator.INT, Objects.requireNonNull(keyExtractor), null);
+	}
+
+	/**
+	 * Returns a structural comparator comparing by a {@code long} key.
+	 *
+	 * @param <T> the type of element to be compared
+	 * @param keyExtractor the function used to extract the sort key
+	 * @return the comparator
+	 * @throws NullPointerException if the argument is null
+	 * @see SerializableComparator#comparingLong(SerializableToLongFunction)
+	 */
+	public static <T> SerializableComparator<T> comparingLong(SerializableToLongFunction<? super T> keyExtractor) {
+		return MultiKeyComparator.key(MultiKeyComparator.LONG, Objects.requireNonNull(keyExtractor), null);
+	}
+
+	/**
+	 * Returns a structural comparator comparing by a {@code double} key.
+	 *
+	 * @param <T> the type of element to be compared
+	 * @param keyExtractor the function used to extract the sort key
+	 * @return the comparator
+	 * @throws NullPointerException if the argument is null
+	 * @see SerializableComparator#comparingDouble(SerializableToDoubleFunction)
+	 */
+	public static <T> SerializableComparator<T> comparingDouble(SerializableToDoubleFunction<? super T> keyExtractor) {
+		return MultiKeyComparator.key(MultiKeyComparator.DOUBLE, Objects.requireNonNull(keyExtractor), null);
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.util.Arrays;
+
+/**
+ * Short-circuiting logical AND or OR of any number of predicates which profiles its operands
+ * and evaluates them in the order of the least expected cost.
+ *
+ * <p>Every 16th call is timed. For each operand reached, it records the
+ * time spent and whether the result decided the outcome, i.e. was {@code false} for AND or
+ * {@code true} for OR. After {@value #SAMPLES_PER_REORDER} such calls, the operands are sorted
+ * by the time spent per decisive result, the cheapest first, and the statistics are halved so
+ * that the order follows changes of the input. Only operands which have been reached are
+ * moved, among the positions they occupy; operands never reached keep their position.
+ * Operands not reached in the last period keep their rank.
+ *
+ * <p>The statistics are updated without synchronization. Concurrent calls may lose some
+ * updates, which only affects the quality of the order, never the result. Since short-circuit
+ * evaluation in a different order may skip different operands, the operands should be free of
+ * side effects.
+ *
+ * <p>Only the operands in their original order are serialized, so a deserialized instance starts
+ * with that order and profiles afresh.
+ *
+ * @param <T> the type of the input to the predicate
+ */
+final class AdaptivePredicate<T> extends StructuralNode implements SerializablePredicate<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	static final int SAMPLE_MASK = 0x0F;
+
+	static final int SAMPLES_PER_REORDER = 64;
+
+	private final SerializablePredicate<? super T>[] operands;
+
+	/**
+	 * {@code true} for OR, {@code false} for AND, which is also the decisive result of an operand.
+	 */
+	private final boolean any;
+
+	private final transient long[] nanos;
+
+	private final transient long[] evaluations;
+
+	private final transient long[] decisions;
+
+	/**
+	 * Time per decisive result of each operand, {@link Double#NaN} until it has been reached.
+	 */
+	private final transient double[] ranks;
+
+	private transient volatile int[] order;
+
+	private transient int calls;
+
+	private transient int samples;
+
+	AdaptivePredicate(SerializablePredicate<? super T>[] operands, boolean any) {
+		this.operands = operands;
+		this.any = any;
+		int length = operands.length;
+		nanos = new long[length];
+		evaluations = new long[length];
+		decisions = new long[length];
+		ranks = new double[length];
+		Arrays.fill(ranks, Double.NaN);
+		order = new int[length];
+		for (int i = 0; i < length; i++) {
+			order[i] = i;
+		}
+	}
+
+	@Override
+	public boolean test(T t) {
+		int[] order = this.order;
+		if ((++calls & SAMPLE_MASK) == 0) {
+			return testSampled(t, order);
+		}
+		for (int i : order) {
+			if (operands[i].test(t) == any) {
+				return any;
+			}
+		}
+		return !any;
+	}
+
+	private boolean testSampled(T t, int[] order) {
+		boolean result = !any;
+		for (int i : order) {
+			long start = System.nanoTime();
+			boolean value = operands[i].test(t);
+			nanos[i] += System.nanoTime() - start;
+			evaluations[i]++;
+			if (value == any) {
+				decisions[i]++;
+				result = any;
+				break;
+			}
+		}
+		if (++samples >= SAMPLES_PER_REORDER) {
+			samples = 0;
+			reorder();
+		}
+		return result;
+	}
+
+	private void reorder() {
+		int length = operands.length;
+		for (int i = 0; i < length; i++) {
+			if (evaluations[i] > 0) {
+				// expected cost divided by the probability of deciding the outcome
+				ranks[i] = decisions[i] > 0 ? (double) nanos[i] / decisions[i] : Double.POSITIVE_INFINITY;
+				nanos[i] >>= 1;
+				evaluations[i] >>= 1;
+				decisions[i] >>= 1;
+			}
+		}
+		int[] sorted = order.clone();
+		int[] slots = new int[length];
+		int ranked = 0;
+		for (int i = 0; i < length; i++) {
+			if (!Double.isNaN(ranks[sorted[i]])) {
+				slots[ranked++] = i;
+			}
+		}
+		// insertion sort of the ranked operands within their slots, stable so that ties keep their current order
+		for (int i = 1; i < ranked; i++) {
+			int index = sorted[slots[i]];
+			int j = i - 1;
+			while (j >= 0 && ranks[sorted[slots[j]]] > ranks[index]) {
+				sorted[slots[j + 1]] = sorted[slots[j]];
+				j--;
+			}
+			sorted[slots[j + 1]] = index;
+		}
+		order = sorted;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof AdaptivePredicate)) {
+			return false;
+		}
+		AdaptivePredicate<?> other = (AdaptivePredicate<?>) obj;
+		return any == other.any && Operands.equals(operands, other.operands);
+	}
+
+	@Override
+	int computeHashCode() {
+		return Operands.hashCode(any ? 6 : 5, operands);
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		if (operands == null) {
+			throw new InvalidObjectException("No operands");
+		}
+		Operands.check(operands);
+		return new AdaptivePredicate<>(operands.clone(), any);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.util.Objects;
+
+/**
+ * Opt-in conjunctions and disjunctions of predicates which adapt their evaluation order at
+ * runtime.
+ *
+ * <p>{@link SerializablePredicate#and(SerializablePredicate)} evaluates the operands in the
+ * order they were combined, which is rarely the cheapest one when an expensive predicate
+ * precedes a cheap and selective one. The predicates returned by this class sample the cost of
+ * each operand and how often it decides the result, and periodically move the operands with
+ * the least cost per decisive result to the front. The result is the same as with the fixed
+ * order as long as the operands have no side effects.
+ *
+ * <p>The serialized form holds the operands in their original order, so a deserialized
+ * predicate behaves deterministically until it has collected new statistics.
+ *
+ * <p>Usage example:
+ *
+ * <blockquote><pre>
+ * SerializablePredicate&lt;Order&gt; rule = AdaptivePredicates.allOf(o -&gt; fraudScore(o) &lt; 0.5, Order::isInternational);
+ * </pre></blockquote>
+ */
+public final class AdaptivePredicates {
+
+	private AdaptivePredicates() {
+	}
+
+	/**
+	 * Returns a short-circuiting logical AND of the predicates which reorders them by cost and
+	 * selectivity.
+	 *
+	 * @param <T> the type of the input to the predicate
+	 * @param predicates the predicates, in the initial order of evaluation
+	 * @return the adaptive conjunction
+	 * @throws NullPointerException if the array or any of its elements is null
+	 * @throws IllegalArgumentException if the array is empty
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs")
+	public static <T> SerializablePredicate<T> allOf(SerializablePredicate<? super T>... predicates) {
+		return new AdaptivePredicate<>(check(predicates.clone()), false);
+	}
+
+	/**
+	 * Returns a short-circuiting logical OR of the predicates which reorders them by cost and
+	 * selectivity.
+	 *
+	 * @param <T> the type of the input to the predicate
+	 * @param predicates the predicates, in the initial order of evaluation
+	 * @return the adaptive disjunction
+	 * @throws NullPointerException if the array or any of its elements is null
+	 * @throws IllegalArgumentException if the array is empty
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs")
+	public static <T> SerializablePredicate<T> anyOf(SerializablePredicate<? super T>... predicates) {
+		return new AdaptivePredicate<>(check(predicates.clone()), true);
+	}
+
+	private static <T> SerializablePredicate<? super T>[] check(SerializablePredicate<? super T>[] operands) {
+		if (operands.length == 0) {
+			throw new IllegalArgumentException("No predicates");
+		}
+		for (SerializablePredicate<? super T> operand : operands) {
+			Objects.requireNonNull(operand);
+		}
+		return operands;
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ObjectStreamException;
+
+/**
+ * Flat short-circuiting logical AND of any number of predicates, evaluated in order
+ * until one of them returns {@code false}.
+ *
+ * <p>Combining the node through {@link SerializablePredicate#and} appends
+ * to a copy of its operand array instead of nesting, so arbitrarily long chains neither deepen
+ * the call stack on evaluation nor the recursion of {@link java.io.ObjectOutputStream}.
+ * Nodes are equal if their operands are structurally equal in the same order.
+ *
+ * @param <T> the type of the input to the predicate
+ */
+final class AllOfPredicate<T> extends StructuralNode implements SerializablePredicate<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializablePredicate<? super T>[] operands;
+
+	private AllOfPredicate(SerializablePredicate<? super T>[] operands) {
+		this.operands = operands;
+	}
+
+	/**
+	 * Returns the AND of the two predicates, with the operands of either one spliced in
+	 * if it is an instance of this class.
+	 */
+	static <T> AllOfPredicate<T> of(SerializablePredicate<? super T> first,
+			SerializablePredicate<? super T> second) {
+		SerializablePredicate<? super T>[] head = operands(first);
+		SerializablePredicate<? super T>[] tail = operands(second);
+		return new AllOfPredicate<T>(Operands.join(head, tail));
+	}
+
+	/**
+	 * Returns the AND of the predicates, with the operands of any instance of this class
+	 * spliced in.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static <T> AllOfPredicate<T> of(SerializablePredicate<? super T>[] predicates) {
+		return new AllOfPredicate<T>(
+				Operands.join(new SerializablePredicate[0], predicates, AllOfPredicate::operands));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <T> SerializablePredicate<? super T>[] operands(
+			SerializablePredicate<? super T> predicate) {
+		if (predicate instanceof AllOfPredicate) {
+			return ((AllOfPredicate<T>) predicate).operands;
+		}
+		return new SerializablePredicate[] { predicate };
+	}
+
+	@Override
+	public boolean test(T t) {
+		for (SerializablePredicate<? super T> operand : operands) {
+			if (!operand.test(t)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj
+				|| obj instanceof AllOfPredicate && Operands.equals(operands, ((AllOfPredicate<?>) obj).operands);
+	}
+
+	@Override
+	int computeHashCode() {
+		return Operands.hashCode(1, operands);
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		Operands.check(operands);
+		return this;
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ObjectStreamException;
+
+/**
+ * Flat short-circuiting logical OR of any number of predicates, evaluated in order
+ * until one of them returns {@code true}.
+ *
+ * <p>Combining the node through {@link SerializableBiPredicate#or} appends
+ * to a copy of its operand array instead of nesting, so arbitrarily long chains neither deepen
+ * the call stack on evaluation nor the recursion of {@link java.io.ObjectOutputStream}.
+ * Nodes are equal if their operands are structurally equal in the same order.
+ *
+ * @param <T> the type of the first argument to the predicate
+ * @param <U> the type of the second argument to the predicate
+ */
+final class AnyOfBiPredicate<T, U> extends StructuralNode implements SerializableBiPredicate<T, U> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializableBiPredicate<? super T, ? super U>[] operands;
+
+	private AnyOfBiPredicate(SerializableBiPredicate<? super T, ? super U>[] operands) {
+		this.operands = operands;
+	}
+
+	/**
+	 * Returns the OR of the two predicates, with the operands of either one spliced in
+	 * if it is an instance of this class.
+	 */
+	static <T, U> AnyOfBiPredicate<T, U> of(SerializableBiPredicate<? super T, ? super U> first,
+			SerializableBiPredicate<? super T, ? super U> second) {
+		SerializableBiPredicate<? super T, ? super U>[] head = operands(first);
+		SerializableBiPredicate<? super T, ? super U>[] tail = operands(second);
+		return new AnyOfBiPredicate<T, U>(Operands.join(head, tail));
+	}
+
+	/**
+	 * Returns the OR of the predicates, with the operands of any instance of this class
+	 * spliced in.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static <T, U> AnyOfBiPredicate<T, U> of(SerializableBiPredicate<? super T, ? super U>[] predicates) {
+		return new AnyOfBiPredicate<T, U>(
+				Operands.join(new SerializableBiPredicate[0], predicates, AnyOfBiPredicate::operands));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <T, U> SerializableBiPredicate<? super T, ? super U>[] operands(
+			SerializableBiPredicate<? super T, ? super U> predicate) {
+		if (predicate instanceof AnyOfBiPredicate) {
+			return ((AnyOfBiPredicate<T, U>) predicate).operands;
+		}
+		return new SerializableBiPredicate[] { predicate };
+	}
+
+	@Override
+	public boolean test(T t, U u) {
+		for (SerializableBiPredicate<? super T, ? super U> operand : operands) {
+			if (operand.test(t, u)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj
+				|| obj instanceof AnyOfBiPredicate && Operands.equals(operands, ((AnyOfBiPredicate<?, ?>) obj).operands);
+	}
+
+	@Override
+	int computeHashCode() {
+		return Operands.hashCode(2, operands);
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		Operands.check(operands);
+		return this;
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ObjectStreamException;
+
+/**
+ * Flat short-circuiting logical OR of any number of predicates, evaluated in order
+ * until one of them returns {@code true}.
+ *
+ * <p>Combining the node through {@link SerializableLongPredicate#or} appends
+ * to a copy of its operand array instead of nesting, so arbitrarily long chains neither deepen
+ * the call stack on evaluation nor the recursion of {@link java.io.ObjectOutputStream}.
+ * Nodes are equal if their operands are structurally equal in the same order.
+ */
+final class AnyOfLongPredicate extends StructuralNode implements SerializableLongPredicate {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializableLongPredicate[] operands;
+
+	private AnyOfLongPredicate(SerializableLongPredicate[] operands) {
+		this.operands = operands;
+	}
+
+	/**
+	 * Returns the OR of the two predicates, with the operands of either one spliced in
+	 * if it is an instance of this class.
+	 */
+	static AnyOfLongPredicate of(SerializableLongPredicate first,
+			SerializableLongPredicate second) {
+		SerializableLongPredicate[] head = operands(first);
+		SerializableLongPredicate[] tail = operands(second);
+		return new AnyOfLongPredicate(Operands.join(head, tail));
+	}
+
+	/**
+	 * Returns the OR of the predicates, with the operands of any instance of this class
+	 * spliced in.
+	 */
+	static AnyOfLongPredicate of(SerializableLongPredicate[] predicates) {
+		return new AnyOfLongPredicate(
+				Operands.join(new SerializableLongPredicate[0], predicates, AnyOfLongPredicate::operands));
+	}
+
+	private static SerializableLongPredicate[] operands(SerializableLongPredicate predicate) {
+		if (predicate instanceof AnyOfLongPredicate) {
+			return ((AnyOfLongPredicate) predicate).operands;
+		}
+		return new SerializableLongPredicate[] { predicate };
+	}
+
+	@Override
+	public boolean test(long value) {
+		for (SerializableLongPredicate operand : operands) {
+			if (operand.test(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj
+				|| obj instanceof AnyOfLongPredicate && Operands.equals(operands, ((AnyOfLongPredicate) obj).operands);
+	}
+
+	@Override
+	int computeHashCode() {
+		return Operands.hashCode(2, operands);
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		Operands.check(operands);
+		return this;
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+
+import org.danekja.java.codec.SerializedLambdas;
+
+/**
+ * Function of two arguments followed by a flat {@link FunctionPipeline} of stages.
+ * {@link SerializableBiFunction#andThen} on it appends to a copy of the stages.
+ *
+ * @param <T> the type of the first argument to the function
+ * @param <U> the type of the second argument to the function
+ * @param <R> the type of the result of the function
+ */
+final class BiFunctionPipeline<T, U, R> extends StructuralNode implements SerializableBiFunction<T, U, R> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializableBiFunction<? super T, ? super U, ?> head;
+
+	private final SerializableFunction<?, ?>[] stages;
+
+	private BiFunctionPipeline(SerializableBiFunction<? super T, ? super U, ?> head, SerializableFunction<?, ?>[] stages) {
+		this.head = head;
+		this.stages = stages;
+	}
+
+	/**
+	 * Returns the composition which applies {@code after} to the result of {@code function}.
+	 * The caller guarantees the types line up.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T, U, R> SerializableBiFunction<T, U, R> of(SerializableBiFunction<? super T, ? super U, ?> function,
+			SerializableFunction<?, ?> after) {
+		SerializableBiFunction<? super T, ? super U, ?> head = function;
+		SerializableFunction<?, ?>[] stages = FunctionPipeline.stages(after);
+		if (function instanceof BiFunctionPipeline) {
+			BiFunctionPipeline<? super T, ? super U, ?> pipeline = (BiFunctionPipeline<? super T, ? super U, ?>) function;
+			head = pipeline.head;
+			stages = Operands.join(pipeline.stages, stages);
+		}
+		if (stages.length == 0) {
+			return (SerializableBiFunction<T, U, R>) head;
+		}
+		return new BiFunctionPipeline<>(head, stages);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public R apply(T t, U u) {
+		return (R) FunctionPipeline.apply(stages, head.apply(t, u));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof BiFunctionPipeline)) {
+			return false;
+		}
+		BiFunctionPipeline<?, ?, ?> other = (BiFunctionPipeline<?, ?, ?>) obj;
+		return SerializedLambdas.structuralEquals(head, other.head) && Operands.equals(stages, other.stages);
+	}
+
+	@Override
+	int computeHashCode() {
+		return Operands.hashCode(SerializedLambdas.structuralHashCode(head), stages);
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		if (head == null) {
+			throw new InvalidObjectException("Null function");
+		}
+		Operands.check(stages);
+		return this;
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ObjectStreamException;
+
+/**
+ * Flat composition of any number of {@code double} operators, applied in order in a loop.
+ *
+ * <p>Composing the pipeline through {@link SerializableDoubleUnaryOperator#andThen} or
+ * {@link SerializableDoubleUnaryOperator#compose} copies its stages into a new pipeline instead
+ * of nesting, and {@link Identity} stages are dropped. Pipelines are equal if their stages are
+ * structurally equal in the same order.
+ */
+final class DoubleUnaryOperatorPipeline extends StructuralNode implements SerializableDoubleUnaryOperator {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final SerializableDoubleUnaryOperator[] NO_STAGES = {};
+
+	private final SerializableDoubleUnaryOperator[] stages;
+
+	private DoubleUnaryOperatorPipeline(SerializableDoubleUnaryOperator[] stages) {
+		this.stages = stages;
+	}
+
+	/**
+	 * Returns the composition which applies {@code first} and then {@code second}, with the
+	 * stages of either one spliced in if it is a pipeline.
+	 */
+	static SerializableDoubleUnaryOperator of(SerializableDoubleUnaryOperator first, SerializableDoubleUnaryOperator second) {
+		SerializableDoubleUnaryOperator[] stages = Operands.join(stages(first), stages(second));
+		if (stages.length == 0) {
+			return Identity.INSTANCE;
+		}
+		if (stages.length == 1) {
+			return stages[0];
+		}
+		return new DoubleUnaryOperatorPipeline(stages);
+	}
+
+	private static SerializableDoubleUnaryOperator[] stages(SerializableDoubleUnaryOperator operator) {
+		if (operator instanceof DoubleUnaryOperatorPipeline) {
+			return ((DoubleUnaryOperatorPipeline) operator).stages;
+		}
+		if (operator == Identity.INSTANCE) {
+			return NO_STAGES;
+		}
+		return new SerializableDoubleUnaryOperator[] { operator };
+	}
+
+	@Override
+	public double applyAsDouble(double operand) {
+		double result = operand;
+		for (SerializableDoubleUnaryOperator stage : stages) {
+			result = stage.applyAsDouble(result);
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj
+				|| obj instanceof DoubleUnaryOperatorPipeline && Operands.equals(stages, ((DoubleUnaryOperatorPipeline) obj).stages);
+	}
+
+	@Override
+	int computeHashCode() {
+		return Operands.hashCode(4, stages);
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		Operands.check(stages);
+		return this;
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ObjectStreamException;
+
+/**
+ * Flat sequence of any number of two-argument consumers, each of which accepts the input in
+ * turn. Combining the node through {@link SerializableBiConsumer#andThen} appends to a copy of
+ * its listener array instead of nesting. Nodes are equal if their listeners are structurally
+ * equal in the same order.
+ *
+ * @param <T> the type of the first argument to the operation
+ * @param <U> the type of the second argument to the operation
+ */
+final class FanOutBiConsumer<T, U> extends StructuralNode implements SerializableBiConsumer<T, U> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializableBiConsumer<? super T, ? super U>[] listeners;
+
+	private FanOutBiConsumer(SerializableBiConsumer<? super T, ? super U>[] listeners) {
+		this.listeners = listeners;
+	}
+
+	/**
+	 * Returns the sequence of the two consumers, with the listeners of either one spliced in if
+	 * it is an instance of this class.
+	 */
+	static <T, U> FanOutBiConsumer<T, U> of(SerializableBiConsumer<? super T, ? super U> first,
+			SerializableBiConsumer<? super T, ? super U> second) {
+		SerializableBiConsumer<? super T, ? super U>[] head = listeners(first);
+		SerializableBiConsumer<? super T, ? super U>[] tail = listeners(second);
+		return new FanOutBiConsumer<T, U>(Operands.join(head, tail));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <T, U> SerializableBiConsumer<? super T, ? super U>[] listeners(
+			SerializableBiConsumer<? super T, ? super U> consumer) {
+		if (consumer instanceof FanOutBiConsumer) {
+			return ((FanOutBiConsumer<T, U>) consumer).listeners;
+		}
+		return new SerializableBiConsumer[] { consumer };
+	}
+
+	@Override
+	public void accept(T t, U u) {
+		for (SerializableBiConsumer<? super T, ? super U> listener : listeners) {
+			listener.accept(t, u);
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj
+				|| obj instanceof FanOutBiConsumer && Operands.equals(listeners, ((FanOutBiConsumer<?, ?>) obj).listeners);
+	}
+
+	@Override
+	int computeHashCode() {
+		return Operands.hashCode(7, listeners);
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		Operands.check(listeners);
+		return this;
+	}
+}
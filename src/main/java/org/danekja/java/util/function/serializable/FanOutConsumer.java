@@ -0,0 +1,110 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ObjectStreamException;
+import java.util.List;
+
+/**
+ * Flat sequence of any number of consumers, each of which accepts the input in turn.
+ *
+ * <p>Combining the node through {@link SerializableConsumer#andThen} appends to a copy of its
+ * listener array instead of nesting. {@link #acceptAll(List)} and
+ * {@link #acceptAll(Object[], int, int)} pass the whole batch to one listener before moving on
+ * to the next. Nodes are equal if their listeners are structurally equal in the same order.
+ *
+ * @param <T> the type of the input to the operation
+ */
+final class FanOutConsumer<T> extends StructuralNode implements SerializableConsumer<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializableConsumer<? super T>[] listeners;
+
+	private FanOutConsumer(SerializableConsumer<? super T>[] listeners) {
+		this.listeners = listeners;
+	}
+
+	/**
+	 * Returns the sequence of the two consumers, with the listeners of either one spliced in if
+	 * it is an instance of this class.
+	 */
+	static <T> FanOutConsumer<T> of(SerializableConsumer<? super T> first, SerializableConsumer<? super T> second) {
+		SerializableConsumer<? super T>[] head = listeners(first);
+		SerializableConsumer<? super T>[] tail = listeners(second);
+		return new FanOutConsumer<T>(Operands.join(head, tail));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <T> SerializableConsumer<? super T>[] listeners(SerializableConsumer<? super T> consumer) {
+		if (consumer instanceof FanOutConsumer) {
+			return ((FanOutConsumer<T>) consumer).listeners;
+		}
+		return new SerializableConsumer[] { consumer };
+	}
+
+	@Override
+	public void accept(T t) {
+		for (SerializableConsumer<? super T> listener : listeners) {
+			listener.accept(t);
+		}
+	}
+
+	@Override
+	public void acceptAll(List<? extends T> batch) {
+		for (SerializableConsumer<? super T> listener : listeners) {
+			listener.acceptAll(batch);
+		}
+	}
+
+	@Override
+	public void acceptAll(T[] batch, int fromIndex, int toIndex) {
+		for (SerializableConsumer<? super T> listener : listeners) {
+			listener.acceptAll(batch, fromIndex, toIndex);
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj
+				|| obj instanceof FanOutConsumer && Operands.equals(listeners, ((FanOutConsumer<?>) obj).listeners);
+	}
+
+	@Override
+	int computeHashCode() {
+		return Operands.hashCode(7, listeners);
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		Operands.check(listeners);
+		return this;
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ObjectStreamException;
+
+/**
+ * Flat composition of any number of functions, applied in order in a loop.
+ *
+ * <p>Composing the pipeline through {@link SerializableFunction#andThen} or
+ * {@link SerializableFunction#compose} copies its stages into a new pipeline instead of
+ * nesting, and {@link Identity} stages are dropped, so long chains neither deepen the call
+ * stack nor the recursion of {@link java.io.ObjectOutputStream}. Pipelines are equal if their
+ * stages are structurally equal in the same order.
+ *
+ * @param <T> the type of the input to the function
+ * @param <R> the type of the result of the function
+ */
+final class FunctionPipeline<T, R> extends StructuralNode implements SerializableFunction<T, R> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final SerializableFunction<?, ?>[] NO_STAGES = {};
+
+	private final SerializableFunction<?, ?>[] stages;
+
+	private FunctionPipeline(SerializableFunction<?, ?>[] stages) {
+		this.stages = stages;
+	}
+
+	/**
+	 * Returns the composition which applies {@code first} and then {@code second}, with the
+	 * stages of either one spliced in if it is a pipeline. The caller guarantees the types
+	 * line up.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T, R> SerializableFunction<T, R> of(SerializableFunction<?, ?> first, SerializableFunction<?, ?> second) {
+		SerializableFunction<?, ?>[] stages = Operands.join(stages(first), stages(second));
+		if (stages.length == 0) {
+			return (SerializableFunction<T, R>) (SerializableFunction<?, ?>) Identity.INSTANCE;
+		}
+		if (stages.length == 1) {
+			return (SerializableFunction<T, R>) stages[0];
+		}
+		return new FunctionPipeline<>(stages);
+	}
+
+	/**
+	 * Returns the stages the function consists of, which are none for the identity.
+	 */
+	static SerializableFunction<?, ?>[] stages(SerializableFunction<?, ?> function) {
+		if (function instanceof FunctionPipeline) {
+			return ((FunctionPipeline<?, ?>) function).stages;
+		}
+		if (function == Identity.INSTANCE) {
+			return NO_STAGES;
+		}
+		return new SerializableFunction<?, ?>[] { function };
+	}
+
+	/**
+	 * Applies the stages to the value in order.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static Object apply(SerializableFunction<?, ?>[] stages, Object value) {
+		Object result = value;
+		for (SerializableFunction stage : stages) {
+			result = stage.apply(result);
+		}
+		return result;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public R apply(T t) {
+		return (R) apply(stages, t);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj
+				|| obj instanceof FunctionPipeline && Operands.equals(stages, ((FunctionPipeline<?, ?>) obj).stages);
+	}
+
+	@Override
+	int computeHashCode() {
+		return Operands.hashCode(4, stages);
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		Operands.check(stages);
+		return this;
+	}
+}
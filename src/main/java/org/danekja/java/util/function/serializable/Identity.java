@@ -0,0 +1,64 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+/**
+ * Shared identity function returned by {@link SerializableFunction#identity()},
+ * {@link SerializableUnaryOperator#identity()} and the {@code identity()} methods of the
+ * primitive unary operators. Being an enum constant,
+ * it stays a singleton across serialization, and the pipelines in this package recognize
+ * and drop it.
+ */
+enum Identity implements SerializableFunction<Object, Object>, SerializableUnaryOperator<Object>,
+		SerializableIntUnaryOperator, SerializableLongUnaryOperator, SerializableDoubleUnaryOperator {
+
+	INSTANCE;
+
+	@Override
+	public Object apply(Object t) {
+		return t;
+	}
+
+	@Override
+	public int applyAsInt(int operand) {
+		return operand;
+	}
+
+	@Override
+	public long applyAsLong(long operand) {
+		return operand;
+	}
+
+	@Override
+	public double applyAsDouble(double operand) {
+		return operand;
+	}
+}
@@ -0,0 +1,364 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link SerializableFunction} which caches the results of another function in a bounded,
+ * concurrent cache. Instances are created by
+ * {@link SerializableFunction#memoize(SerializableFunction, int)}.
+ *
+ * <p>The cache is transient: only the function, the maximum size and the key strength are
+ * serialized, and a deserialized instance starts with an empty cache and zero counters.
+ *
+ * <p>When the cache grows beyond its maximum size, entries are evicted by the CLOCK policy, an
+ * approximation of least-recently-used eviction which does not reorder anything on a cache hit:
+ * every entry has a reference bit set when it is read, and eviction scans the entries in the
+ * order of insertion, evicting the first one whose bit is clear and clearing the bits of the
+ * others on the way.
+ *
+ * <p>The function is called outside of any lock, so it may use the memoized function itself,
+ * e.g. recursively. Concurrent callers which miss the cache for the same key may each call the
+ * function; the first result is cached. {@code null} results are cached as well. With weak or
+ * soft keys, {@code null} inputs are not cached.
+ *
+ * @param <T> the type of the input to the function
+ * @param <R> the type of the result of the function
+ */
+public final class MemoizingFunction<T, R> implements SerializableFunction<T, R> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Reference strength of the cache keys.
+	 */
+	public enum KeyStrength {
+		/**
+		 * The cache keeps its keys strongly reachable.
+		 */
+		STRONG,
+		/**
+		 * Entries are removed once their key is only weakly reachable.
+		 */
+		WEAK,
+		/**
+		 * Entries are removed once their key is only softly reachable and the garbage
+		 * collector reclaims it due to memory demand.
+		 */
+		SOFT
+	}
+
+	/**
+	 * Key of {@code null} inputs and value of {@code null} results in the cache.
+	 */
+	private static final Object NULL = new Object();
+
+	private final SerializableFunction<? super T, ? extends R> function;
+
+	private final int maximumSize;
+
+	private final KeyStrength keyStrength;
+
+	private final transient ConcurrentHashMap<Object, Entry> cache = new ConcurrentHashMap<>();
+
+	private final transient ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+	/**
+	 * Keys in the order of insertion, or of their last pass of the clock hand. Guarded by itself.
+	 */
+	private final transient ArrayDeque<Object> clock = new ArrayDeque<>();
+
+	private final transient LongAdder hits = new LongAdder();
+
+	private final transient LongAdder misses = new LongAdder();
+
+	MemoizingFunction(SerializableFunction<? super T, ? extends R> function, int maximumSize, KeyStrength keyStrength) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("Non-positive maximum size: " + maximumSize);
+		}
+		this.function = Objects.requireNonNull(function);
+		this.maximumSize = maximumSize;
+		this.keyStrength = Objects.requireNonNull(keyStrength);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public R apply(T t) {
+		if (t == null && keyStrength != KeyStrength.STRONG) {
+			misses.increment();
+			return function.apply(t);
+		}
+		purge();
+		Entry entry = cache.get(lookupKey(t));
+		if (entry != null) {
+			if (!entry.referenced) {
+				entry.referenced = true;
+			}
+			hits.increment();
+			return entry.value == NULL ? null : (R) entry.value;
+		}
+		misses.increment();
+		R value = function.apply(t);
+		Object key = storeKey(t);
+		entry = cache.putIfAbsent(key, new Entry(value == null ? NULL : value));
+		if (entry == null) {
+			admit(key);
+		}
+		return value;
+	}
+
+	private Object lookupKey(T t) {
+		if (keyStrength == KeyStrength.STRONG) {
+			return t == null ? NULL : t;
+		}
+		return new LookupKey(t);
+	}
+
+	private Object storeKey(T t) {
+		switch (keyStrength) {
+		case WEAK:
+			return new WeakKey(t, queue);
+		case SOFT:
+			return new SoftKey(t, queue);
+		default:
+			return t == null ? NULL : t;
+		}
+	}
+
+	/**
+	 * Adds the key to the clock and evicts entries while the cache is too large. Keys removed
+	 * from the cache by {@link #purge()} stay in the clock until it is compacted, which happens
+	 * once it holds twice as many keys as the cache may, so its size stays bounded.
+	 */
+	private void admit(Object key) {
+		synchronized (clock) {
+			clock.addLast(key);
+			if (clock.size() > 2L * maximumSize) {
+				clock.removeIf(candidate -> !cache.containsKey(candidate));
+			}
+			while (cache.size() > maximumSize) {
+				Object candidate = clock.pollFirst();
+				if (candidate == null) {
+					break;
+				}
+				Entry entry = cache.get(candidate);
+				if (entry == null) {
+					continue;
+				}
+				if (entry.referenced) {
+					entry.referenced = false;
+					clock.addLast(candidate);
+				} else {
+					cache.remove(candidate, entry);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes the entries whose keys were reclaimed by the garbage collector.
+	 */
+	private void purge() {
+		Reference<?> reference;
+		while ((reference = queue.poll()) != null) {
+			cache.remove(reference);
+		}
+	}
+
+	/**
+	 * Returns the number of calls answered from the cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of calls which called the memoized function.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the number of cached results.
+	 *
+	 * @return the number of cache entries
+	 */
+	public int size() {
+		purge();
+		return cache.size();
+	}
+
+	/**
+	 * Removes all cached results. The counters are not reset.
+	 */
+	public void clear() {
+		synchronized (clock) {
+			cache.clear();
+			clock.clear();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "MemoizingFunction[size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + "]";
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		if (function == null || keyStrength == null || maximumSize <= 0) {
+			throw new InvalidObjectException("Invalid memoizing function");
+		}
+		return new MemoizingFunction<>(function, maximumSize, keyStrength);
+	}
+
+	private static final class Entry {
+
+		final Object value;
+
+		/**
+		 * Reference bit of the CLOCK policy. Updated without synchronization, as a lost update
+		 * only affects which entry is evicted.
+		 */
+		boolean referenced;
+
+		Entry(Object value) {
+			this.value = value;
+		}
+	}
+
+	/**
+	 * Cache key which compares the keys it refers to by {@code equals}. Once a reference is
+	 * cleared, the key only equals itself.
+	 */
+	private interface Key {
+
+		Object key();
+
+		static boolean keyEquals(Key key, int hash, Object obj) {
+			if (key == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key) || hash != obj.hashCode()) {
+				return false;
+			}
+			Object referent = key.key();
+			return referent != null && referent.equals(((Key) obj).key());
+		}
+	}
+
+	private static final class LookupKey implements Key {
+
+		private final Object key;
+
+		LookupKey(Object key) {
+			this.key = key;
+		}
+
+		@Override
+		public Object key() {
+			return key;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return Key.keyEquals(this, key.hashCode(), obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode();
+		}
+	}
+
+	private static final class WeakKey extends WeakReference<Object> implements Key {
+
+		private final int hash;
+
+		WeakKey(Object key, ReferenceQueue<Object> queue) {
+			super(key, queue);
+			hash = key.hashCode();
+		}
+
+		@Override
+		public Object key() {
+			return get();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return Key.keyEquals(this, hash, obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	private static final class SoftKey extends SoftReference<Object> implements Key {
+
+		private final int hash;
+
+		SoftKey(Object key, ReferenceQueue<Object> queue) {
+			super(key, queue);
+			hash = key.hashCode();
+		}
+
+		@Override
+		public Object key() {
+			return get();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return Key.keyEquals(this, hash, obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
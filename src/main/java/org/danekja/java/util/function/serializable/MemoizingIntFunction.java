@@ -0,0 +1,141 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Function which caches the results of another function for the arguments of a dense range in
+ * an array. Instances are created by
+ * {@link SerializableIntFunction#memoize(SerializableIntFunction, int, int)}.
+ *
+ * <p>The table is allocated on first use and filled lazily. It is transient, so only the function
+ * and the range are serialized. Arguments outside of the range are passed to the function on
+ * every call.
+ *
+ * <p>The function is called outside of any lock. Concurrent callers which miss the table for the
+ * same argument may each call the function; the last result is kept. Results are published with
+ * release and acquire semantics, so a result read from the table is seen fully constructed.
+ * {@code null} results are cached as well.
+ *
+ * @param <R> the type of the result of the function
+ */
+final class MemoizingIntFunction<R> implements SerializableIntFunction<R> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Maximum size of a table, which is the largest array size supported by all JVMs.
+	 */
+	static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+	private static final VarHandle TABLE = MethodHandles.arrayElementVarHandle(Object[].class);
+
+	/**
+	 * Table entry of a {@code null} result.
+	 */
+	private static final Object NULL = new Object();
+
+	private final SerializableIntFunction<? extends R> function;
+
+	/**
+	 * First memoized argument.
+	 */
+	private final int from;
+
+	/**
+	 * Argument after the last memoized one.
+	 */
+	private final int to;
+
+	/**
+	 * Results by argument minus {@link #from}, {@code null} if not computed yet.
+	 */
+	private transient volatile Object[] table;
+
+	MemoizingIntFunction(SerializableIntFunction<? extends R> function, int from, int to) {
+		checkRange(from, to);
+		this.function = function;
+		this.from = from;
+		this.to = to;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public R apply(int value) {
+		if (value < from || value >= to) {
+			return function.apply(value);
+		}
+		Object[] entries = table;
+		if (entries == null) {
+			entries = allocate();
+		}
+		int index = value - from;
+		Object result = (Object) TABLE.getAcquire(entries, index);
+		if (result == null) {
+			R computed = function.apply(value);
+			result = computed == null ? NULL : computed;
+			TABLE.setRelease(entries, index, result);
+		}
+		return result == NULL ? null : (R) result;
+	}
+
+	private synchronized Object[] allocate() {
+		Object[] entries = table;
+		if (entries == null) {
+			entries = new Object[to - from];
+			table = entries;
+		}
+		return entries;
+	}
+
+	/**
+	 * Checks the range of memoized arguments, from {@code from} inclusive to {@code to} exclusive.
+	 *
+	 * @throws IllegalArgumentException if {@code from > to} or the range is larger than {@link #MAX_SIZE}
+	 */
+	static void checkRange(int from, int to) {
+		if (from > to || (long) to - from > MAX_SIZE) {
+			throw new IllegalArgumentException("Invalid range: [" + from + ", " + to + ")");
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		if (function == null || from > to || (long) to - from > MAX_SIZE) {
+			throw new InvalidObjectException("Invalid memoizing function");
+		}
+	}
+}
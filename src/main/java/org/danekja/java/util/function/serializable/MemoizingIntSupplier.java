@@ -0,0 +1,106 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Supplier which calls another supplier once and then returns its result. Instances are created
+ * by {@link SerializableIntSupplier#memoize(SerializableIntSupplier, boolean)}.
+ *
+ * <p>Once computed, the value is read through a volatile flag without locking. The first
+ * computation is guarded by the monitor of this object, so concurrent callers wait for a single
+ * call of the supplier. If the supplier throws an exception, nothing is cached.
+ */
+final class MemoizingIntSupplier implements SerializableIntSupplier {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializableIntSupplier supplier;
+
+	/**
+	 * Whether the computed value is serialized, rather than computed again after deserialization.
+	 */
+	private final boolean serializeValue;
+
+	/**
+	 * Whether {@link #value} is computed. Written after it, so that reading {@code true}
+	 * publishes the value.
+	 */
+	private transient volatile boolean computed;
+
+	private transient int value;
+
+	MemoizingIntSupplier(SerializableIntSupplier supplier, boolean serializeValue) {
+		this.supplier = supplier;
+		this.serializeValue = serializeValue;
+	}
+
+	@Override
+	public int getAsInt() {
+		if (!computed) {
+			compute();
+		}
+		return value;
+	}
+
+	private synchronized void compute() {
+		if (!computed) {
+			value = supplier.getAsInt();
+			computed = true;
+		}
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		if (serializeValue) {
+			boolean known = computed;
+			out.writeBoolean(known);
+			if (known) {
+				out.writeInt(value);
+			}
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		if (supplier == null) {
+			throw new InvalidObjectException("Null supplier");
+		}
+		if (serializeValue && in.readBoolean()) {
+			value = in.readInt();
+			computed = true;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Function which caches the results of another function for the arguments of a dense range in
+ * an array. Instances are created by
+ * {@link SerializableIntToDoubleFunction#memoize(SerializableIntToDoubleFunction, int, int)}.
+ *
+ * <p>The table is allocated on first use and filled lazily. It is transient, so only the function
+ * and the range are serialized. Arguments outside of the range are passed to the function on
+ * every call.
+ *
+ * <p>The results are stored in a {@code double[]}, next to a bit set marking the ones computed.
+ * A result is written before its bit is set with release semantics and only read after its bit
+ * was read with acquire semantics, so no locking is needed; concurrent callers which miss the
+ * table for the same argument may each call the function.
+ */
+final class MemoizingIntToDoubleFunction implements SerializableIntToDoubleFunction {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(double[].class);
+
+	private static final VarHandle FILLED = MethodHandles.arrayElementVarHandle(long[].class);
+
+	private final SerializableIntToDoubleFunction function;
+
+	/**
+	 * First memoized argument.
+	 */
+	private final int from;
+
+	/**
+	 * Argument after the last memoized one.
+	 */
+	private final int to;
+
+	/**
+	 * Results by argument minus {@link #from}, valid where the bit in {@link #filled} is set.
+	 * Written before {@link #filled}, which publishes it.
+	 */
+	private transient double[] values;
+
+	/**
+	 * Bit set of the computed results, one bit per entry of {@link #values}.
+	 */
+	private transient volatile long[] filled;
+
+	MemoizingIntToDoubleFunction(SerializableIntToDoubleFunction function, int from, int to) {
+		MemoizingIntFunction.checkRange(from, to);
+		this.function = function;
+		this.from = from;
+		this.to = to;
+	}
+
+	@Override
+	public double applyAsDouble(int value) {
+		if (value < from || value >= to) {
+			return function.applyAsDouble(value);
+		}
+		long[] bits = filled;
+		if (bits == null) {
+			bits = allocate();
+		}
+		double[] results = values;
+		int index = value - from;
+		if (((long) FILLED.getAcquire(bits, index >>> 6) & (1L << index)) != 0) {
+			return (double) VALUES.getOpaque(results, index);
+		}
+		double result = function.applyAsDouble(value);
+		VALUES.setOpaque(results, index, result);
+		FILLED.getAndBitwiseOrRelease(bits, index >>> 6, 1L << index);
+		return result;
+	}
+
+	private synchronized long[] allocate() {
+		long[] bits = filled;
+		if (bits == null) {
+			int size = to - from;
+			values = new double[size];
+			bits = new long[(int) (((long) size + 63) >>> 6)];
+			filled = bits;
+		}
+		return bits;
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		if (function == null || from > to || (long) to - from > MemoizingIntFunction.MAX_SIZE) {
+			throw new InvalidObjectException("Invalid memoizing function");
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Operator which caches the results of another operator for the operands of a dense range in an
+ * array. Instances are created by
+ * {@link SerializableIntUnaryOperator#memoize(SerializableIntUnaryOperator, int, int)}.
+ *
+ * <p>The table is allocated on first use and filled lazily. It is transient, so only the operator
+ * and the range are serialized. Operands outside of the range are passed to the operator on every
+ * call.
+ *
+ * <p>The results are stored in an {@code int[]}, next to a bit set marking the ones computed.
+ * A result is written before its bit is set with release semantics and only read after its bit
+ * was read with acquire semantics, so no locking is needed; concurrent callers which miss the
+ * table for the same operand may each call the operator.
+ */
+final class MemoizingIntUnaryOperator implements SerializableIntUnaryOperator {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(int[].class);
+
+	private static final VarHandle FILLED = MethodHandles.arrayElementVarHandle(long[].class);
+
+	private final SerializableIntUnaryOperator operator;
+
+	/**
+	 * First memoized operand.
+	 */
+	private final int from;
+
+	/**
+	 * Operand after the last memoized one.
+	 */
+	private final int to;
+
+	/**
+	 * Results by operand minus {@link #from}, valid where the bit in {@link #filled} is set.
+	 * Written before {@link #filled}, which publishes it.
+	 */
+	private transient int[] values;
+
+	/**
+	 * Bit set of the computed results, one bit per entry of {@link #values}.
+	 */
+	private transient volatile long[] filled;
+
+	MemoizingIntUnaryOperator(SerializableIntUnaryOperator operator, int from, int to) {
+		MemoizingIntFunction.checkRange(from, to);
+		this.operator = operator;
+		this.from = from;
+		this.to = to;
+	}
+
+	@Override
+	public int applyAsInt(int operand) {
+		if (operand < from || operand >= to) {
+			return operator.applyAsInt(operand);
+		}
+		long[] bits = filled;
+		if (bits == null) {
+			bits = allocate();
+		}
+		int[] results = values;
+		int index = operand - from;
+		if (((long) FILLED.getAcquire(bits, index >>> 6) & (1L << index)) != 0) {
+			return (int) VALUES.getOpaque(results, index);
+		}
+		int result = operator.applyAsInt(operand);
+		VALUES.setOpaque(results, index, result);
+		FILLED.getAndBitwiseOrRelease(bits, index >>> 6, 1L << index);
+		return result;
+	}
+
+	private synchronized long[] allocate() {
+		long[] bits = filled;
+		if (bits == null) {
+			int size = to - from;
+			values = new int[size];
+			bits = new long[(int) (((long) size + 63) >>> 6)];
+			filled = bits;
+		}
+		return bits;
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		if (operator == null || from > to || (long) to - from > MemoizingIntFunction.MAX_SIZE) {
+			throw new InvalidObjectException("Invalid memoizing operator");
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+
+import org.danekja.java.codec.SerializedLambdas;
+
+/**
+ * Structural logical negation of a predicate.
+ */
+final class NotDoublePredicate extends StructuralNode implements SerializableDoublePredicate {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializableDoublePredicate predicate;
+
+	NotDoublePredicate(SerializableDoublePredicate predicate) {
+		this.predicate = predicate;
+	}
+
+	@Override
+	public boolean test(double value) {
+		return !predicate.test(value);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof NotDoublePredicate)) {
+			return false;
+		}
+		return SerializedLambdas.structuralEquals(predicate, ((NotDoublePredicate) obj).predicate);
+	}
+
+	@Override
+	int computeHashCode() {
+		return 3 * 31 + SerializedLambdas.structuralHashCode(predicate);
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		if (predicate == null) {
+			throw new InvalidObjectException("Null predicate");
+		}
+		return this;
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.InvalidObjectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.danekja.java.codec.SerializedLambdas;
+
+/**
+ * Operand array helpers of the flat n-ary nodes in this package.
+ */
+final class Operands {
+
+	private Operands() {
+	}
+
+	/**
+	 * Returns the concatenation of the two operand arrays. Each binary combinator call copies
+	 * both arrays, so building a node of n operands one call at a time copies about n&sup2;/2
+	 * references, the varargs factories use {@link #join(Object[], Object[], Function)} instead.
+	 */
+	static <P> P[] join(P[] first, P[] second) {
+		P[] result = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, result, first.length, second.length);
+		return result;
+	}
+
+	/**
+	 * Returns the concatenation of the operand arrays of all the nodes, built in one copy.
+	 *
+	 * @param empty empty array of the operand type
+	 * @param nodes the nodes to join
+	 * @param operands returns the operands of a node, or the node itself wrapped in an array
+	 * @throws NullPointerException if any of the nodes is null
+	 * @throws IllegalArgumentException if there are no nodes
+	 */
+	static <P> P[] join(P[] empty, P[] nodes, Function<P, P[]> operands) {
+		if (nodes.length == 0) {
+			throw new IllegalArgumentException("No operands");
+		}
+		List<P> result = new ArrayList<>(nodes.length);
+		for (P node : nodes) {
+			Collections.addAll(result, operands.apply(Objects.requireNonNull(node)));
+		}
+		return result.toArray(empty);
+	}
+
+	static boolean equals(Object[] first, Object[] second) {
+		if (first.length != second.length) {
+			return false;
+		}
+		for (int i = 0; i < first.length; i++) {
+			if (!SerializedLambdas.structuralEquals(first[i], second[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static int hashCode(int seed, Object[] operands) {
+		int hash = seed;
+		for (Object operand : operands) {
+			hash = hash * 31 + SerializedLambdas.structuralHashCode(operand);
+		}
+		return hash;
+	}
+
+	/**
+	 * Validates a deserialized operand array.
+	 */
+	static void check(Object[] operands) throws InvalidObjectException {
+		if (operands == null || operands.length == 0) {
+			throw new InvalidObjectException("No operands");
+		}
+		for (Object operand : operands) {
+			if (operand == null) {
+				throw new InvalidObjectException("Null operand");
+			}
+		}
+	}
+}
@@ -48,6 +48,8 @@ public interface SerializableBiConsumer<T, U> extends BiConsumer<T, U>, Serializ
 	 * composed operation.  If performing this operation throws an exception,
 	 * the {@code after} operation will not be performed.
 	 *
+	 * <p>Chained calls are collected into one flat sequence of consumers.
+	 *
 	 * @param after the operation to perform after this operation
 	 * @return a composed {@code SerializableBiConsumer} that performs in sequence
 	 * this operation followed by the {@code after} operation
@@ -56,9 +58,6 @@ public interface SerializableBiConsumer<T, U> extends BiConsumer<T, U>, Serializ
 	default SerializableBiConsumer<T, U> andThen(SerializableBiConsumer<? super T, ? super U> after) {
 		Objects.requireNonNull(after);
 
-		return (l, r) -> {
-			accept(l, r);
-			after.accept(l, r);
-		};
+		return FanOutBiConsumer.of(this, after);
 	}
 }
@@ -0,0 +1,69 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Wrapper for a non-serializable {@link BiConsumer}, which is built by a {@link SerializableSupplier}.
+ * Only the supplier is serialized, and the delegate is built again after deserialization.
+ *
+ * <p>The supplier is called once, on first use, even if the wrapper is used by several threads
+ * at the same time. Later calls go to the delegate without a null check or locking.
+ *
+ * @param <T> the type of the first argument
+ * @param <U> the type of the second argument
+ */
+public class SerializableBiConsumerWrapperClass<T, U> extends WrapperClass<BiConsumer<? super T, ? super U>>
+		implements SerializableBiConsumer<T, U> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Creates a wrapper of the {@link BiConsumer} built by the given supplier.
+	 *
+	 * @param supplier the supplier of the delegate, called on first use
+	 * @throws NullPointerException if supplier is null
+	 */
+	public SerializableBiConsumerWrapperClass(SerializableSupplier<? extends BiConsumer<? super T, ? super U>> supplier) {
+		super(supplier);
+	}
+
+	@Override
+	public void accept(T t, U u) {
+		delegate.accept(t, u);
+	}
+
+	@Override
+	BiConsumer<? super T, ? super U> bootstrap() {
+		return (t, u) -> initialize().accept(t, u);
+	}
+}
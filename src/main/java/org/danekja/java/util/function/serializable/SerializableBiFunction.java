@@ -47,6 +47,9 @@ public interface SerializableBiFunction<T, U, R> extends BiFunction<T, U, R>, Se
 	 * If evaluation of either function throws an exception, it is relayed to
 	 * the caller of the composed function.
 	 *
+	 * <p>Chained calls are collected into one flat pipeline, which is applied with
+	 * a loop and from which identity functions are dropped.
+	 *
 	 * @param <V> the type of output of the {@code after} function, and of the
 	 *           composed function
 	 * @param after the function to apply after this function is applied
@@ -56,6 +59,6 @@ public interface SerializableBiFunction<T, U, R> extends BiFunction<T, U, R>, Se
 	 */
 	default <V> SerializableBiFunction<T, U, V> andThen(SerializableFunction<? super R, ? extends V> after) {
 		Objects.requireNonNull(after);
-		return (T t, U u) -> after.apply(apply(t, u));
+		return BiFunctionPipeline.of(this, after);
 	}
 }
@@ -51,6 +51,11 @@ public interface SerializableBiPredicate<T, U> extends BiPredicate<T, U>, Serial
 	 * to the caller; if evaluation of this predicate throws an exception, the
 	 * {@code other} predicate will not be evaluated.
 	 *
+	 * <p>Chained calls are collected into one flat node, which is evaluated with
+	 * a loop and is equal to other such nodes of structurally equal predicates.
+	 * Each call copies the operands collected so far, {@link #allOf} combines
+	 * many predicates in one step.
+	 *
 	 * @param other a predicate that will be logically-ANDed with this
 	 *              predicate
 	 * @return a composed predicate that represents the short-circuiting logical
@@ -59,18 +64,20 @@ public interface SerializableBiPredicate<T, U> extends BiPredicate<T, U>, Serial
 	 */
 	default SerializableBiPredicate<T, U> and(SerializableBiPredicate<? super T, ? super U> other) {
 		Objects.requireNonNull(other);
-		return (T t, U u) -> test(t, u) && other.test(t, u);
+		return AllOfBiPredicate.of(this, other);
 	}
 
 	/**
 	 * Returns a predicate that represents the logical negation of this
 	 * predicate.
 	 *
+	 * <p>The negation is equal to negations of structurally equal predicates.
+	 *
 	 * @return a predicate that represents the logical negation of this
 	 * predicate
 	 */
 	default SerializableBiPredicate<T, U> negate() {
-		return (T t, U u) -> !test(t, u);
+		return new NotBiPredicate<>(this);
 	}
 
 	/**
@@ -83,6 +90,11 @@ public interface SerializableBiPredicate<T, U> extends BiPredicate<T, U>, Serial
 	 * to the caller; if evaluation of this predicate throws an exception, the
 	 * {@code other} predicate will not be evaluated.
 	 *
+	 * <p>Chained calls are collected into one flat node, which is evaluated with
+	 * a loop and is equal to other such nodes of structurally equal predicates.
+	 * Each call copies the operands collected so far, {@link #anyOf} combines
+	 * many predicates in one step.
+	 *
 	 * @param other a predicate that will be logically-ORed with this
 	 *              predicate
 	 * @return a composed predicate that represents the short-circuiting logical
@@ -91,6 +103,48 @@ public interface SerializableBiPredicate<T, U> extends BiPredicate<T, U>, Serial
 	 */
 	default SerializableBiPredicate<T, U> or(SerializableBiPredicate<? super T, ? super U> other) {
 		Objects.requireNonNull(other);
-		return (T t, U u) -> test(t, u) || other.test(t, u);
+		return AnyOfBiPredicate.of(this, other);
+	}
+
+	/**
+	 * Returns a short-circuiting logical AND of the given predicates, which are
+	 * evaluated in order until one of them returns {@code false}.
+	 *
+	 * <p>The result is the same flat node a chain of {@link #and} calls builds, but the
+	 * operands are copied once instead of once per call.
+	 *
+	 * @param <T> the type of the first argument to the predicate
+	 * @param <U> the type of the second argument to the predicate
+	 * @param predicates the predicates to combine
+	 * @return the composed predicate
+	 * @throws NullPointerException if any of the predicates is null
+	 * @throws IllegalArgumentException if no predicates are given
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs")
+	static <T, U> SerializableBiPredicate<T, U> allOf(
+			SerializableBiPredicate<? super T, ? super U>... predicates) {
+		return AllOfBiPredicate.of(predicates);
+	}
+
+	/**
+	 * Returns a short-circuiting logical OR of the given predicates, which are
+	 * evaluated in order until one of them returns {@code true}.
+	 *
+	 * <p>The result is the same flat node a chain of {@link #or} calls builds, but the
+	 * operands are copied once instead of once per call.
+	 *
+	 * @param <T> the type of the first argument to the predicate
+	 * @param <U> the type of the second argument to the predicate
+	 * @param predicates the predicates to combine
+	 * @return the composed predicate
+	 * @throws NullPointerException if any of the predicates is null
+	 * @throws IllegalArgumentException if no predicates are given
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs")
+	static <T, U> SerializableBiPredicate<T, U> anyOf(
+			SerializableBiPredicate<? super T, ? super U>... predicates) {
+		return AnyOfBiPredicate.of(predicates);
 	}
 }
@@ -31,6 +31,7 @@
 package org.danekja.java.util.function.serializable;
 
 import java.io.Serializable;
+import java.util.Objects;
 import java.util.function.BooleanSupplier;
 
 /**
@@ -41,4 +42,31 @@ import java.util.function.BooleanSupplier;
  */
 @FunctionalInterface
 public interface SerializableBooleanSupplier extends BooleanSupplier, Serializable {
+
+	/**
+	 * Returns a supplier which calls the given supplier once, on first use, and then
+	 * returns the same result. The result is computed again after deserialization.
+	 *
+	 * @param supplier the supplier to memoize
+	 * @return the memoizing supplier
+	 * @throws NullPointerException if supplier is null
+	 */
+	static SerializableBooleanSupplier memoize(SerializableBooleanSupplier supplier) {
+		return memoize(supplier, false);
+	}
+
+	/**
+	 * Returns a supplier which calls the given supplier once, on first use, and then
+	 * returns the same result. Concurrent first calls wait for a single call of the
+	 * supplier, and later calls do not lock.
+	 *
+	 * @param supplier the supplier to memoize
+	 * @param serializeValue whether a computed result is serialized with the memoizing
+	 *                       supplier, rather than computed again after deserialization
+	 * @return the memoizing supplier
+	 * @throws NullPointerException if supplier is null
+	 */
+	static SerializableBooleanSupplier memoize(SerializableBooleanSupplier supplier, boolean serializeValue) {
+		return new MemoizingBooleanSupplier(Objects.requireNonNull(supplier), serializeValue);
+	}
 }
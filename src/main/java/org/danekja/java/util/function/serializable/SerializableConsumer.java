@@ -31,6 +31,7 @@
 package org.danekja.java.util.function.serializable;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -49,6 +50,9 @@ public interface SerializableConsumer<T> extends Consumer<T>, Serializable {
 	 * composed operation.  If performing this operation throws an exception,
 	 * the {@code after} operation will not be performed.
 	 *
+	 * <p>Chained calls are collected into one flat sequence of consumers, whose
+	 * {@code acceptAll} methods pass a whole batch to each consumer in turn.
+	 *
 	 * @param after the operation to perform after this operation
 	 * @return a composed {@code SerializableConsumer} that performs in sequence
 	 * this operation followed by the {@code after} operation
@@ -56,9 +60,39 @@ public interface SerializableConsumer<T> extends Consumer<T>, Serializable {
 	 */
 	default SerializableConsumer<T> andThen(SerializableConsumer<? super T> after) {
 		Objects.requireNonNull(after);
-		return (T t) -> {
+		return FanOutConsumer.of(this, after);
+	}
+
+	/**
+	 * Performs this operation on each element of the list, in order.
+	 *
+	 * <p>A composed consumer created by {@link #andThen(SerializableConsumer)} performs
+	 * each of its operations on all the elements before it performs the next one, instead
+	 * of performing all operations on one element before moving to the next element.
+	 *
+	 * @param batch the input elements
+	 * @throws NullPointerException if {@code batch} is null
+	 */
+	default void acceptAll(List<? extends T> batch) {
+		for (T t : batch) {
 			accept(t);
-			after.accept(t);
-		};
+		}
+	}
+
+	/**
+	 * Performs this operation on each element of the array range, in order, like
+	 * {@link #acceptAll(List)}.
+	 *
+	 * @param batch the array of input elements
+	 * @param fromIndex the index of the first element, inclusive
+	 * @param toIndex the index of the last element, exclusive
+	 * @throws NullPointerException if {@code batch} is null
+	 * @throws IndexOutOfBoundsException if the range is out of the array bounds
+	 */
+	default void acceptAll(T[] batch, int fromIndex, int toIndex) {
+		Objects.checkFromToIndex(fromIndex, toIndex, batch.length);
+		for (int i = fromIndex; i < toIndex; i++) {
+			accept(batch[i]);
+		}
 	}
 }
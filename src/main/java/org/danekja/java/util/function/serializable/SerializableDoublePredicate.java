@@ -51,6 +51,11 @@ public interface SerializableDoublePredicate extends DoublePredicate, Serializab
 	 * to the caller; if evaluation of this predicate throws an exception, the
 	 * {@code other} predicate will not be evaluated.
 	 *
+	 * <p>Chained calls are collected into one flat node, which is evaluated with
+	 * a loop and is equal to other such nodes of structurally equal predicates.
+	 * Each call copies the operands collected so far, {@link #allOf} combines
+	 * many predicates in one step.
+	 *
 	 * @param other a predicate that will be logically-ANDed with this
 	 *              predicate
 	 * @return a composed predicate that represents the short-circuiting logical
@@ -59,18 +64,20 @@ public interface SerializableDoublePredicate extends DoublePredicate, Serializab
 	 */
 	default SerializableDoublePredicate and(SerializableDoublePredicate other) {
 		Objects.requireNonNull(other);
-		return (value) -> test(value) && other.test(value);
+		return AllOfDoublePredicate.of(this, other);
 	}
 
 	/**
 	 * Returns a predicate that represents the logical negation of this
 	 * predicate.
 	 *
+	 * <p>The negation is equal to negations of structurally equal predicates.
+	 *
 	 * @return a predicate that represents the logical negation of this
 	 * predicate
 	 */
 	default SerializableDoublePredicate negate() {
-		return (value) -> !test(value);
+		return new NotDoublePredicate(this);
 	}
 
 	/**
@@ -83,6 +90,11 @@ public interface SerializableDoublePredicate extends DoublePredicate, Serializab
 	 * to the caller; if evaluation of this predicate throws an exception, the
 	 * {@code other} predicate will not be evaluated.
 	 *
+	 * <p>Chained calls are collected into one flat node, which is evaluated with
+	 * a loop and is equal to other such nodes of structurally equal predicates.
+	 * Each call copies the operands collected so far, {@link #anyOf} combines
+	 * many predicates in one step.
+	 *
 	 * @param other a predicate that will be logically-ORed with this
 	 *              predicate
 	 * @return a composed predicate that represents the short-circuiting logical
@@ -91,6 +103,38 @@ public interface SerializableDoublePredicate extends DoublePredicate, Serializab
 	 */
 	default SerializableDoublePredicate or(SerializableDoublePredicate other) {
 		Objects.requireNonNull(other);
-		return (value) -> test(value) || other.test(value);
+		return AnyOfDoublePredicate.of(this, other);
+	}
+
+	/**
+	 * Returns a short-circuiting logical AND of the given predicates, which are
+	 * evaluated in order until one of them returns {@code false}.
+	 *
+	 * <p>The result is the same flat node a chain of {@link #and} calls builds, but the
+	 * operands are copied once instead of once per call.
+	 *
+	 * @param predicates the predicates to combine
+	 * @return the composed predicate
+	 * @throws NullPointerException if any of the predicates is null
+	 * @throws IllegalArgumentException if no predicates are given
+	 */
+	static SerializableDoublePredicate allOf(SerializableDoublePredicate... predicates) {
+		return AllOfDoublePredicate.of(predicates);
+	}
+
+	/**
+	 * Returns a short-circuiting logical OR of the given predicates, which are
+	 * evaluated in order until one of them returns {@code true}.
+	 *
+	 * <p>The result is the same flat node a chain of {@link #or} calls builds, but the
+	 * operands are copied once instead of once per call.
+	 *
+	 * @param predicates the predicates to combine
+	 * @return the composed predicate
+	 * @throws NullPointerException if any of the predicates is null
+	 * @throws IllegalArgumentException if no predicates are given
+	 */
+	static SerializableDoublePredicate anyOf(SerializableDoublePredicate... predicates) {
+		return AnyOfDoublePredicate.of(predicates);
 	}
 }
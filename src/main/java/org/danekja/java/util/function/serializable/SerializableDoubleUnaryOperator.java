@@ -47,6 +47,9 @@ public interface SerializableDoubleUnaryOperator extends DoubleUnaryOperator, Se
 	 * If evaluation of either operator throws an exception, it is relayed to
 	 * the caller of the composed operator.
 	 *
+	 * <p>Chained calls are collected into one flat pipeline, which is applied with
+	 * a loop and from which identity operators are dropped.
+	 *
 	 * @param before the operator to apply before this operator is applied
 	 * @return a composed operator that first applies the {@code before}
 	 * operator and then applies this operator
@@ -56,7 +59,7 @@ public interface SerializableDoubleUnaryOperator extends DoubleUnaryOperator, Se
 	 */
 	default SerializableDoubleUnaryOperator compose(SerializableDoubleUnaryOperator before) {
 		Objects.requireNonNull(before);
-		return (double v) -> applyAsDouble(before.applyAsDouble(v));
+		return DoubleUnaryOperatorPipeline.of(before, this);
 	}
 
 	/**
@@ -65,6 +68,9 @@ public interface SerializableDoubleUnaryOperator extends DoubleUnaryOperator, Se
 	 * If evaluation of either operator throws an exception, it is relayed to
 	 * the caller of the composed operator.
 	 *
+	 * <p>Chained calls are collected into one flat pipeline, which is applied with
+	 * a loop and from which identity operators are dropped.
+	 *
 	 * @param after the operator to apply after this operator is applied
 	 * @return a composed operator that first applies this operator and then
 	 * applies the {@code after} operator
@@ -74,7 +80,7 @@ public interface SerializableDoubleUnaryOperator extends DoubleUnaryOperator, Se
 	 */
 	default SerializableDoubleUnaryOperator andThen(SerializableDoubleUnaryOperator after) {
 		Objects.requireNonNull(after);
-		return (double t) -> after.applyAsDouble(applyAsDouble(t));
+		return DoubleUnaryOperatorPipeline.of(this, after);
 	}
 
 	/**
@@ -83,6 +89,6 @@ public interface SerializableDoubleUnaryOperator extends DoubleUnaryOperator, Se
 	 * @return a unary operator that always returns its input argument
 	 */
 	static SerializableDoubleUnaryOperator identity() {
-		return t -> t;
+		return Identity.INSTANCE;
 	}
 }
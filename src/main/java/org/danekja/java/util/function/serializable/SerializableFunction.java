@@ -47,6 +47,9 @@ public interface SerializableFunction<T, R> extends Function<T, R>, Serializable
 	 * If evaluation of either function throws an exception, it is relayed to
 	 * the caller of the composed function.
 	 *
+	 * <p>Chained calls are collected into one flat pipeline, which is applied with
+	 * a loop and from which identity functions are dropped.
+	 *
 	 * @param <V> the type of input to the {@code before} function, and to the
 	 *           composed function
 	 * @param before the function to apply before this function is applied
@@ -58,7 +61,7 @@ public interface SerializableFunction<T, R> extends Function<T, R>, Serializable
 	 */
 	default <V> SerializableFunction<V, R> compose(SerializableFunction<? super V, ? extends T> before) {
 		Objects.requireNonNull(before);
-		return (V v) -> apply(before.apply(v));
+		return FunctionPipeline.of(before, this);
 	}
 
 	/**
@@ -67,6 +70,9 @@ public interface SerializableFunction<T, R> extends Function<T, R>, Serializable
 	 * If evaluation of either function throws an exception, it is relayed to
 	 * the caller of the composed function.
 	 *
+	 * <p>Chained calls are collected into one flat pipeline, which is applied with
+	 * a loop and from which identity functions are dropped.
+	 *
 	 * @param <V> the type of output of the {@code after} function, and of the
 	 *           composed function
 	 * @param after the function to apply after this function is applied
@@ -78,7 +84,7 @@ public interface SerializableFunction<T, R> extends Function<T, R>, Serializable
 	 */
 	default <V> SerializableFunction<T, V> andThen(SerializableFunction<? super R, ? extends V> after) {
 		Objects.requireNonNull(after);
-		return (T t) -> after.apply(apply(t));
+		return FunctionPipeline.of(this, after);
 	}
 
 	/**
@@ -87,7 +93,46 @@ public interface SerializableFunction<T, R> extends Function<T, R>, Serializable
 	 * @param <T> the type of the input and output objects to the function
 	 * @return a function that always returns its input argument
 	 */
+	@SuppressWarnings("unchecked")
 	static <T> SerializableFunction<T, T> identity() {
-		return t -> t;
+		return (SerializableFunction<T, T>) (SerializableFunction<?, ?>) Identity.INSTANCE;
+	}
+
+	/**
+	 * Returns a function that caches the results of the given function in a bounded,
+	 * concurrent cache with strong keys. The cache is not serialized; a deserialized
+	 * function starts with an empty cache.
+	 *
+	 * @param <T> the type of the input to the function
+	 * @param <R> the type of the result of the function
+	 * @param function the function to memoize
+	 * @param maximumSize the maximum number of cached results
+	 * @return the memoizing function
+	 * @throws NullPointerException if function is null
+	 * @throws IllegalArgumentException if maximumSize is not positive
+	 * @see MemoizingFunction
+	 */
+	static <T, R> MemoizingFunction<T, R> memoize(SerializableFunction<? super T, ? extends R> function, int maximumSize) {
+		return new MemoizingFunction<>(function, maximumSize, MemoizingFunction.KeyStrength.STRONG);
+	}
+
+	/**
+	 * Returns a function that caches the results of the given function in a bounded,
+	 * concurrent cache with keys of the given reference strength. The cache is not
+	 * serialized; a deserialized function starts with an empty cache.
+	 *
+	 * @param <T> the type of the input to the function
+	 * @param <R> the type of the result of the function
+	 * @param function the function to memoize
+	 * @param maximumSize the maximum number of cached results
+	 * @param keyStrength the reference strength of the cache keys
+	 * @return the memoizing function
+	 * @throws NullPointerException if function or keyStrength is null
+	 * @throws IllegalArgumentException if maximumSize is not positive
+	 * @see MemoizingFunction
+	 */
+	static <T, R> MemoizingFunction<T, R> memoize(SerializableFunction<? super T, ? extends R> function, int maximumSize,
+			MemoizingFunction.KeyStrength keyStrength) {
+		return new MemoizingFunction<>(function, maximumSize, keyStrength);
 	}
 }
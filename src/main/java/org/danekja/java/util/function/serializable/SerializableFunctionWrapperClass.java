@@ -0,0 +1,76 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.util.function.Function;
+
+/**
+ * Wrapper for a non-serializable {@link Function}, which is built by a {@link SerializableSupplier}.
+ * Only the supplier is serialized, and the delegate is built again after deserialization.
+ *
+ * <p>The supplier is called once, on first use, even if the wrapper is used by several threads
+ * at the same time. Later calls go to the delegate without a null check or locking.
+ *
+ * <p>Usage example:
+ *
+ * <blockquote><pre>
+ * SerializableFunction&lt;String, TemporalAccessor&gt; parser = new SerializableFunctionWrapperClass&lt;&gt;(
+ *         () -&gt; DateTimeFormatter.ofPattern(pattern)::parse);
+ * </pre></blockquote>
+ *
+ * @param <T> the type of the input
+ * @param <R> the type of the result
+ */
+public class SerializableFunctionWrapperClass<T, R> extends WrapperClass<Function<? super T, ? extends R>>
+		implements SerializableFunction<T, R> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Creates a wrapper of the {@link Function} built by the given supplier.
+	 *
+	 * @param supplier the supplier of the delegate, called on first use
+	 * @throws NullPointerException if supplier is null
+	 */
+	public SerializableFunctionWrapperClass(SerializableSupplier<? extends Function<? super T, ? extends R>> supplier) {
+		super(supplier);
+	}
+
+	@Override
+	public R apply(T t) {
+		return delegate.apply(t);
+	}
+
+	@Override
+	Function<? super T, ? extends R> bootstrap() {
+		return t -> initialize().apply(t);
+	}
+}
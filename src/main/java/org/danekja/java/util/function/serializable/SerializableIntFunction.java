@@ -31,6 +31,7 @@
 package org.danekja.java.util.function.serializable;
 
 import java.io.Serializable;
+import java.util.Objects;
 import java.util.function.IntFunction;
 
 /**
@@ -41,4 +42,24 @@ import java.util.function.IntFunction;
 @FunctionalInterface
 public interface SerializableIntFunction<R> extends IntFunction<R>, Serializable {
 
+	/**
+	 * Returns a function which caches the results of the given function for the arguments from
+	 * {@code from}, inclusive, to {@code to}, exclusive, in an array. The array is allocated
+	 * on first use and filled lazily. It is not serialized. Other arguments are passed to the
+	 * function on every call.
+	 *
+	 * <p>The function should be pure, as concurrent first calls for the same argument may each
+	 * call it.
+	 *
+	 * @param <R> the type of the result of the function
+	 * @param function the function to memoize
+	 * @param from the first memoized argument
+	 * @param to the argument after the last memoized one
+	 * @return the memoizing function
+	 * @throws NullPointerException if function is null
+	 * @throws IllegalArgumentException if {@code from > to}, or the range is too large for an array
+	 */
+	static <R> SerializableIntFunction<R> memoize(SerializableIntFunction<? extends R> function, int from, int to) {
+		return new MemoizingIntFunction<>(Objects.requireNonNull(function), from, to);
+	}
 }
@@ -31,6 +31,7 @@
 package org.danekja.java.util.function.serializable;
 
 import java.io.Serializable;
+import java.util.Objects;
 import java.util.function.IntSupplier;
 
 /**
@@ -41,4 +42,30 @@ import java.util.function.IntSupplier;
 @FunctionalInterface
 public interface SerializableIntSupplier extends IntSupplier, Serializable {
 
+	/**
+	 * Returns a supplier which calls the given supplier once, on first use, and then
+	 * returns the same result. The result is computed again after deserialization.
+	 *
+	 * @param supplier the supplier to memoize
+	 * @return the memoizing supplier
+	 * @throws NullPointerException if supplier is null
+	 */
+	static SerializableIntSupplier memoize(SerializableIntSupplier supplier) {
+		return memoize(supplier, false);
+	}
+
+	/**
+	 * Returns a supplier which calls the given supplier once, on first use, and then
+	 * returns the same result. Concurrent first calls wait for a single call of the
+	 * supplier, and later calls do not lock.
+	 *
+	 * @param supplier the supplier to memoize
+	 * @param serializeValue whether a computed result is serialized with the memoizing
+	 *                       supplier, rather than computed again after deserialization
+	 * @return the memoizing supplier
+	 * @throws NullPointerException if supplier is null
+	 */
+	static SerializableIntSupplier memoize(SerializableIntSupplier supplier, boolean serializeValue) {
+		return new MemoizingIntSupplier(Objects.requireNonNull(supplier), serializeValue);
+	}
 }
@@ -47,6 +47,9 @@ public interface SerializableIntUnaryOperator extends IntUnaryOperator, Serializ
 	 * If evaluation of either operator throws an exception, it is relayed to
 	 * the caller of the composed operator.
 	 *
+	 * <p>Chained calls are collected into one flat pipeline, which is applied with
+	 * a loop and from which identity operators are dropped.
+	 *
 	 * @param before the operator to apply before this operator is applied
 	 * @return a composed operator that first applies the {@code before}
 	 * operator and then applies this operator
@@ -56,7 +59,7 @@ public interface SerializableIntUnaryOperator extends IntUnaryOperator, Serializ
 	 */
 	default SerializableIntUnaryOperator compose(SerializableIntUnaryOperator before) {
 		Objects.requireNonNull(before);
-		return (int v) -> applyAsInt(before.applyAsInt(v));
+		return IntUnaryOperatorPipeline.of(before, this);
 	}
 
 	/**
@@ -65,6 +68,9 @@ public interface SerializableIntUnaryOperator extends IntUnaryOperator, Serializ
 	 * If evaluation of either operator throws an exception, it is relayed to
 	 * the caller of the composed operator.
 	 *
+	 * <p>Chained calls are collected into one flat pipeline, which is applied with
+	 * a loop and from which identity operators are dropped.
+	 *
 	 * @param after the operator to apply after this operator is applied
 	 * @return a composed operator that first applies this operator and then
 	 * applies the {@code after} operator
@@ -74,7 +80,7 @@ public interface SerializableIntUnaryOperator extends IntUnaryOperator, Serializ
 	 */
 	default SerializableIntUnaryOperator andThen(SerializableIntUnaryOperator after) {
 		Objects.requireNonNull(after);
-		return (int t) -> after.applyAsInt(applyAsInt(t));
+		return IntUnaryOperatorPipeline.of(this, after);
 	}
 
 	/**
@@ -83,6 +89,26 @@ public interface SerializableIntUnaryOperator extends IntUnaryOperator, Serializ
 	 * @return a unary operator that always returns its input argument
 	 */
 	static SerializableIntUnaryOperator identity() {
-		return t -> t;
+		return Identity.INSTANCE;
+	}
+
+	/**
+	 * Returns an operator which caches the results of the given operator for the operands from
+	 * {@code from}, inclusive, to {@code to}, exclusive, in an array. The array is allocated
+	 * on first use and filled lazily. It is not serialized. Other operands are passed to the
+	 * operator on every call.
+	 *
+	 * <p>The operator should be pure, as concurrent first calls for the same operand may each
+	 * call it.
+	 *
+	 * @param operator the operator to memoize
+	 * @param from the first memoized operand
+	 * @param to the operand after the last memoized one
+	 * @return the memoizing operator
+	 * @throws NullPointerException if operator is null
+	 * @throws IllegalArgumentException if {@code from > to}, or the range is too large for an array
+	 */
+	static SerializableIntUnaryOperator memoize(SerializableIntUnaryOperator operator, int from, int to) {
+		return new MemoizingIntUnaryOperator(Objects.requireNonNull(operator), from, to);
 	}
 }
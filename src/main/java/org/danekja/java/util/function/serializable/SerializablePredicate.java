@@ -51,6 +51,11 @@ public interface SerializablePredicate<T> extends Predicate<T>, Serializable {
 	 * to the caller; if evaluation of this predicate throws an exception, the
 	 * {@code other} predicate will not be evaluated.
 	 *
+	 * <p>Chained calls are collected into one flat node, which is evaluated with
+	 * a loop and is equal to other such nodes of structurally equal predicates.
+	 * Each call copies the operands collected so far, {@link #allOf} combines
+	 * many predicates in one step.
+	 *
 	 * @param other a predicate that will be logically-ANDed with this
 	 *              predicate
 	 * @return a composed predicate that represents the short-circuiting logical
@@ -59,18 +64,20 @@ public interface SerializablePredicate<T> extends Predicate<T>, Serializable {
 	 */
 	default SerializablePredicate<T> and(SerializablePredicate<? super T> other) {
 		Objects.requireNonNull(other);
-		return (t) -> test(t) && other.test(t);
+		return AllOfPredicate.of(this, other);
 	}
 
 	/**
 	 * Returns a predicate that represents the logical negation of this
 	 * predicate.
 	 *
+	 * <p>The negation is equal to negations of structurally equal predicates.
+	 *
 	 * @return a predicate that represents the logical negation of this
 	 * predicate
 	 */
 	default SerializablePredicate<T> negate() {
-		return (t) -> !test(t);
+		return new NotPredicate<>(this);
 	}
 
 	/**
@@ -83,6 +90,11 @@ public interface SerializablePredicate<T> extends Predicate<T>, Serializable {
 	 * to the caller; if evaluation of this predicate throws an exception, the
 	 * {@code other} predicate will not be evaluated.
 	 *
+	 * <p>Chained calls are collected into one flat node, which is evaluated with
+	 * a loop and is equal to other such nodes of structurally equal predicates.
+	 * Each call copies the operands collected so far, {@link #anyOf} combines
+	 * many predicates in one step.
+	 *
 	 * @param other a predicate that will be logically-ORed with this
 	 *              predicate
 	 * @return a composed predicate that represents the short-circuiting logical
@@ -91,10 +103,52 @@ public interface SerializablePredicate<T> extends Predicate<T>, Serializable {
 	 */
 	default SerializablePredicate<T> or(SerializablePredicate<? super T> other) {
 		Objects.requireNonNull(other);
-		return (t) -> test(t) || other.test(t);
+		return AnyOfPredicate.of(this, other);
 	}
 
+	@SuppressWarnings("unchecked")
 	static <T> SerializablePredicate<T> isEqual(Object targetRef) {
-		return (null == targetRef) ? Objects::isNull : object -> targetRef.equals(object);
+		if (null == targetRef) {
+			return (SerializablePredicate<T>) (SerializablePredicate<?>) NullPredicate.IS_NULL;
+		}
+		return object -> targetRef.equals(object);
+	}
+
+	/**
+	 * Returns a short-circuiting logical AND of the given predicates, which are
+	 * evaluated in order until one of them returns {@code false}.
+	 *
+	 * <p>The result is the same flat node a chain of {@link #and} calls builds, but the
+	 * operands are copied once instead of once per call.
+	 *
+	 * @param <T> the type of the input to the predicate
+	 * @param predicates the predicates to combine
+	 * @return the composed predicate
+	 * @throws NullPointerException if any of the predicates is null
+	 * @throws IllegalArgumentException if no predicates are given
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs")
+	static <T> SerializablePredicate<T> allOf(SerializablePredicate<? super T>... predicates) {
+		return AllOfPredicate.of(predicates);
+	}
+
+	/**
+	 * Returns a short-circuiting logical OR of the given predicates, which are
+	 * evaluated in order until one of them returns {@code true}.
+	 *
+	 * <p>The result is the same flat node a chain of {@link #or} calls builds, but the
+	 * operands are copied once instead of once per call.
+	 *
+	 * @param <T> the type of the input to the predicate
+	 * @param predicates the predicates to combine
+	 * @return the composed predicate
+	 * @throws NullPointerException if any of the predicates is null
+	 * @throws IllegalArgumentException if no predicates are given
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs")
+	static <T> SerializablePredicate<T> anyOf(SerializablePredicate<? super T>... predicates) {
+		return AnyOfPredicate.of(predicates);
 	}
 }
@@ -31,6 +31,7 @@
 package org.danekja.java.util.function.serializable;
 
 import java.io.Serializable;
+import java.util.Objects;
 import java.util.function.Supplier;
 
 /**
@@ -41,4 +42,32 @@ import java.util.function.Supplier;
 @FunctionalInterface
 public interface SerializableSupplier<T> extends Supplier<T>, Serializable {
 
+	/**
+	 * Returns a supplier which calls the given supplier once, on first use, and then
+	 * returns the same result. The result is computed again after deserialization.
+	 *
+	 * @param <T> the type of the result
+	 * @param supplier the supplier to memoize
+	 * @return the memoizing supplier
+	 * @throws NullPointerException if supplier is null
+	 */
+	static <T> SerializableSupplier<T> memoize(SerializableSupplier<? extends T> supplier) {
+		return memoize(supplier, false);
+	}
+
+	/**
+	 * Returns a supplier which calls the given supplier once, on first use, and then
+	 * returns the same result. Concurrent first calls wait for a single call of the
+	 * supplier, and later calls do not lock.
+	 *
+	 * @param <T> the type of the result
+	 * @param supplier the supplier to memoize
+	 * @param serializeValue whether a computed result is serialized with the memoizing
+	 *                       supplier, rather than computed again after deserialization
+	 * @return the memoizing supplier
+	 * @throws NullPointerException if supplier is null
+	 */
+	static <T> SerializableSupplier<T> memoize(SerializableSupplier<? extends T> supplier, boolean serializeValue) {
+		return new MemoizingSupplier<>(Objects.requireNonNull(supplier), serializeValue);
+	}
 }
@@ -46,7 +46,8 @@ public interface SerializableUnaryOperator<T> extends UnaryOperator<T>, Serializ
 	 * @param <T> the type of the input and output of the operator
 	 * @return a unary operator that always returns its input argument
 	 */
+	@SuppressWarnings("unchecked")
 	static <T> SerializableUnaryOperator<T> identity() {
-		return t -> t;
+		return (SerializableUnaryOperator<T>) (SerializableUnaryOperator<?>) Identity.INSTANCE;
 	}
 }
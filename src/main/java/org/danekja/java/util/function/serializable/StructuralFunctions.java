@@ -0,0 +1,120 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.util.Objects;
+
+/**
+ * Opt-in combinators of {@link SerializablePredicate} and {@link SerializableFunction} whose
+ * results are guaranteed to have structural equality.
+ *
+ * <p>The instances returned by this class are equal if they are composed the same way of
+ * structurally equal operands (see
+ * {@link org.danekja.java.codec.SerializedLambdas#structuralEquals(Object, Object)}), so two
+ * logically identical filters built independently can be used as the same {@link java.util.HashMap}
+ * key. Their hash code is computed once and cached, and further combining them through their
+ * default methods returns structural instances again. The default combinators currently
+ * return the same instances, this class makes that property part of the contract.
+ *
+ * <p>Usage example:
+ *
+ * <blockquote><pre>
+ * SerializablePredicate&lt;Person&gt; filter = StructuralFunctions.and(Person::isActive, p -&gt; p.getAge() &gt;= minAge);
+ * List&lt;Person&gt; cached = cache.get(filter);
+ * </pre></blockquote>
+ */
+public final class StructuralFunctions {
+
+	private StructuralFunctions() {
+	}
+
+	/**
+	 * Returns a structural short-circuiting logical AND of two predicates.
+	 *
+	 * @param <T> the type of the input to the predicate
+	 * @param first the predicate evaluated first
+	 * @param second the predicate evaluated if {@code first} is {@code true}
+	 * @return the composed predicate
+	 * @throws NullPointerException if either argument is null
+	 * @see SerializablePredicate#and(SerializablePredicate)
+	 */
+	public static <T> SerializablePredicate<T> and(SerializablePredicate<? super T> first,
+			SerializablePredicate<? super T> second) {
+		return AllOfPredicate.of(Objects.requireNonNull(first), Objects.requireNonNull(second));
+	}
+
+	/**
+	 * Returns a structural short-circuiting logical OR of two predicates.
+	 *
+	 * @param <T> the type of the input to the predicate
+	 * @param first the predicate evaluated first
+	 * @param second the predicate evaluated if {@code first} is {@code false}
+	 * @return the composed predicate
+	 * @throws NullPointerException if either argument is null
+	 * @see SerializablePredicate#or(SerializablePredicate)
+	 */
+	public static <T> SerializablePredicate<T> or(SerializablePredicate<? super T> first,
+			SerializablePredicate<? super T> second) {
+		return AnyOfPredicate.of(Objects.requireNonNull(first), Objects.requireNonNull(second));
+	}
+
+	/**
+	 * Returns a structural logical negation of a predicate.
+	 *
+	 * @param <T> the type of the input to the predicate
+	 * @param predicate the predicate to negate
+	 * @return the negated predicate
+	 * @throws NullPointerException if the argument is null
+	 * @see SerializablePredicate#negate()
+	 */
+	public static <T> SerializablePredicate<T> not(SerializablePredicate<? super T> predicate) {
+		return new NotPredicate<>(Objects.requireNonNull(predicate));
+	}
+
+	/**
+	 * Returns a structural composition which first applies {@code first} and then
+	 * {@code second} to its result.
+	 *
+	 * @param <T> the type of the input to the function
+	 * @param <U> the type of the intermediate result
+	 * @param <R> the type of the result of the function
+	 * @param first the function applied first
+	 * @param second the function applied to the result of {@code first}
+	 * @return the composed function
+	 * @throws NullPointerException if either argument is null
+	 * @see SerializableFunction#andThen(SerializableFunction)
+	 * @see SerializableFunction#compose(SerializableFunction)
+	 */
+	public static <T, U, R> SerializableFunction<T, R> andThen(SerializableFunction<? super T, ? extends U> first,
+			SerializableFunction<? super U, ? extends R> second) {
+		return FunctionPipeline.of(Objects.requireNonNull(first), Objects.requireNonNull(second));
+	}
+}
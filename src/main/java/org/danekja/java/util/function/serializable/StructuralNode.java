@@ -0,0 +1,64 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.Serializable;
+
+/**
+ * Base of the composed instances created by the combinators of the interfaces in this package,
+ * such as {@link SerializablePredicate#and}, {@link SerializableIntPredicate#negate()} or
+ * {@link SerializableFunction#andThen}. They are equal if they are composed the same way of
+ * structurally equal operands.
+ *
+ * <p>The hash code is computed on first use and cached. It is not serialized, as it may depend
+ * on identity hash codes of the operands.
+ */
+abstract class StructuralNode implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private transient int hash;
+
+	@Override
+	public abstract boolean equals(Object obj);
+
+	@Override
+	public final int hashCode() {
+		int h = hash;
+		if (h == 0) {
+			h = computeHashCode();
+			hash = h;
+		}
+		return h;
+	}
+
+	abstract int computeHashCode();
+}
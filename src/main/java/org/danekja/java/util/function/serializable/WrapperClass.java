@@ -0,0 +1,100 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Base of the {@code Serializable...WrapperClass} family, which wraps a non-serializable delegate
+ * built by a {@link SerializableSupplier}. Only the supplier is serialized.
+ *
+ * <p>Until the delegate is built, {@link #delegate} holds a bootstrap instance of the same
+ * interface, which builds it under the monitor of this object and then replaces itself with it.
+ * The supplier is thus called once per instance, and calls made after that go to the delegate
+ * without a null check or locking.
+ *
+ * @param <D> the type of the delegate
+ */
+abstract class WrapperClass<D> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final SerializableSupplier<? extends D> supplier;
+
+	/**
+	 * The delegate, or the bootstrap instance until it is built.
+	 */
+	transient volatile D delegate;
+
+	/**
+	 * Whether {@link #delegate} is built. Guarded by the monitor of this object.
+	 */
+	private transient boolean initialized;
+
+	WrapperClass(SerializableSupplier<? extends D> supplier) {
+		this.supplier = Objects.requireNonNull(supplier);
+		this.delegate = bootstrap();
+	}
+
+	/**
+	 * Returns an instance of the delegate interface which calls {@link #initialize()} and
+	 * forwards the call to its result.
+	 *
+	 * @return the bootstrap instance
+	 */
+	abstract D bootstrap();
+
+	/**
+	 * Builds the delegate, unless already built.
+	 *
+	 * @return the delegate
+	 * @throws NullPointerException if the supplier returns null
+	 */
+	final synchronized D initialize() {
+		if (!initialized) {
+			delegate = Objects.requireNonNull(supplier.get(), "supplier returned null");
+			initialized = true;
+		}
+		return delegate;
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		if (supplier == null) {
+			throw new InvalidObjectException("Null supplier");
+		}
+		delegate = bootstrap();
+	}
+}
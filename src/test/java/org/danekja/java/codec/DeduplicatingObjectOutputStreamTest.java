@@ -0,0 +1,143 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.danekja.java.misc.serializable.SerializableComparator;
+import org.danekja.java.util.function.serializable.SerializablePredicate;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DeduplicatingObjectOutputStreamTest {
+
+	private static final int COUNT = 1000;
+
+	private static final class Row {
+		private final String name;
+
+		Row(String name) {
+			this.name = name;
+		}
+
+		String getName() {
+			return name;
+		}
+	}
+
+	private static SerializablePredicate<String> startsWith(String prefix) {
+		return s -> s.startsWith(prefix);
+	}
+
+	private static byte[] write(ObjectOutputStream out, ByteArrayOutputStream bytes, Object value) throws IOException {
+		try (ObjectOutputStream stream = out) {
+			stream.writeObject(value);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static byte[] plain(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		return write(new ObjectOutputStream(bytes), bytes, value);
+	}
+
+	private static byte[] deduplicated(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		return write(new DeduplicatingObjectOutputStream(bytes), bytes, value);
+	}
+
+	private static List<?> read(byte[] data) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+			return (List<?>) in.readObject();
+		}
+	}
+
+	private static void assertShared(List<?> values) {
+		assertEquals(COUNT, values.size());
+		for (Object value : values) {
+			assertSame(values.get(0), value);
+		}
+	}
+
+	@Test
+	public void equalComparatorsAreShared() throws Exception {
+		List<SerializableComparator<Row>> comparators = new ArrayList<>();
+		for (int i = 0; i < COUNT; i++) {
+			comparators.add(SerializableComparator.comparing(Row::getName));
+		}
+		assertNotSame(comparators.get(0), comparators.get(1));
+
+		byte[] data = deduplicated(comparators);
+		assertTrue(data.length * 5 < plain(comparators).length);
+
+		List<?> copy = read(data);
+		assertShared(copy);
+		@SuppressWarnings("unchecked")
+		SerializableComparator<Row> comparator = (SerializableComparator<Row>) copy.get(0);
+		assertTrue(comparator.compare(new Row("a"), new Row("b")) < 0);
+	}
+
+	@Test
+	public void equalLambdasAreShared() throws Exception {
+		List<SerializablePredicate<String>> predicates = new ArrayList<>();
+		for (int i = 0; i < COUNT; i++) {
+			predicates.add(startsWith(new String("a")));
+		}
+		assertShared(read(deduplicated(predicates)));
+	}
+
+	@Test
+	public void equalComposedPredicatesAreShared() throws Exception {
+		List<SerializablePredicate<String>> predicates = new ArrayList<>();
+		for (int i = 0; i < COUNT; i++) {
+			predicates.add(startsWith("a").and(startsWith("ab").negate()));
+		}
+		assertShared(read(deduplicated(predicates)));
+	}
+
+	@Test
+	public void differentInstancesAreKept() throws Exception {
+		List<SerializableComparator<Row>> comparators = new ArrayList<>();
+		comparators.add(SerializableComparator.comparing(Row::getName));
+		comparators.add(SerializableComparator.comparing(Row::getName).reversed());
+
+		List<?> copy = read(deduplicated(comparators));
+		assertNotSame(copy.get(0), copy.get(1));
+		assertNotEquals(copy.get(0), copy.get(1));
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.danekja.java.util.function.serializable.SerializableFunction;
+import org.danekja.java.util.function.serializable.SerializablePredicate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LambdaArchiveTest {
+
+	private Path directory;
+
+	private Path file;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("archive");
+		file = directory.resolve("lambdas");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(LambdaArchive.indexFile(file));
+		Files.deleteIfExists(file);
+		Files.delete(directory);
+	}
+
+	private static SerializablePredicate<String> startsWith(String prefix) {
+		return s -> s.startsWith(prefix);
+	}
+
+	private static List<Object> samples() {
+		return Arrays.asList(startsWith("a"), null, startsWith("b").and(startsWith("bc")),
+				(SerializableFunction<String, Integer>) String::length, "text");
+	}
+
+	@Test
+	public void appendedObjectsAreReadBack() throws Exception {
+		try (LambdaArchiveWriter writer = new LambdaArchiveWriter(file)) {
+			for (int i = 0; i < samples().size(); i++) {
+				assertEquals(i, writer.append(samples().get(i)));
+			}
+		}
+
+		try (LambdaArchive archive = LambdaArchive.open(file)) {
+			assertEquals(samples().size(), archive.size());
+			for (int i = 0; i < samples().size(); i++) {
+				assertTrue(SerializedLambdas.structuralEquals(samples().get(i), archive.get(i)));
+			}
+		}
+	}
+
+	@Test
+	public void objectsBecomeVisibleOnFlush() throws Exception {
+		try (LambdaArchiveWriter writer = new LambdaArchiveWriter(file)) {
+			writer.append(startsWith("a"));
+			writer.append(startsWith("b"));
+			assertEquals(2, writer.size());
+			try (LambdaArchive archive = LambdaArchive.open(file)) {
+				assertEquals(0, archive.size());
+			}
+
+			writer.flush();
+			writer.append(startsWith("c"));
+			try (LambdaArchive archive = LambdaArchive.open(file)) {
+				assertEquals(2, archive.size());
+				@SuppressWarnings("unchecked")
+				SerializablePredicate<String> second = (SerializablePredicate<String>) archive.get(1);
+				assertTrue(second.test("b"));
+			}
+		}
+
+		try (LambdaArchive archive = LambdaArchive.open(file)) {
+			assertEquals(3, archive.size());
+		}
+	}
+
+	@Test
+	public void reopenedWriterAppendsAfterExistingObjects() throws Exception {
+		try (LambdaArchiveWriter writer = new LambdaArchiveWriter(file)) {
+			writer.append(startsWith("a"));
+		}
+		try (LambdaArchiveWriter writer = new LambdaArchiveWriter(file)) {
+			assertEquals(1, writer.size());
+			assertEquals(1, writer.append(startsWith("b")));
+		}
+
+		try (LambdaArchive archive = LambdaArchive.open(file)) {
+			assertEquals(2, archive.size());
+			@SuppressWarnings("unchecked")
+			SerializablePredicate<String> first = (SerializablePredicate<String>) archive.get(0);
+			assertTrue(first.test("a"));
+			@SuppressWarnings("unchecked")
+			SerializablePredicate<String> second = (SerializablePredicate<String>) archive.get(1);
+			assertTrue(second.test("b"));
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void missingIdIsRejected() throws Exception {
+		new LambdaArchiveWriter(file).close();
+		try (LambdaArchive archive = LambdaArchive.open(file)) {
+			archive.get(0);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void closedArchiveIsRejected() throws Exception {
+		try (LambdaArchiveWriter writer = new LambdaArchiveWriter(file)) {
+			writer.append(startsWith("a"));
+		}
+		LambdaArchive archive = LambdaArchive.open(file);
+		archive.close();
+		archive.get(0);
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.danekja.java.misc.serializable.SerializableComparator;
+import org.danekja.java.util.function.serializable.SerializableFunction;
+import org.danekja.java.util.function.serializable.SerializablePredicate;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LambdaCodecTest {
+
+	private static SerializablePredicate<String> startsWith(String prefix) {
+		return s -> s.startsWith(prefix);
+	}
+
+	private static SerializablePredicate<String> longerThan(int length) {
+		return s -> s.length() > length;
+	}
+
+	private static SerializablePredicate<String> inUnit(TimeUnit unit, long limit, double factor, char first) {
+		return s -> unit.toMillis(limit) * factor > s.length() && s.charAt(0) != first;
+	}
+
+	private static SerializablePredicate<String> contains(List<String> list) {
+		return list::contains;
+	}
+
+	private static List<Object> samples() {
+		SerializablePredicate<String> prefix = startsWith("a");
+		SerializableFunction<String, Integer> length = String::length;
+		return Arrays.asList(
+				null,
+				"plain string",
+				42,
+				prefix,
+				prefix.and(longerThan(2)).or(prefix.negate()),
+				prefix.and(prefix),
+				inUnit(TimeUnit.SECONDS, 3L, 0.5, 'x'),
+				contains(new ArrayList<>(Arrays.asList("a", "b"))),
+				length.andThen(i -> i * 2),
+				SerializableComparator.comparing(length).thenComparing(SerializableComparator.naturalOrder()));
+	}
+
+	private static void assertRoundTrip(Object expected, Object actual) {
+		assertTrue(expected + " != " + actual, SerializedLambdas.structuralEquals(expected, actual));
+	}
+
+	@Test
+	public void byteArrayRoundTrip() throws Exception {
+		for (Object sample : samples()) {
+			assertRoundTrip(sample, LambdaCodec.decode(LambdaCodec.encode(sample)));
+		}
+	}
+
+	@Test
+	public void decodedLambdasBehaveLikeTheOriginal() throws Exception {
+		SerializablePredicate<String> predicate = startsWith("a").and(longerThan(2)).or(inUnit(TimeUnit.SECONDS, 3L, 0.5, 'x'));
+		@SuppressWarnings("unchecked")
+		SerializablePredicate<String> decoded = (SerializablePredicate<String>) LambdaCodec.decode(LambdaCodec.encode(predicate));
+		for (String s : Arrays.asList("a", "abc", "b", "xyz", "bcd")) {
+			assertEquals(s, predicate.test(s), decoded.test(s));
+		}
+	}
+
+	@Test
+	public void heapAndDirectByteBufferRoundTrip() throws Exception {
+		for (ByteBuffer buffer : Arrays.asList(ByteBuffer.allocate(1 << 16), ByteBuffer.allocateDirect(1 << 16))) {
+			List<Object> samples = samples();
+			List<Integer> sizes = new ArrayList<>();
+			for (Object sample : samples) {
+				int start = buffer.position();
+				int size = LambdaCodec.encode(sample, buffer);
+				assertEquals(start + size, buffer.position());
+				sizes.add(size);
+			}
+
+			buffer.flip();
+			for (int i = 0; i < samples.size(); i++) {
+				int start = buffer.position();
+				assertRoundTrip(samples.get(i), LambdaCodec.decode(buffer));
+				assertEquals(start + sizes.get(i), buffer.position());
+			}
+			assertFalse(buffer.hasRemaining());
+		}
+	}
+
+	@Test
+	public void encodeIntoFullBufferLeavesPositionUnchanged() throws Exception {
+		ByteBuffer buffer = ByteBuffer.allocate(8);
+		buffer.put((byte) 1);
+		try {
+			LambdaCodec.encode(startsWith("a").and(longerThan(2)), buffer);
+			fail("expected BufferOverflowException");
+		} catch (BufferOverflowException e) {
+			assertEquals(1, buffer.position());
+		}
+	}
+
+	@Test
+	public void streamRoundTrip() throws Exception {
+		List<Object> samples = samples();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (LambdaStreamWriter writer = new LambdaStreamWriter(bytes)) {
+			for (int round = 0; round < 2; round++) {
+				for (Object sample : samples()) {
+					writer.write(sample);
+				}
+			}
+			assertTrue(writer.getStatistics().toString(), writer.getStatistics().getShapeHits() > 0);
+			writer.reset();
+			for (Object sample : samples) {
+				writer.write(sample);
+			}
+		}
+
+		try (LambdaStreamReader reader = new LambdaStreamReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+			for (int round = 0; round < 3; round++) {
+				for (Object sample : samples) {
+					assertRoundTrip(sample, reader.read());
+				}
+			}
+			try {
+				reader.read();
+				fail("expected EOFException");
+			} catch (EOFException expected) {
+			}
+		}
+	}
+
+	@Test
+	public void jdkSerializedFormIsDecodedAsFallback() throws Exception {
+		for (Object sample : samples()) {
+			byte[] serialized = jdkSerialize(sample);
+			assertRoundTrip(sample, LambdaCodec.decode(serialized));
+
+			ByteBuffer buffer = ByteBuffer.allocate(serialized.length + 2);
+			buffer.put(serialized).put((byte) 42).put((byte) 43).flip();
+			assertRoundTrip(sample, LambdaCodec.decode(buffer));
+			assertEquals(serialized.length, buffer.position());
+			assertEquals(42, buffer.get());
+		}
+	}
+
+	@Test
+	public void corruptedBufferLeavesPositionUnchanged() throws Exception {
+		byte[] encoded = LambdaCodec.encode(startsWith("a").and(longerThan(2)));
+		ByteBuffer buffer = ByteBuffer.wrap(encoded, 0, encoded.length / 2);
+		try {
+			LambdaCodec.decode(buffer);
+			fail("expected IOException");
+		} catch (IOException e) {
+			assertEquals(0, buffer.position());
+		}
+	}
+
+	private static byte[] jdkSerialize(Object obj) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		return bytes.toByteArray();
+	}
+}
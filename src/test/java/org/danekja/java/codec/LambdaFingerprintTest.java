@@ -0,0 +1,103 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.danekja.java.util.function.serializable.SerializableFunction;
+import org.danekja.java.util.function.serializable.SerializablePredicate;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LambdaFingerprintTest {
+
+	private static SerializablePredicate<String> startsWith(String prefix) {
+		return s -> s.startsWith(prefix);
+	}
+
+	private static SerializablePredicate<String> contains(List<String> list) {
+		return list::contains;
+	}
+
+	private static SerializableFunction<String, Integer> increment(SerializableFunction<String, Integer> function) {
+		return function.andThen(i -> i + 1);
+	}
+
+	@Test
+	public void aliasedAndCopiedCapturesHaveTheSameFingerprint() throws IOException {
+		SerializablePredicate<String> p = startsWith("a");
+		SerializablePredicate<String> copy = startsWith("a");
+		assertNotSame(p, copy);
+
+		assertEquals(LambdaFingerprint.of(p.and(p)), LambdaFingerprint.of(p.and(copy)));
+		assertEquals(LambdaFingerprint.of(p.and(p).or(p)), LambdaFingerprint.of(p.and(copy).or(startsWith("a"))));
+	}
+
+	@Test
+	public void separatelyBuiltInstancesHaveTheSameFingerprint() throws IOException {
+		SerializableFunction<String, Integer> length = String::length;
+
+		LambdaFingerprint first = LambdaFingerprint.of(startsWith("a").and(startsWith(new String("b"))));
+		LambdaFingerprint second = LambdaFingerprint.of(startsWith("a").and(startsWith(new String("b"))));
+		assertEquals(first, second);
+		assertEquals(LambdaFingerprint.of(increment(length)), LambdaFingerprint.of(increment(length)));
+	}
+
+	@Test
+	public void capturedCollectionsAreHashedByTheirSerializedForm() throws IOException {
+		List<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+		SerializablePredicate<String> p = contains(list);
+		SerializablePredicate<String> q = contains(new ArrayList<>(list));
+		assertEquals(LambdaFingerprint.of(p), LambdaFingerprint.of(q));
+
+		list.add("c");
+		assertNotEquals(LambdaFingerprint.of(p), LambdaFingerprint.of(q));
+	}
+
+	@Test
+	public void differentCapturesHaveDifferentFingerprints() throws IOException {
+		assertNotEquals(LambdaFingerprint.of(startsWith("a")), LambdaFingerprint.of(startsWith("b")));
+		assertNotEquals(LambdaFingerprint.of(startsWith("a").and(startsWith("b"))),
+				LambdaFingerprint.of(startsWith("b").and(startsWith("a"))));
+	}
+
+	@Test
+	public void fingerprintDoesNotDependOnPreviousEncodings() throws IOException {
+		SerializablePredicate<String> p = startsWith("a");
+		LambdaFingerprint expected = LambdaFingerprint.of(p);
+		LambdaCodec.encode(p.and(p));
+		assertEquals(expected, LambdaFingerprint.of(p));
+	}
+}
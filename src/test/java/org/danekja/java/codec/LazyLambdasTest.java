@@ -0,0 +1,131 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import org.danekja.java.util.function.serializable.SerializablePredicate;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LazyLambdasTest {
+
+	/**
+	 * Captured value counting how often it is deserialized, i.e. how often a proxy decodes it.
+	 */
+	private static final class Counted implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		static int reads;
+
+		final String prefix;
+
+		Counted(String prefix) {
+			this.prefix = prefix;
+		}
+
+		private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+			in.defaultReadObject();
+			reads++;
+		}
+	}
+
+	private static SerializablePredicate<String> startsWith(Counted counted) {
+		return s -> s.startsWith(counted.prefix);
+	}
+
+	private static byte[] serialize(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(value);
+		}
+		return bytes.toByteArray();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T deserialize(byte[] data) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+			return (T) in.readObject();
+		}
+	}
+
+	@Before
+	public void setUp() {
+		Counted.reads = 0;
+	}
+
+	@Test
+	public void originalBytesAreWrittenBeforeFirstUse() throws Exception {
+		byte[] original = serialize(LazyLambdas.predicate(startsWith(new Counted("a"))));
+		SerializablePredicate<String> copy = deserialize(original);
+
+		assertArrayEquals(original, serialize(copy));
+		SerializablePredicate<String> second = deserialize(serialize(copy));
+		assertEquals(0, Counted.reads);
+
+		assertTrue(copy.test("abc"));
+		assertFalse(copy.test("b"));
+		assertTrue(second.test("a"));
+		assertEquals(2, Counted.reads);
+	}
+
+	@Test
+	public void decodedDelegateIsEncodedAgain() throws Exception {
+		SerializablePredicate<String> copy = deserialize(serialize(LazyLambdas.predicate(startsWith(new Counted("a")))));
+		assertTrue(copy.test("a"));
+		assertEquals(1, Counted.reads);
+
+		SerializablePredicate<String> again = deserialize(serialize(copy));
+		assertEquals(1, Counted.reads);
+		assertTrue(again.test("a"));
+		assertFalse(again.test("b"));
+		assertEquals(2, Counted.reads);
+	}
+
+	@Test
+	public void proxyWorksBeforeSerialization() {
+		SerializablePredicate<String> proxy = LazyLambdas.predicate(startsWith(new Counted("a")));
+		assertTrue(proxy.test("a"));
+		assertEquals(0, Counted.reads);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullDelegateIsRejected() {
+		LazyLambdas.predicate(null);
+	}
+}
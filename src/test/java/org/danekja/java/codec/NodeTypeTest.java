@@ -0,0 +1,273 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.danekja.java.misc.serializable.SerializableComparator;
+import org.danekja.java.misc.serializable.SerializableRunnable;
+import org.danekja.java.util.function.serializable.AdaptivePredicates;
+import org.danekja.java.util.function.serializable.SerializableBiConsumer;
+import org.danekja.java.util.function.serializable.SerializableBiFunction;
+import org.danekja.java.util.function.serializable.SerializableBiPredicate;
+import org.danekja.java.util.function.serializable.SerializableConsumer;
+import org.danekja.java.util.function.serializable.SerializableDoublePredicate;
+import org.danekja.java.util.function.serializable.SerializableDoubleUnaryOperator;
+import org.danekja.java.util.function.serializable.SerializableFunction;
+import org.danekja.java.util.function.serializable.SerializableIntPredicate;
+import org.danekja.java.util.function.serializable.SerializableIntUnaryOperator;
+import org.danekja.java.util.function.serializable.SerializableLongPredicate;
+import org.danekja.java.util.function.serializable.SerializableLongUnaryOperator;
+import org.danekja.java.util.function.serializable.SerializablePredicate;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NodeTypeTest {
+
+	private static final List<String> LOG = new ArrayList<>();
+
+	private static SerializablePredicate<String> startsWith(String prefix) {
+		return s -> s.startsWith(prefix);
+	}
+
+	private static SerializableIntPredicate intAbove(int bound) {
+		return i -> i > bound;
+	}
+
+	private static SerializableLongPredicate longAbove(long bound) {
+		return l -> l > bound;
+	}
+
+	private static SerializableDoublePredicate doubleAbove(double bound) {
+		return d -> d > bound;
+	}
+
+	private static SerializableBiPredicate<String, Integer> longerThan(int offset) {
+		return (s, i) -> s.length() > i + offset;
+	}
+
+	private static SerializableFunction<String, String> append(String suffix) {
+		return s -> s + suffix;
+	}
+
+	private static SerializableIntUnaryOperator addInt(int addend) {
+		return i -> i + addend;
+	}
+
+	private static SerializableLongUnaryOperator addLong(long addend) {
+		return l -> l + addend;
+	}
+
+	private static SerializableDoubleUnaryOperator addDouble(double addend) {
+		return d -> d + addend;
+	}
+
+	private static SerializableConsumer<String> log(String prefix) {
+		return s -> LOG.add(prefix + s);
+	}
+
+	private static SerializableBiConsumer<String, Integer> logBoth(String prefix) {
+		return (s, i) -> LOG.add(prefix + s + i);
+	}
+
+	private static SerializableRunnable logRun(String text) {
+		return () -> {
+			synchronized (LOG) {
+				LOG.add(text);
+			}
+		};
+	}
+
+	private static SerializableFunction<String, Character> charAt(int index) {
+		return s -> s.charAt(index);
+	}
+
+	private static SerializableBiFunction<String, String, String> concat() {
+		return (a, b) -> a + b;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T roundTrip(T node, String nodeClass) throws IOException, ClassNotFoundException {
+		assertEquals(nodeClass, node.getClass().getSimpleName());
+		byte[] encoded = LambdaCodec.encode(node);
+		ByteArrayOutputStream jdk = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(jdk)) {
+			out.writeObject(node);
+		}
+		assertTrue(nodeClass + ": " + encoded.length + " >= " + jdk.size(), encoded.length * 2 < jdk.size());
+
+		T decoded = (T) LambdaCodec.decode(encoded);
+		assertSame(node.getClass(), decoded.getClass());
+		return decoded;
+	}
+
+	private static void assertStructurallyEqual(Object expected, Object actual) {
+		assertNotSame(expected, actual);
+		assertEquals(expected, actual);
+		assertEquals(expected.hashCode(), actual.hashCode());
+	}
+
+	@Test
+	public void predicates() throws Exception {
+		SerializablePredicate<String> and = startsWith("a").and(startsWith("ab"));
+		SerializablePredicate<String> or = startsWith("a").or(startsWith("b"));
+		SerializablePredicate<String> not = startsWith("a").negate();
+		assertStructurallyEqual(and, roundTrip(and, "AllOfPredicate"));
+		assertStructurallyEqual(or, roundTrip(or, "AnyOfPredicate"));
+		assertStructurallyEqual(not, roundTrip(not, "NotPredicate"));
+		assertTrue(roundTrip(and, "AllOfPredicate").test("abc"));
+		assertFalse(roundTrip(not, "NotPredicate").test("abc"));
+	}
+
+	@Test
+	public void primitivePredicates() throws Exception {
+		SerializableIntPredicate[] ints = { intAbove(1).and(intAbove(2)), intAbove(1).or(intAbove(2)), intAbove(1).negate() };
+		String[] intClasses = { "AllOfIntPredicate", "AnyOfIntPredicate", "NotIntPredicate" };
+		SerializableLongPredicate[] longs = { longAbove(1).and(longAbove(2)), longAbove(1).or(longAbove(2)), longAbove(1).negate() };
+		String[] longClasses = { "AllOfLongPredicate", "AnyOfLongPredicate", "NotLongPredicate" };
+		SerializableDoublePredicate[] doubles = { doubleAbove(1).and(doubleAbove(2)), doubleAbove(1).or(doubleAbove(2)),
+				doubleAbove(1).negate() };
+		String[] doubleClasses = { "AllOfDoublePredicate", "AnyOfDoublePredicate", "NotDoublePredicate" };
+		List<SerializableBiPredicate<String, Integer>> bis = Arrays.asList(longerThan(1).and(longerThan(2)),
+				longerThan(1).or(longerThan(2)), longerThan(1).negate());
+		String[] biClasses = { "AllOfBiPredicate", "AnyOfBiPredicate", "NotBiPredicate" };
+
+		for (int i = 0; i < 3; i++) {
+			SerializableIntPredicate intCopy = roundTrip(ints[i], intClasses[i]);
+			assertStructurallyEqual(ints[i], intCopy);
+			assertEquals(ints[i].test(2), intCopy.test(2));
+			SerializableLongPredicate longCopy = roundTrip(longs[i], longClasses[i]);
+			assertStructurallyEqual(longs[i], longCopy);
+			assertEquals(longs[i].test(2L), longCopy.test(2L));
+			SerializableDoublePredicate doubleCopy = roundTrip(doubles[i], doubleClasses[i]);
+			assertStructurallyEqual(doubles[i], doubleCopy);
+			assertEquals(doubles[i].test(1.5), doubleCopy.test(1.5));
+			SerializableBiPredicate<String, Integer> biCopy = roundTrip(bis.get(i), biClasses[i]);
+			assertStructurallyEqual(bis.get(i), biCopy);
+			assertEquals(bis.get(i).test("abcd", 1), biCopy.test("abcd", 1));
+		}
+	}
+
+	@Test
+	public void adaptivePredicate() throws Exception {
+		SerializablePredicate<String> rule = AdaptivePredicates.anyOf(startsWith("a"), startsWith("b"));
+		SerializablePredicate<String> copy = roundTrip(rule, "AdaptivePredicate");
+		assertStructurallyEqual(rule, copy);
+		assertTrue(copy.test("b"));
+	}
+
+	@Test
+	public void pipelines() throws Exception {
+		SerializableFunction<String, String> function = append("a").andThen(append("b"));
+		SerializableIntUnaryOperator ints = addInt(1).andThen(addInt(2));
+		SerializableLongUnaryOperator longs = addLong(1).andThen(addLong(2));
+		SerializableDoubleUnaryOperator doubles = addDouble(1).andThen(addDouble(2));
+		SerializableBiFunction<String, String, String> bi = concat().andThen(append("c"));
+
+		assertEquals("xab", roundTrip(function, "FunctionPipeline").apply("x"));
+		assertStructurallyEqual(function, roundTrip(function, "FunctionPipeline"));
+		assertEquals(3, roundTrip(ints, "IntUnaryOperatorPipeline").applyAsInt(0));
+		assertStructurallyEqual(ints, roundTrip(ints, "IntUnaryOperatorPipeline"));
+		assertEquals(3L, roundTrip(longs, "LongUnaryOperatorPipeline").applyAsLong(0L));
+		assertStructurallyEqual(longs, roundTrip(longs, "LongUnaryOperatorPipeline"));
+		assertEquals(3.0, roundTrip(doubles, "DoubleUnaryOperatorPipeline").applyAsDouble(0.0), 0.0);
+		assertStructurallyEqual(doubles, roundTrip(doubles, "DoubleUnaryOperatorPipeline"));
+		assertEquals("xyc", roundTrip(bi, "BiFunctionPipeline").apply("x", "y"));
+		assertStructurallyEqual(bi, roundTrip(bi, "BiFunctionPipeline"));
+	}
+
+	@Test
+	public void consumers() throws Exception {
+		SerializableConsumer<String> consumer = log("a").andThen(log("b"));
+		SerializableBiConsumer<String, Integer> biConsumer = logBoth("a").andThen(logBoth("b"));
+
+		LOG.clear();
+		roundTrip(consumer, "FanOutConsumer").accept("x");
+		roundTrip(biConsumer, "FanOutBiConsumer").accept("x", 1);
+		assertEquals(Arrays.asList("ax", "bx", "ax1", "bx1"), LOG);
+		assertStructurallyEqual(consumer, roundTrip(consumer, "FanOutConsumer"));
+		assertStructurallyEqual(biConsumer, roundTrip(biConsumer, "FanOutBiConsumer"));
+	}
+
+	@Test
+	public void multiKeyComparator() throws Exception {
+		SerializableComparator<String> comparator = SerializableComparator.comparing(charAt(0))
+				.thenComparing(SerializableComparator.nullsFirst(SerializableComparator.<String> naturalOrder()))
+				.thenComparingInt(String::length)
+				.reversed();
+		SerializableComparator<String> copy = roundTrip(comparator, "MultiKeyComparator");
+		assertStructurallyEqual(comparator, copy);
+
+		List<String> expected = new ArrayList<>(Arrays.asList("ab", "b", "aa", "ba", "a"));
+		List<String> actual = new ArrayList<>(expected);
+		expected.sort(comparator);
+		actual.sort(copy);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void runnables() throws Exception {
+		SerializableRunnable sequence = logRun("a").andThen(logRun("b"));
+		SerializableRunnable parallel = SerializableRunnable.parallel(logRun("c"), logRun("d"));
+
+		LOG.clear();
+		roundTrip(sequence, "RunnableSequence").run();
+		roundTrip(parallel, "ParallelRunnable").run();
+		assertEquals(Arrays.asList("a", "b"), LOG.subList(0, 2));
+		assertEquals(Arrays.asList("c", "d"), LOG.subList(2, 4).stream().sorted().collect(java.util.stream.Collectors.toList()));
+	}
+
+	@Test
+	public void sharedOperandsAreWrittenOnce() throws Exception {
+		SerializablePredicate<String> prefix = startsWith("a");
+		SerializablePredicate<String> shared = prefix.and(prefix.negate()).or(prefix);
+		SerializablePredicate<String> separate = startsWith("a").and(startsWith("a").negate()).or(startsWith("a"));
+		assertTrue(LambdaCodec.encode(shared).length < LambdaCodec.encode(separate).length);
+		assertStructurallyEqual(shared, LambdaCodec.decode(LambdaCodec.encode(shared)));
+	}
+
+	@Test(expected = InvalidObjectException.class)
+	public void invalidOperandsAreRejected() throws Exception {
+		byte[] encoded = LambdaCodec.encode(startsWith("a").negate());
+		assertEquals(LambdaCodec.TAG_NODE, encoded[2]);
+		// replace the operand after the node index by null, which readResolve rejects
+		byte[] corrupted = Arrays.copyOf(encoded, 5);
+		corrupted[4] = (byte) LambdaCodec.TAG_NULL;
+		LambdaCodec.decode(corrupted);
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.danekja.java.misc.serializable.SerializableComparator;
+import org.danekja.java.util.function.serializable.SerializableFunction;
+import org.danekja.java.util.function.serializable.SerializablePredicate;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SerializedSizeTest {
+
+	private static SerializablePredicate<String> startsWith(String prefix) {
+		return s -> s.startsWith(prefix);
+	}
+
+	private static SerializableFunction<Object, Object> capturing(Object value) {
+		return o -> value;
+	}
+
+	private static List<Object> samples() {
+		return Arrays.asList(
+				null,
+				"text",
+				42,
+				startsWith("a"),
+				startsWith("a").and(startsWith("ab")).negate(),
+				SerializableComparator.comparing(String::length).thenComparing(SerializableComparator.naturalOrder()),
+				capturing(Arrays.asList(1, 2, 3)),
+				Arrays.asList(startsWith("a"), startsWith("a")));
+	}
+
+	private static int serializedLength(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(value);
+		}
+		return bytes.size();
+	}
+
+	@Test
+	public void ofMatchesObjectOutputStream() throws Exception {
+		for (Object sample : samples()) {
+			assertEquals(String.valueOf(sample), serializedLength(sample), SerializedSize.of(sample));
+		}
+	}
+
+	@Test
+	public void ofEncodedMatchesCodec() throws Exception {
+		for (Object sample : samples()) {
+			assertEquals(String.valueOf(sample), LambdaCodec.encode(sample).length, SerializedSize.ofEncoded(sample));
+		}
+	}
+
+	@Test(expected = NotSerializableException.class)
+	public void notSerializableIsRejected() throws Exception {
+		SerializedSize.of(capturing(new Object()));
+	}
+}
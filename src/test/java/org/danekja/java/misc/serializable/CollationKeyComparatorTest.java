@@ -0,0 +1,125 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.misc.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CollationKeyComparatorTest {
+
+	private static final String[] WORDS = { "cote", "coté", "côte", "côté", "Cote", "COTE", "co-te", "co\u00ADte",
+			"cœur", "coeur", "élève", "eleve", "élevé", "Élève", "pêche", "péché", "pèche", "peche", "a\u0301", "á",
+			"", " ", "x", "X" };
+
+	private static List<String> words(int size) {
+		Random random = new Random(size);
+		List<String> words = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			words.add(WORDS[random.nextInt(WORDS.length)] + WORDS[random.nextInt(WORDS.length)]);
+		}
+		return words;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T value) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(value);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (T) in.readObject();
+		}
+	}
+
+	@Test
+	public void everyPathComparesByKeys() {
+		Collator collator = Collator.getInstance(Locale.FRENCH);
+		CollationKeyComparator comparator = CollationKeyComparator.of(Locale.FRENCH);
+		CollationKeyComparator cached = comparator.withKeyCache(16);
+		for (String first : WORDS) {
+			for (String second : WORDS) {
+				int expected = Integer.signum(Arrays.compareUnsigned(collator.getCollationKey(first).toByteArray(),
+						collator.getCollationKey(second).toByteArray()));
+				assertEquals(first + " " + second, expected, Integer.signum(comparator.compare(first, second)));
+				assertEquals(first + " " + second, expected, Integer.signum(cached.compare(first, second)));
+			}
+		}
+	}
+
+	@Test
+	public void keyedSortOrdersLikeListSort() {
+		for (CollationKeyComparator comparator : Arrays.asList(CollationKeyComparator.of(Locale.FRENCH),
+				CollationKeyComparator.of(Locale.FRENCH, Collator.PRIMARY),
+				CollationKeyComparator.of(Locale.FRENCH).withKeyCache(8))) {
+			for (int size : new int[] { 10, 300, 5000 }) {
+				List<String> expected = words(size);
+				expected.sort(comparator);
+
+				List<String> sorted = words(size);
+				KeyedSort.sort(sorted, comparator);
+				assertEquals(expected, sorted);
+
+				List<String> parallel = words(size);
+				KeyedSort.parallelSort(parallel, comparator);
+				assertEquals(expected, parallel);
+			}
+		}
+	}
+
+	@Test
+	public void equalAfterDeserialization() throws Exception {
+		CollationKeyComparator comparator = CollationKeyComparator.of(Locale.FRENCH).withKeyCache(8);
+		CollationKeyComparator copy = copy(comparator);
+		assertNotSame(comparator, copy);
+		assertEquals(comparator, copy);
+		assertEquals(comparator.hashCode(), copy.hashCode());
+		assertEquals(Integer.signum(comparator.compare("côte", "coté")), Integer.signum(copy.compare("côte", "coté")));
+		assertNotEquals(comparator, CollationKeyComparator.of(Locale.FRENCH));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidStrengthIsRejected() {
+		CollationKeyComparator.of(Locale.FRENCH, 42);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.misc.serializable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ExpiringCallableTest {
+
+	@Test
+	public void concurrentCallersShareOneComputation() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		SerializableCallable<Integer> callable = SerializableCallable.memoize(() -> {
+			release.await();
+			return calls.incrementAndGet();
+		}, Duration.ofMinutes(1));
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				results.add(executor.submit(callable));
+			}
+			Thread.sleep(100);
+			release.countDown();
+			for (Future<Integer> result : results) {
+				assertEquals(Integer.valueOf(1), result.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, calls.get());
+		assertEquals(Integer.valueOf(1), callable.call());
+	}
+
+	@Test
+	public void resultExpires() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		SerializableCallable<Integer> callable = SerializableCallable.memoize(calls::incrementAndGet, Duration.ofMillis(20));
+
+		assertEquals(Integer.valueOf(1), callable.call());
+		Thread.sleep(50);
+		assertEquals(Integer.valueOf(2), callable.call());
+	}
+
+	@Test
+	public void exceptionsAreNotCached() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		SerializableCallable<Integer> callable = SerializableCallable.memoize(() -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new IOException("first call fails");
+			}
+			return calls.get();
+		}, Duration.ofMinutes(1));
+
+		try {
+			callable.call();
+			fail("expected IOException");
+		} catch (IOException expected) {
+		}
+		assertEquals(Integer.valueOf(2), callable.call());
+		assertEquals(Integer.valueOf(2), callable.call());
+	}
+
+	@Test
+	public void refreshAheadReturnsCachedResultWhileRefreshing() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		SerializableCallable<Integer> callable = SerializableCallable.memoize(calls::incrementAndGet,
+				Duration.ofSeconds(10), Duration.ofMillis(9900));
+
+		assertEquals(Integer.valueOf(1), callable.call());
+		Thread.sleep(150);
+		assertEquals(Integer.valueOf(1), callable.call());
+		for (int i = 0; i < 500 && callable.call() == 1; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(Integer.valueOf(2), callable.call());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refreshAheadMustBeShorterThanTimeToLive() {
+		SerializableCallable.memoize(() -> 1, Duration.ofSeconds(1), Duration.ofSeconds(1));
+	}
+}
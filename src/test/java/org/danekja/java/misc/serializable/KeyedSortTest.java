@@ -0,0 +1,184 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.misc.serializable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class KeyedSortTest {
+
+	private static final int[] SIZES = { 0, 1, 2, 7, 100, 255, 256, 1000, 20000 };
+
+	private static final double[] SPECIAL_DOUBLES = { Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY,
+			Double.POSITIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE };
+
+	private static final class Row {
+		final int id;
+		final int small;
+		final int wide;
+		final long big;
+		final double real;
+		final String name;
+
+		Row(int id, Random random) {
+			this.id = id;
+			this.small = random.nextInt(10);
+			this.wide = random.nextInt();
+			this.big = random.nextBoolean() ? random.nextLong() : random.nextInt(5) - 2;
+			this.real = random.nextInt(8) == 0
+					? SPECIAL_DOUBLES[random.nextInt(SPECIAL_DOUBLES.length)]
+					: random.nextGaussian();
+			this.name = random.nextInt(10) == 0 ? null : Integer.toString(random.nextInt(50), 36);
+		}
+
+		int getSmall() {
+			return small;
+		}
+
+		int getWide() {
+			return wide;
+		}
+
+		long getBig() {
+			return big;
+		}
+
+		double getReal() {
+			return real;
+		}
+
+		String getName() {
+			return name;
+		}
+
+		@Override
+		public String toString() {
+			return "Row" + id;
+		}
+	}
+
+	private static List<Row> rows(int size) {
+		Random random = new Random(size);
+		List<Row> rows = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			rows.add(new Row(i, random));
+		}
+		return rows;
+	}
+
+	private static List<SerializableComparator<Row>> comparators() {
+		return Arrays.asList(
+				SerializableComparator.comparingInt(Row::getWide),
+				SerializableComparator.comparingInt(Row::getSmall),
+				SerializableComparator.comparingLong(Row::getBig).reversed(),
+				SerializableComparator.comparingDouble(Row::getReal),
+				SerializableComparator.comparingInt(Row::getSmall)
+						.thenComparingDouble(Row::getReal)
+						.thenComparingLong(Row::getBig),
+				SerializableComparator.comparingInt(Row::getSmall).reversed()
+						.thenComparing(SerializableComparator.comparingLong(Row::getBig).reversed()),
+				SerializableComparator.comparing(Row::getName, SerializableComparator.nullsFirst(SerializableComparator.naturalOrder()))
+						.thenComparingInt(Row::getSmall),
+				SerializableComparator.comparing(Row::getName, SerializableComparator.nullsLast(CollationKeyComparator.of(Locale.ENGLISH)))
+						.reversed()
+						.thenComparingDouble(Row::getReal),
+				(a, b) -> Integer.compare(a.getSmall(), b.getSmall()));
+	}
+
+	@Test
+	public void sortOrdersLikeListSort() {
+		for (int size : SIZES) {
+			for (SerializableComparator<Row> comparator : comparators()) {
+				List<Row> expected = rows(size);
+				expected.sort(comparator);
+
+				List<Row> sorted = rows(size);
+				KeyedSort.sort(sorted, comparator);
+				assertSameOrder(size, expected, sorted);
+
+				List<Row> parallel = rows(size);
+				KeyedSort.parallelSort(parallel, comparator);
+				assertSameOrder(size, expected, parallel);
+			}
+		}
+	}
+
+	@Test
+	public void arraySortOrdersLikeArraysSort() {
+		for (int size : SIZES) {
+			for (SerializableComparator<Row> comparator : comparators()) {
+				Row[] expected = rows(size).toArray(new Row[0]);
+				Arrays.sort(expected, comparator);
+
+				Row[] sorted = rows(size).toArray(new Row[0]);
+				KeyedSort.sort(sorted, comparator);
+				assertSameOrder(size, Arrays.asList(expected), Arrays.asList(sorted));
+
+				Row[] parallel = rows(size).toArray(new Row[0]);
+				KeyedSort.parallelSort(parallel, comparator);
+				assertSameOrder(size, Arrays.asList(expected), Arrays.asList(parallel));
+			}
+		}
+	}
+
+	@Test
+	public void naturalOrderOfStrings() {
+		List<String> expected = new ArrayList<>();
+		Random random = new Random(1);
+		for (int i = 0; i < 1000; i++) {
+			expected.add(Integer.toString(random.nextInt(), 36));
+		}
+		List<String> sorted = new ArrayList<>(expected);
+		expected.sort(null);
+		KeyedSort.sort(sorted, SerializableComparator.naturalOrder());
+		assertEquals(expected, sorted);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullKeysWithoutNullOrderingAreRejected() {
+		List<Row> rows = rows(10);
+		KeyedSort.sort(rows, SerializableComparator.comparing(Row::getName));
+	}
+
+	private static void assertSameOrder(int size, List<Row> expected, List<Row> actual) {
+		assertEquals(size, actual.size());
+		for (int i = 0; i < size; i++) {
+			assertEquals("size " + size + ", index " + i, expected.get(i).id, actual.get(i).id);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.misc.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SerializableRunnableTest {
+
+	private static final List<String> LOG = Collections.synchronizedList(new ArrayList<>());
+
+	private static SerializableRunnable log(String name) {
+		return () -> LOG.add(name);
+	}
+
+	private static SerializableRunnable failing(String name) {
+		return () -> {
+			LOG.add(name);
+			throw new IllegalStateException(name);
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T obj) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (T) in.readObject();
+		}
+	}
+
+	/**
+	 * Returns the message of the exception thrown by a step. Exceptions rethrown by a fork/join
+	 * task in another thread may be copies with the original as their cause.
+	 */
+	private static String origin(Throwable e) {
+		while (e.getCause() != null && e.getCause().getClass() == e.getClass()) {
+			e = e.getCause();
+		}
+		return e.getMessage();
+	}
+
+	@Before
+	public void setUp() {
+		LOG.clear();
+	}
+
+	@Test
+	public void sequenceRunsInOrder() throws Exception {
+		SerializableRunnable sequence = log("a").andThen(log("b")).andThen(SerializableRunnable.sequence(log("c"), log("d")));
+		assertTrue(sequence instanceof RunnableSequence);
+		copy(sequence).run();
+		assertEquals(Arrays.asList("a", "b", "c", "d"), LOG);
+	}
+
+	@Test
+	public void sequenceStopsAtFailure() {
+		try {
+			SerializableRunnable.sequence(log("a"), failing("b"), log("c")).run();
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("b", e.getMessage());
+		}
+		assertEquals(Arrays.asList("a", "b"), LOG);
+	}
+
+	@Test
+	public void longSequenceSerializesFlat() throws Exception {
+		SerializableRunnable sequence = log("0");
+		for (int i = 1; i < 300; i++) {
+			sequence = sequence.andThen(log(Integer.toString(i)));
+		}
+		copy(sequence).run();
+		assertEquals(300, LOG.size());
+		assertEquals("299", LOG.get(299));
+	}
+
+	@Test
+	public void singleStepIsReturnedItself() {
+		SerializableRunnable step = log("a");
+		assertSame(step, SerializableRunnable.sequence(step));
+		assertSame(step, SerializableRunnable.parallel(step));
+	}
+
+	@Test
+	public void parallelRunsAllSteps() throws Exception {
+		SerializableRunnable parallel = SerializableRunnable.parallel(log("a"), log("b"),
+				SerializableRunnable.parallel(log("c"), log("d")));
+		copy(parallel).run();
+		List<String> sorted = new ArrayList<>(LOG);
+		Collections.sort(sorted);
+		assertEquals(Arrays.asList("a", "b", "c", "d"), sorted);
+	}
+
+	@Test
+	public void parallelAddsLaterFailuresAsSuppressed() {
+		SerializableRunnable parallel = SerializableRunnable.parallel(failing("a"), log("b"), failing("c"), failing("d"));
+		try {
+			parallel.run();
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("a", origin(e));
+			Throwable[] suppressed = e.getSuppressed();
+			assertEquals(2, suppressed.length);
+			assertEquals("c", origin(suppressed[0]));
+			assertEquals("d", origin(suppressed[1]));
+		}
+		assertEquals(4, LOG.size());
+	}
+
+	@Test
+	public void parallelRethrowsForkedFailure() {
+		try {
+			SerializableRunnable.parallel(log("a"), failing("b")).run();
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("b", origin(e));
+			assertEquals(0, e.getSuppressed().length);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void emptySequenceIsRejected() {
+		SerializableRunnable.sequence();
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullStepIsRejected() {
+		SerializableRunnable.parallel(log("a"), null);
+	}
+}
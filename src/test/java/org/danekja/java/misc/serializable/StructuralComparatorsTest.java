@@ -0,0 +1,80 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.misc.serializable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.danekja.java.util.function.serializable.SerializableFunction;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StructuralComparatorsTest {
+
+	private static SerializableFunction<String, Character> charAt(int index) {
+		return s -> s.charAt(index);
+	}
+
+	private static void assertStructurallyEqual(Object expected, Object actual) {
+		assertNotSame(expected, actual);
+		assertEquals(expected, actual);
+		assertEquals(actual, expected);
+		assertEquals(expected.hashCode(), actual.hashCode());
+	}
+
+	@Test
+	public void separatelyBuiltComparatorsAreEqual() {
+		assertStructurallyEqual(
+				SerializableComparator.comparing(charAt(0)).thenComparing(charAt(1)).reversed(),
+				SerializableComparator.comparing(charAt(0)).thenComparing(charAt(1)).reversed());
+		assertStructurallyEqual(
+				StructuralComparators.comparing(charAt(0)).thenComparingInt(String::length),
+				StructuralComparators.thenComparing(StructuralComparators.comparing(charAt(0)),
+						StructuralComparators.comparingInt(String::length)));
+		assertStructurallyEqual(StructuralComparators.reversed(StructuralComparators.comparing(charAt(0))),
+				SerializableComparator.comparing(charAt(0)).reversed());
+
+		assertNotEquals(SerializableComparator.comparing(charAt(0)).thenComparing(charAt(1)),
+				SerializableComparator.comparing(charAt(1)).thenComparing(charAt(0)));
+		assertNotEquals(SerializableComparator.comparing(charAt(0)),
+				SerializableComparator.comparing(charAt(0)).reversed());
+	}
+
+	@Test
+	public void equalComparatorsShareHashMapEntries() {
+		Map<SerializableComparator<String>, String> views = new HashMap<>();
+		views.put(StructuralComparators.comparing(charAt(0)).thenComparingInt(String::length), "view");
+
+		assertEquals("view", views.get(StructuralComparators.comparing(charAt(0)).thenComparingInt(String::length)));
+		assertNull(views.get(StructuralComparators.comparing(charAt(1)).thenComparingInt(String::length)));
+	}
+}
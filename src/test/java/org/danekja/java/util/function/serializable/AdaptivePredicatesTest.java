@@ -0,0 +1,143 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AdaptivePredicatesTest {
+
+	private static final AtomicLong EXPENSIVE_CALLS = new AtomicLong();
+
+	private static volatile long sink;
+
+	/**
+	 * Always true, and slow enough to dominate the cost.
+	 */
+	private static boolean expensive(int value) {
+		EXPENSIVE_CALLS.incrementAndGet();
+		long x = value;
+		for (int i = 0; i < 2000; i++) {
+			x = x * 6364136223846793005L + 1442695040888963407L;
+		}
+		sink = x;
+		return true;
+	}
+
+	private static SerializablePredicate<Integer> divisibleBy(int divisor) {
+		return i -> i % divisor == 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T obj) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (T) in.readObject();
+		}
+	}
+
+	@Test
+	public void resultsMatchTheFixedOrder() {
+		SerializablePredicate<Integer> a = divisibleBy(2);
+		SerializablePredicate<Integer> b = divisibleBy(3);
+		SerializablePredicate<Integer> c = divisibleBy(5);
+		SerializablePredicate<Integer> allOf = AdaptivePredicates.allOf(a, b, c);
+		SerializablePredicate<Integer> anyOf = AdaptivePredicates.anyOf(a, b, c);
+		SerializablePredicate<Integer> and = a.and(b).and(c);
+		SerializablePredicate<Integer> or = a.or(b).or(c);
+
+		Random random = new Random(1);
+		for (int i = 0; i < 100_000; i++) {
+			int value = random.nextInt(1000);
+			assertEquals(and.test(value), allOf.test(value));
+			assertEquals(or.test(value), anyOf.test(value));
+		}
+	}
+
+	@Test
+	public void cheapSelectiveOperandMovesToTheFront() {
+		SerializablePredicate<Integer> rule = AdaptivePredicates.allOf(AdaptivePredicatesTest::expensive, divisibleBy(100));
+		int calls = AdaptivePredicate.SAMPLES_PER_REORDER * (AdaptivePredicate.SAMPLE_MASK + 1) * 4;
+		for (int i = 0; i < calls; i++) {
+			rule.test(i);
+		}
+
+		EXPENSIVE_CALLS.set(0);
+		int matches = 0;
+		for (int i = 0; i < calls; i++) {
+			if (rule.test(i)) {
+				matches++;
+			}
+		}
+		assertEquals((calls + 99) / 100, matches);
+		assertTrue("expensive operand evaluated " + EXPENSIVE_CALLS.get() + " times", EXPENSIVE_CALLS.get() < calls / 4);
+	}
+
+	@Test
+	public void deserializedPredicateStartsWithTheOriginalOrder() throws Exception {
+		SerializablePredicate<Integer> rule = AdaptivePredicates.anyOf(divisibleBy(2), divisibleBy(3));
+		for (int i = 0; i < 10_000; i++) {
+			rule.test(i);
+		}
+
+		SerializablePredicate<Integer> copy = copy(rule);
+		assertEquals(rule, copy);
+		assertEquals(rule.hashCode(), copy.hashCode());
+		assertTrue(copy.test(9));
+		assertFalse(copy.test(7));
+	}
+
+	@Test
+	public void conjunctionAndDisjunctionDiffer() {
+		SerializablePredicate<Integer> a = divisibleBy(2);
+		SerializablePredicate<Integer> b = divisibleBy(3);
+		assertEquals(AdaptivePredicates.allOf(a, b), AdaptivePredicates.allOf(divisibleBy(2), divisibleBy(3)));
+		assertNotEquals(AdaptivePredicates.allOf(a, b), AdaptivePredicates.anyOf(a, b));
+		assertNotEquals(AdaptivePredicates.allOf(a, b), AdaptivePredicates.allOf(b, a));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void noPredicatesAreRejected() {
+		AdaptivePredicates.allOf();
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AllOfPredicateTest {
+
+	private static final int CLAUSES = 300;
+
+	private static final AtomicInteger EVALUATED = new AtomicInteger();
+
+	private static SerializablePredicate<Integer> notEqual(int value) {
+		return i -> i != value;
+	}
+
+	private static SerializableIntPredicate intEqual(int value) {
+		return i -> i == value;
+	}
+
+	private static SerializablePredicate<Integer> counted(boolean result) {
+		return i -> {
+			EVALUATED.incrementAndGet();
+			return result;
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T obj) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (T) in.readObject();
+		}
+	}
+
+	@Test
+	public void longChainSerializesAndEvaluatesFlat() throws Exception {
+		SerializablePredicate<Integer> filter = notEqual(0);
+		for (int i = 1; i < CLAUSES; i++) {
+			filter = filter.and(notEqual(i));
+		}
+		assertTrue(filter instanceof AllOfPredicate);
+
+		SerializablePredicate<Integer> copy = copy(filter);
+		assertEquals(filter, copy);
+		for (int i = 0; i < CLAUSES; i++) {
+			assertFalse(copy.test(i));
+		}
+		assertTrue(copy.test(CLAUSES));
+	}
+
+	@Test
+	public void longPrimitiveChainSerializesFlat() throws Exception {
+		SerializableIntPredicate filter = intEqual(0);
+		for (int i = 1; i < CLAUSES; i++) {
+			filter = filter.or(intEqual(i));
+		}
+
+		SerializableIntPredicate copy = copy(filter);
+		assertEquals(filter, copy);
+		assertTrue(copy.test(CLAUSES - 1));
+		assertFalse(copy.test(CLAUSES));
+	}
+
+	@Test
+	public void factoriesBuildTheSameNodeAsChains() {
+		List<SerializablePredicate<Integer>> clauses = new ArrayList<>();
+		SerializablePredicate<Integer> and = notEqual(0);
+		SerializablePredicate<Integer> or = notEqual(0);
+		clauses.add(notEqual(0));
+		for (int i = 1; i < CLAUSES; i++) {
+			and = and.and(notEqual(i));
+			or = or.or(notEqual(i));
+			clauses.add(notEqual(i));
+		}
+
+		@SuppressWarnings("unchecked")
+		SerializablePredicate<Integer>[] array = clauses.toArray(new SerializablePredicate[0]);
+		assertEquals(and, SerializablePredicate.allOf(array));
+		assertEquals(or, SerializablePredicate.anyOf(array));
+		assertEquals(intEqual(1).and(intEqual(2)).and(intEqual(3)),
+				SerializableIntPredicate.allOf(intEqual(1), intEqual(2).and(intEqual(3))));
+	}
+
+	@Test
+	public void evaluationShortCircuits() {
+		EVALUATED.set(0);
+		assertFalse(SerializablePredicate.allOf(counted(true), counted(false), counted(true)).test(0));
+		assertEquals(2, EVALUATED.get());
+
+		EVALUATED.set(0);
+		assertTrue(counted(false).or(counted(true)).or(counted(false)).test(0));
+		assertEquals(2, EVALUATED.get());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void factoryRejectsNoPredicates() {
+		SerializableLongPredicate.anyOf();
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void factoryRejectsNullPredicates() {
+		SerializablePredicate.allOf(notEqual(0), null);
+	}
+}
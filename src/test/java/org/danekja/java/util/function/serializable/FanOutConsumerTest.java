@@ -0,0 +1,137 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FanOutConsumerTest {
+
+	private static final List<String> LOG = new ArrayList<>();
+
+	private static SerializableConsumer<Integer> log(String name) {
+		return i -> LOG.add(name + i);
+	}
+
+	private static SerializableBiConsumer<String, Integer> logBoth(String name) {
+		return (s, i) -> LOG.add(name + s + i);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T obj) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (T) in.readObject();
+		}
+	}
+
+	@Before
+	public void setUp() {
+		LOG.clear();
+	}
+
+	@Test
+	public void acceptRunsEachListenerPerElement() {
+		SerializableConsumer<Integer> consumer = log("a").andThen(log("b")).andThen(log("c"));
+		consumer.accept(1);
+		consumer.accept(2);
+		assertEquals(Arrays.asList("a1", "b1", "c1", "a2", "b2", "c2"), LOG);
+	}
+
+	@Test
+	public void acceptAllRunsListenerByListener() {
+		SerializableConsumer<Integer> consumer = log("a").andThen(log("b").andThen(log("c")));
+		consumer.acceptAll(Arrays.asList(1, 2, 3));
+		assertEquals(Arrays.asList("a1", "a2", "a3", "b1", "b2", "b3", "c1", "c2", "c3"), LOG);
+	}
+
+	@Test
+	public void acceptAllOfArrayRange() {
+		SerializableConsumer<Integer> consumer = log("a").andThen(log("b"));
+		consumer.acceptAll(new Integer[] { 1, 2, 3, 4 }, 1, 3);
+		assertEquals(Arrays.asList("a2", "a3", "b2", "b3"), LOG);
+
+		LOG.clear();
+		log("a").acceptAll(new Integer[] { 1, 2, 3 }, 0, 2);
+		assertEquals(Arrays.asList("a1", "a2"), LOG);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void acceptAllRejectsInvalidRange() {
+		log("a").andThen(log("b")).acceptAll(new Integer[] { 1, 2 }, 1, 3);
+	}
+
+	@Test
+	public void biConsumerRunsListenersInOrder() {
+		SerializableBiConsumer<String, Integer> consumer = logBoth("a").andThen(logBoth("b")).andThen(logBoth("c"));
+		consumer.accept("x", 1);
+		assertEquals(Arrays.asList("ax1", "bx1", "cx1"), LOG);
+	}
+
+	@Test
+	public void longChainSerializesFlat() throws Exception {
+		SerializableConsumer<Integer> consumer = log("0");
+		for (int i = 1; i < 300; i++) {
+			consumer = consumer.andThen(log(Integer.toString(i)));
+		}
+		SerializableConsumer<Integer> copy = copy(consumer);
+		assertEquals(consumer, copy);
+		assertEquals(consumer.hashCode(), copy.hashCode());
+
+		copy.accept(7);
+		assertEquals(300, LOG.size());
+		assertEquals("07", LOG.get(0));
+		assertEquals("2997", LOG.get(299));
+	}
+
+	@Test
+	public void equalityFollowsListenerOrder() throws Exception {
+		SerializableConsumer<Integer> ab = log("a").andThen(log("b"));
+		assertEquals(ab, log("a").andThen(log("b")));
+		assertEquals(ab.andThen(log("c")), log("a").andThen(log("b").andThen(log("c"))));
+		assertNotEquals(ab, log("b").andThen(log("a")));
+		assertEquals(logBoth("a").andThen(logBoth("b")), copy(logBoth("a").andThen(logBoth("b"))));
+	}
+}
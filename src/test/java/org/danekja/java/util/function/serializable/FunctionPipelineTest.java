@@ -0,0 +1,113 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FunctionPipelineTest {
+
+	private static final int STAGES = 1000;
+
+	private static SerializableFunction<String, String> append(String suffix) {
+		return s -> s + suffix;
+	}
+
+	private static SerializableIntUnaryOperator add(int addend) {
+		return i -> i + addend;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T obj) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (T) in.readObject();
+		}
+	}
+
+	@Test
+	public void stagesAreAppliedInOrder() {
+		SerializableFunction<String, String> pipeline = append("b").andThen(append("c")).compose(append("a"));
+		assertTrue(pipeline instanceof FunctionPipeline);
+		assertEquals("xabc", pipeline.apply("x"));
+
+		SerializableBiFunction<String, String, String> concat = (a, b) -> a + b;
+		assertEquals("xyab", concat.andThen(append("a")).andThen(append("b")).apply("x", "y"));
+		assertEquals(8, add(1).andThen(i -> i * 2).compose(add(2)).applyAsInt(1));
+		assertEquals(-4L, SerializableLongUnaryOperator.identity().andThen(l -> -l).applyAsLong(4L));
+	}
+
+	@Test
+	public void identityStagesAreDropped() {
+		SerializableFunction<String, String> a = append("a");
+		assertSame(a, a.andThen(SerializableFunction.identity()));
+		assertSame(a, SerializableFunction.<String> identity().andThen(a));
+		assertSame(a, a.compose(SerializableFunction.identity()));
+		assertSame(SerializableFunction.identity(),
+				SerializableFunction.identity().andThen(SerializableFunction.identity()));
+
+		SerializableIntUnaryOperator add = add(1);
+		assertSame(add, add.andThen(SerializableIntUnaryOperator.identity()));
+		assertSame(add, SerializableIntUnaryOperator.identity().compose(add));
+
+		SerializableFunction<String, String> pipeline = append("a").andThen(append("b"));
+		assertEquals(pipeline, pipeline.andThen(SerializableFunction.identity()).compose(SerializableFunction.identity()));
+	}
+
+	@Test
+	public void longPipelineSerializesFlat() throws Exception {
+		SerializableFunction<String, String> pipeline = append("a");
+		SerializableIntUnaryOperator sum = add(0);
+		for (int i = 1; i < STAGES; i++) {
+			pipeline = pipeline.andThen(append(i % 2 == 0 ? "a" : "b"));
+			sum = sum.andThen(add(i));
+		}
+
+		SerializableFunction<String, String> copy = copy(pipeline);
+		assertEquals(pipeline, copy);
+		assertEquals(pipeline.apply(""), copy.apply(""));
+		assertEquals(STAGES, copy.apply("").length());
+
+		SerializableIntUnaryOperator sumCopy = copy(sum);
+		assertEquals(sum, sumCopy);
+		assertEquals(STAGES * (STAGES - 1) / 2, sumCopy.applyAsInt(0));
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MemoizingFunctionTest {
+
+	@Test
+	public void cachesResults() {
+		AtomicInteger calls = new AtomicInteger();
+		MemoizingFunction<String, Integer> function = SerializableFunction.memoize(s -> {
+			calls.incrementAndGet();
+			return s.length();
+		}, 10);
+
+		assertEquals(Integer.valueOf(3), function.apply("abc"));
+		assertEquals(Integer.valueOf(3), function.apply("abc"));
+		assertEquals(1, calls.get());
+		assertEquals(1, function.getHitCount());
+		assertEquals(1, function.getMissCount());
+	}
+
+	@Test
+	public void cachesNullInputsAndResults() {
+		AtomicInteger calls = new AtomicInteger();
+		MemoizingFunction<String, String> function = SerializableFunction.memoize(s -> {
+			calls.incrementAndGet();
+			return null;
+		}, 10);
+
+		assertNull(function.apply(null));
+		assertNull(function.apply(null));
+		assertNull(function.apply("a"));
+		assertNull(function.apply("a"));
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void sizeIsBounded() {
+		MemoizingFunction<Integer, Integer> function = SerializableFunction.memoize(i -> i * 2, 100);
+		for (int i = 0; i < 10_000; i++) {
+			assertEquals(Integer.valueOf(i * 2), function.apply(i));
+			assertTrue(function.size() <= 100);
+		}
+		assertEquals(100, function.size());
+		assertEquals(10_000, function.getMissCount());
+	}
+
+	@Test
+	public void referencedEntriesSurviveEviction() {
+		AtomicInteger hotCalls = new AtomicInteger();
+		MemoizingFunction<Integer, Integer> function = SerializableFunction.memoize(i -> {
+			if (i == 0) {
+				hotCalls.incrementAndGet();
+			}
+			return i;
+		}, 10);
+
+		for (int i = 1; i < 1000; i++) {
+			function.apply(0);
+			function.apply(i);
+		}
+		assertEquals(1, hotCalls.get());
+	}
+
+	@Test
+	public void weakKeysAreReleased() throws InterruptedException {
+		MemoizingFunction<Object, String> function = SerializableFunction.memoize(Object::toString, 1000,
+				MemoizingFunction.KeyStrength.WEAK);
+		for (int round = 0; round < 10; round++) {
+			for (int i = 0; i < 500; i++) {
+				function.apply(new Object());
+			}
+		}
+		assertTrue(function.size() <= 1000);
+
+		for (int i = 0; i < 50 && function.size() > 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertEquals(0, function.size());
+	}
+
+	@Test
+	public void weakKeysAreComparedByEquals() {
+		AtomicInteger calls = new AtomicInteger();
+		MemoizingFunction<String, Integer> function = SerializableFunction.memoize(s -> {
+			calls.incrementAndGet();
+			return s.length();
+		}, 10, MemoizingFunction.KeyStrength.WEAK);
+
+		String key = "key";
+		function.apply(key);
+		function.apply(new String(key));
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void concurrentCallsStayBoundedAndCorrect() throws Exception {
+		MemoizingFunction<Integer, Integer> function = SerializableFunction.memoize(i -> i * 31, 100);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				int seed = t;
+				results.add(executor.submit((Callable<Boolean>) () -> {
+					for (int i = 0; i < 100_000; i++) {
+						int key = (i * 7919 + seed) % 1000;
+						if (function.apply(key) != key * 31) {
+							return false;
+						}
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertTrue(function.size() <= 100);
+		assertEquals(800_000, function.getHitCount() + function.getMissCount());
+	}
+
+	@Test
+	public void cacheIsNotSerialized() throws Exception {
+		MemoizingFunction<Integer, Integer> function = SerializableFunction.memoize(i -> i + 1, 10);
+		function.apply(1);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(function);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			@SuppressWarnings("unchecked")
+			MemoizingFunction<Integer, Integer> copy = (MemoizingFunction<Integer, Integer>) in.readObject();
+			assertEquals(0, copy.size());
+			assertEquals(Integer.valueOf(2), copy.apply(1));
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MemoizingIntFunctionTest {
+
+	private static final AtomicInteger CALLS = new AtomicInteger();
+
+	private static SerializableIntFunction<String> text() {
+		return i -> {
+			CALLS.incrementAndGet();
+			return i == 3 ? null : Integer.toString(i);
+		};
+	}
+
+	private static SerializableIntUnaryOperator square() {
+		return i -> {
+			CALLS.incrementAndGet();
+			return i * i;
+		};
+	}
+
+	private static SerializableIntToDoubleFunction half() {
+		return i -> {
+			CALLS.incrementAndGet();
+			return i / 2.0;
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T obj) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (T) in.readObject();
+		}
+	}
+
+	@Before
+	public void setUp() {
+		CALLS.set(0);
+	}
+
+	@Test
+	public void argumentsInRangeAreComputedOnce() {
+		SerializableIntFunction<String> memo = SerializableIntFunction.memoize(text(), 0, 10);
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 10; i++) {
+				assertEquals(i == 3 ? null : Integer.toString(i), memo.apply(i));
+			}
+		}
+		assertEquals(10, CALLS.get());
+	}
+
+	@Test
+	public void argumentsOutOfRangeAreComputedEveryTime() {
+		SerializableIntFunction<String> memo = SerializableIntFunction.memoize(text(), -5, 5);
+		int[] outside = { -6, 5, 6, Integer.MIN_VALUE, Integer.MAX_VALUE };
+		for (int round = 0; round < 2; round++) {
+			for (int i : outside) {
+				assertEquals(Integer.toString(i), memo.apply(i));
+			}
+		}
+		assertEquals(2 * outside.length, CALLS.get());
+
+		assertEquals("-5", memo.apply(-5));
+		assertEquals("-5", memo.apply(-5));
+		assertEquals("4", memo.apply(4));
+		assertEquals(2 * outside.length + 2, CALLS.get());
+	}
+
+	@Test
+	public void emptyRangeMemoizesNothing() {
+		SerializableIntUnaryOperator memo = SerializableIntUnaryOperator.memoize(square(), 7, 7);
+		assertEquals(49, memo.applyAsInt(7));
+		assertEquals(49, memo.applyAsInt(7));
+		assertEquals(2, CALLS.get());
+	}
+
+	@Test
+	public void primitiveResults() {
+		SerializableIntUnaryOperator squares = SerializableIntUnaryOperator.memoize(square(), -100, 100);
+		SerializableIntToDoubleFunction halves = SerializableIntToDoubleFunction.memoize(half(), 0, 200);
+		for (int round = 0; round < 2; round++) {
+			for (int i = -150; i < 250; i++) {
+				assertEquals(i * i, squares.applyAsInt(i));
+				assertEquals(i / 2.0, halves.applyAsDouble(i), 0.0);
+			}
+		}
+		// each memoized argument once, every other one twice
+		assertEquals((200 + 2 * 200) + (200 + 2 * 200), CALLS.get());
+	}
+
+	@Test
+	public void concurrentCallsSeeComputedResults() {
+		SerializableIntUnaryOperator squares = SerializableIntUnaryOperator.memoize(square(), 0, 4096);
+		IntStream.range(0, 64).parallel().forEach(round -> {
+			for (int i = 0; i < 4096; i++) {
+				assertEquals(i * i, squares.applyAsInt(i));
+			}
+		});
+		assertTrue(CALLS.get() >= 4096);
+	}
+
+	@Test
+	public void tableIsNotSerialized() throws Exception {
+		SerializableIntFunction<String> memo = SerializableIntFunction.memoize(text(), 0, 1000);
+		for (int i = 0; i < 1000; i++) {
+			memo.apply(i);
+		}
+		SerializableIntFunction<String> empty = SerializableIntFunction.memoize(text(), 0, 1000);
+		ByteArrayOutputStream filled = new ByteArrayOutputStream();
+		ByteArrayOutputStream unused = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(filled)) {
+			out.writeObject(memo);
+		}
+		try (ObjectOutputStream out = new ObjectOutputStream(unused)) {
+			out.writeObject(empty);
+		}
+		assertEquals(unused.size(), filled.size());
+
+		CALLS.set(0);
+		SerializableIntFunction<String> copy = copy(memo);
+		assertEquals("42", copy.apply(42));
+		assertEquals("42", copy.apply(42));
+		assertEquals(1, CALLS.get());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invertedRangeIsRejected() {
+		SerializableIntFunction.memoize(text(), 1, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void oversizedRangeIsRejected() {
+		SerializableIntUnaryOperator.memoize(square(), Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+}
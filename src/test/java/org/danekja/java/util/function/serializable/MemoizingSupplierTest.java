@@ -0,0 +1,125 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MemoizingSupplierTest {
+
+	private static final AtomicInteger SERIALIZED_CALLS = new AtomicInteger();
+
+	@Test
+	public void concurrentFirstCallsCallTheSupplierOnce() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		SerializableSupplier<Object> supplier = SerializableSupplier.memoize(() -> {
+			calls.incrementAndGet();
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+			return new Object();
+		});
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return supplier.get();
+				}));
+			}
+			start.countDown();
+			Object first = results.get(0).get();
+			for (Future<Object> result : results) {
+				assertSame(first, result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void nullResultIsMemoized() {
+		AtomicInteger calls = new AtomicInteger();
+		SerializableSupplier<Object> supplier = SerializableSupplier.memoize(() -> {
+			calls.incrementAndGet();
+			return null;
+		});
+		assertNull(supplier.get());
+		assertNull(supplier.get());
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void resultIsRecomputedAfterDeserialization() throws Exception {
+		SERIALIZED_CALLS.set(0);
+		SerializableSupplier<Integer> supplier = SerializableSupplier.memoize(SERIALIZED_CALLS::incrementAndGet);
+		assertEquals(Integer.valueOf(1), supplier.get());
+		assertEquals(Integer.valueOf(2), roundTrip(supplier).get());
+	}
+
+	@Test
+	public void resultIsSerializedOnRequest() throws Exception {
+		SERIALIZED_CALLS.set(0);
+		SerializableSupplier<Integer> supplier = SerializableSupplier.memoize(SERIALIZED_CALLS::incrementAndGet, true);
+		assertEquals(Integer.valueOf(1), supplier.get());
+		assertEquals(Integer.valueOf(1), roundTrip(supplier).get());
+		assertEquals(1, SERIALIZED_CALLS.get());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T roundTrip(T obj) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (T) in.readObject();
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.danekja.java.codec.LambdaCodec;
+import org.danekja.java.misc.serializable.SerializableComparator;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SingletonsTest {
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T obj) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (T) in.readObject();
+		}
+	}
+
+	private static void assertSingleton(Object instance) throws Exception {
+		assertSame(instance, copy(instance));
+		assertSame(instance, LambdaCodec.decode(LambdaCodec.encode(instance)));
+	}
+
+	@Test
+	public void identitiesAreOneSingleton() throws Exception {
+		Object identity = SerializableFunction.identity();
+		assertSame(identity, SerializableUnaryOperator.identity());
+		assertSame(identity, SerializableIntUnaryOperator.identity());
+		assertSame(identity, SerializableLongUnaryOperator.identity());
+		assertSame(identity, SerializableDoubleUnaryOperator.identity());
+		assertSingleton(identity);
+
+		SerializableUnaryOperator<String> copy = copy(SerializableUnaryOperator.identity());
+		assertEquals("a", copy.apply("a"));
+	}
+
+	@Test
+	public void nullPredicatesAreSingletons() throws Exception {
+		SerializablePredicate<Object> isNull = SerializablePredicate.isEqual(null);
+		assertSame(isNull, SerializablePredicate.isEqual(null));
+		assertSingleton(isNull);
+		assertSingleton(isNull.negate());
+		assertSame(isNull, isNull.negate().negate());
+
+		SerializablePredicate<Object> copy = copy(isNull.negate());
+		assertTrue(copy.test("a"));
+		assertFalse(copy.test(null));
+	}
+
+	@Test
+	public void naturalOrdersAreSingletons() throws Exception {
+		SerializableComparator<String> natural = SerializableComparator.naturalOrder();
+		SerializableComparator<String> reverse = SerializableComparator.reverseOrder();
+		assertSingleton(natural);
+		assertSingleton(reverse);
+		assertSame(reverse, natural.reversed());
+		assertSame(natural, reverse.reversed());
+
+		SerializableComparator<String> copy = copy(reverse);
+		assertTrue(copy.compare("a", "b") > 0);
+	}
+
+	@Test
+	public void naturalOrderKeysEqualComparing() throws Exception {
+		SerializableFunction<String, Integer> length = String::length;
+		assertEquals(SerializableComparator.comparing(length), SerializableComparator.comparing(length,
+				SerializableComparator.naturalOrder()));
+		assertEquals(SerializableComparator.comparing(length).reversed(), copy(SerializableComparator.comparing(length,
+				SerializableComparator.reverseOrder())));
+	}
+
+	@Test
+	public void nullOrderingAroundReverseOrder() {
+		List<String> values = new ArrayList<>(Arrays.asList("b", null, "c", "a", null));
+		values.sort(SerializableComparator.nullsFirst(SerializableComparator.reverseOrder()));
+		assertEquals(Arrays.asList(null, null, "c", "b", "a"), values);
+
+		values.sort(SerializableComparator.nullsLast(SerializableComparator.reverseOrder()));
+		assertEquals(Arrays.asList("c", "b", "a", null, null), values);
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StructuralFunctionsTest {
+
+	private static SerializablePredicate<String> startsWith(String prefix) {
+		return s -> s.startsWith(prefix);
+	}
+
+	private static SerializableIntPredicate greaterThan(int bound) {
+		return i -> i > bound;
+	}
+
+	private static SerializableLongPredicate divisibleBy(long divisor) {
+		return l -> l % divisor == 0;
+	}
+
+	private static SerializableDoublePredicate below(double bound) {
+		return d -> d < bound;
+	}
+
+	private static SerializableBiPredicate<String, Integer> longerThan(int offset) {
+		return (s, i) -> s.length() > i + offset;
+	}
+
+	private static SerializableFunction<String, String> append(String suffix) {
+		return s -> s + suffix;
+	}
+
+	private static SerializableIntUnaryOperator add(int addend) {
+		return i -> i + addend;
+	}
+
+	private static SerializableConsumer<StringBuilder> appendTo(String text) {
+		return b -> b.append(text);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T obj) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (T) in.readObject();
+		}
+	}
+
+	private static void assertStructurallyEqual(Object expected, Object actual) {
+		assertNotSame(expected, actual);
+		assertEquals(expected, actual);
+		assertEquals(actual, expected);
+		assertEquals(expected.hashCode(), actual.hashCode());
+	}
+
+	@Test
+	public void separatelyBuiltPredicatesAreEqual() {
+		assertStructurallyEqual(startsWith("a").and(startsWith("b")).or(startsWith("c")),
+				startsWith("a").and(startsWith("b")).or(startsWith("c")));
+		assertStructurallyEqual(startsWith("a").negate(), startsWith("a").negate());
+		assertStructurallyEqual(StructuralFunctions.and(startsWith("a"), startsWith("b")),
+				StructuralFunctions.and(startsWith("a"), startsWith("b")));
+		assertStructurallyEqual(StructuralFunctions.not(startsWith("a")), startsWith("a").negate());
+
+		assertNotEquals(startsWith("a").and(startsWith("b")), startsWith("b").and(startsWith("a")));
+		assertNotEquals(startsWith("a").and(startsWith("b")), startsWith("a").or(startsWith("b")));
+		assertNotEquals(startsWith("a").negate(), startsWith("b").negate());
+	}
+
+	@Test
+	public void separatelyBuiltPrimitivePredicatesAreEqual() {
+		assertStructurallyEqual(greaterThan(1).and(greaterThan(2)).or(greaterThan(3)),
+				greaterThan(1).and(greaterThan(2)).or(greaterThan(3)));
+		assertStructurallyEqual(divisibleBy(2).or(divisibleBy(3)), divisibleBy(2).or(divisibleBy(3)));
+		assertStructurallyEqual(below(1.0).and(below(2.0)), below(1.0).and(below(2.0)));
+		assertStructurallyEqual(longerThan(1).and(longerThan(2)), longerThan(1).and(longerThan(2)));
+
+		assertStructurallyEqual(greaterThan(1).negate(), greaterThan(1).negate());
+		assertStructurallyEqual(divisibleBy(2).negate(), divisibleBy(2).negate());
+		assertStructurallyEqual(below(1.0).negate(), below(1.0).negate());
+		assertStructurallyEqual(longerThan(1).negate(), longerThan(1).negate());
+		assertNotEquals(greaterThan(1).negate(), greaterThan(2).negate());
+	}
+
+	@Test
+	public void negationsEvaluateLikeTheOriginal() {
+		assertFalse(greaterThan(1).negate().test(2));
+		assertTrue(divisibleBy(2).negate().test(3L));
+		assertTrue(below(1.0).negate().test(Double.NaN));
+		assertFalse(longerThan(0).negate().test("ab", 1));
+	}
+
+	@Test
+	public void separatelyBuiltPipelinesAreEqual() {
+		assertStructurallyEqual(append("a").andThen(append("b")).compose(append("c")),
+				append("a").andThen(append("b")).compose(append("c")));
+		assertStructurallyEqual(StructuralFunctions.andThen(append("a"), append("b")),
+				append("a").andThen(append("b")));
+		assertStructurallyEqual(add(1).andThen(add(2)), add(1).andThen(add(2)));
+		assertStructurallyEqual(appendTo("a").andThen(appendTo("b")), appendTo("a").andThen(appendTo("b")));
+
+		assertNotEquals(append("a").andThen(append("b")), append("b").andThen(append("a")));
+	}
+
+	@Test
+	public void equalInstancesShareHashMapEntries() {
+		Map<Object, String> cache = new HashMap<>();
+		cache.put(startsWith("a").and(startsWith("b")), "filter");
+		cache.put(append("a").andThen(append("b")), "mapping");
+		cache.put(greaterThan(1).negate(), "negation");
+
+		assertEquals("filter", cache.get(startsWith("a").and(startsWith("b"))));
+		assertEquals("mapping", cache.get(append("a").andThen(append("b"))));
+		assertEquals("negation", cache.get(greaterThan(1).negate()));
+		assertNull(cache.get(startsWith("a").and(startsWith("c"))));
+	}
+
+	@Test
+	public void deserializedInstancesAreEqual() throws Exception {
+		SerializablePredicate<String> filter = startsWith("a").and(startsWith("b").negate());
+		SerializableIntPredicate primitive = greaterThan(1).or(greaterThan(2).negate());
+		SerializableFunction<String, String> mapping = append("a").andThen(append("b"));
+
+		assertStructurallyEqual(filter, copy(filter));
+		assertStructurallyEqual(primitive, copy(primitive));
+		assertStructurallyEqual(mapping, copy(mapping));
+	}
+}
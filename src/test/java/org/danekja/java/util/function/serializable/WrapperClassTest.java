@@ -0,0 +1,178 @@
+/*
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jakub Danek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ *
+ *  Please visit https://github.com/danekja/jdk-function-serializable if you need additional information or have any
+ *  questions.
+ *
+ */
+
+package org.danekja.java.util.function.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+import org.danekja.java.misc.serializable.SerializableComparator;
+import org.danekja.java.misc.serializable.SerializableComparatorWrapperClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WrapperClassTest {
+
+	private static final AtomicInteger BUILT = new AtomicInteger();
+
+	private static final List<String> LOG = new ArrayList<>();
+
+	/**
+	 * Non-serializable delegate.
+	 */
+	private static final class Length implements Function<String, Integer> {
+		@Override
+		public Integer apply(String s) {
+			return s.length();
+		}
+	}
+
+	private static SerializableFunction<String, Integer> length() {
+		return new SerializableFunctionWrapperClass<>(() -> {
+			BUILT.incrementAndGet();
+			return new Length();
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T obj) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(obj);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (T) in.readObject();
+		}
+	}
+
+	@Before
+	public void setUp() {
+		BUILT.set(0);
+		LOG.clear();
+	}
+
+	@Test
+	public void delegateIsBuiltOnceOnFirstUse() {
+		SerializableFunction<String, Integer> length = length();
+		assertEquals(0, BUILT.get());
+		assertEquals(Integer.valueOf(3), length.apply("abc"));
+		assertEquals(Integer.valueOf(1), length.apply("a"));
+		assertEquals(1, BUILT.get());
+	}
+
+	@Test
+	public void delegateIsBuiltAgainAfterDeserialization() throws Exception {
+		SerializableFunction<String, Integer> length = length();
+		length.apply("a");
+		SerializableFunction<String, Integer> copy = copy(length);
+		assertEquals(1, BUILT.get());
+		assertEquals(Integer.valueOf(2), copy.apply("ab"));
+		assertEquals(2, BUILT.get());
+
+		SerializableFunction<String, Integer> unused = copy(length());
+		assertEquals(Integer.valueOf(0), unused.apply(""));
+		assertEquals(3, BUILT.get());
+	}
+
+	@Test
+	public void concurrentFirstUseBuildsOnce() throws Exception {
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (int round = 0; round < 50; round++) {
+				SerializableFunction<String, Integer> length = length();
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<Integer>> results = new ArrayList<>();
+				for (int i = 0; i < threads; i++) {
+					results.add(executor.submit(() -> {
+						start.await();
+						return length.apply("abcd");
+					}));
+				}
+				start.countDown();
+				for (Future<Integer> result : results) {
+					assertEquals(Integer.valueOf(4), result.get(10, TimeUnit.SECONDS));
+				}
+				assertEquals(round + 1, BUILT.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void primitiveAndBiWrappersDelegate() throws Exception {
+		SerializableIntPredicate even = copy(new SerializableIntPredicateWrapperClass(() -> (IntPredicate) i -> i % 2 == 0));
+		assertTrue(even.test(2));
+		assertFalse(even.test(3));
+
+		SerializableBiConsumer<String, Integer> log = copy(
+				new SerializableBiConsumerWrapperClass<String, Integer>(() -> (BiConsumer<String, Integer>) (s, i) -> LOG.add(s + i)));
+		log.accept("a", 1);
+		log.andThen(log).accept("b", 2);
+		assertEquals(3, LOG.size());
+	}
+
+	@Test
+	public void comparatorWrapperAcceptsSupertypeComparators() throws Exception {
+		SerializableComparator<String> collator = copy(
+				new SerializableComparatorWrapperClass<String>(() -> Collator.getInstance(Locale.ENGLISH)));
+		assertTrue(collator.compare("a", "B") < 0);
+		assertTrue(collator.compare("b", "A") > 0);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullSupplierIsRejected() {
+		new SerializableFunctionWrapperClass<String, String>(null);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullDelegateIsRejectedOnUse() {
+		new SerializableFunctionWrapperClass<String, String>(() -> null).apply("a");
+	}
+}